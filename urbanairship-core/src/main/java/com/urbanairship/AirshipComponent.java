@@ -11,7 +11,6 @@ import com.urbanairship.job.JobInfo;
 import com.urbanairship.json.JsonList;
 
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 
 /**
  * Base class for Urban Airship components.
@@ -39,7 +38,7 @@ public abstract class AirshipComponent {
     /**
      * Default job executor.
      */
-    private Executor jobExecutor = Executors.newSingleThreadExecutor();
+    private Executor jobExecutor = AirshipExecutors.newSerialExecutor(getClass().getSimpleName());
 
     /**
      * Initialize the manager.
@@ -0,0 +1,354 @@
+/* Copyright 2018 Urban Airship and Contributors */
+
+package com.urbanairship;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.RestrictTo;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared, bounded worker pool for the SDK.
+ * <p>
+ * Components do not create their own threads. Instead they create lanes on top of the shared
+ * pool. A serial lane runs one task at a time in submission order, like a single thread
+ * executor. A concurrent lane runs up to a fixed number of tasks at once.
+ * <p>
+ * Tasks that block waiting on other SDK work, such as a push waiting on its notification image or
+ * a receiver waiting on actions, must use a blocking lane. Blocking lanes run on their own threads
+ * so a burst of waiting tasks can never take every shared pool thread away from the work they are
+ * waiting on.
+ *
+ * @hide
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+public class AirshipExecutors {
+
+    /**
+     * Default max number of pool threads.
+     */
+    private static final int DEFAULT_MAX_THREADS = Math.max(4, Math.min(Runtime.getRuntime().availableProcessors() * 2, 8));
+
+    /**
+     * How long idle pool threads are kept alive.
+     */
+    private static final long KEEP_ALIVE_TIME_SECONDS = 30;
+
+    private static final ThreadPoolExecutor POOL;
+
+    private static final AtomicLong startedTasks = new AtomicLong();
+    private static final AtomicLong totalLatencyMs = new AtomicLong();
+    private static final AtomicLong maxLatencyMs = new AtomicLong();
+    private static final AtomicInteger queuedLaneTasks = new AtomicInteger();
+
+    static {
+        POOL = createThreadPool(DEFAULT_MAX_THREADS, "Airship Worker");
+    }
+
+    /**
+     * Creates a lane that runs tasks one at a time in submission order.
+     *
+     * @param name The lane name.
+     * @return A serial executor.
+     */
+    @NonNull
+    public static Lane newSerialExecutor(@NonNull String name) {
+        return newLane(name, 1);
+    }
+
+    /**
+     * Creates a lane that runs up to {@code maxConcurrency} tasks at once.
+     *
+     * @param name The lane name.
+     * @param maxConcurrency Max number of tasks from the lane running at the same time.
+     * @return A lane executor.
+     */
+    @NonNull
+    public static Lane newLane(@NonNull String name, int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Max concurrency must be greater than 0");
+        }
+
+        return new Lane(name, maxConcurrency, POOL);
+    }
+
+    /**
+     * Creates a lane for tasks that block while waiting on other work submitted to the shared pool.
+     * The lane runs on its own threads, up to {@code maxConcurrency}, that time out when idle.
+     *
+     * @param name The lane name.
+     * @param maxConcurrency Max number of tasks from the lane running at the same time.
+     * @return A lane executor.
+     */
+    @NonNull
+    public static Lane newBlockingLane(@NonNull String name, int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Max concurrency must be greater than 0");
+        }
+
+        return new Lane(name, maxConcurrency, createThreadPool(maxConcurrency, "Airship " + name));
+    }
+
+    /**
+     * Sets the max number of threads in the shared pool. Tasks that do not fit are queued.
+     *
+     * @param maxThreads The max number of threads.
+     */
+    public static void setMaxThreadCount(int maxThreads) {
+        if (maxThreads <= 0) {
+            throw new IllegalArgumentException("Max threads must be greater than 0");
+        }
+
+        synchronized (POOL) {
+            if (maxThreads > POOL.getMaximumPoolSize()) {
+                POOL.setMaximumPoolSize(maxThreads);
+                POOL.setCorePoolSize(maxThreads);
+            } else {
+                POOL.setCorePoolSize(maxThreads);
+                POOL.setMaximumPoolSize(maxThreads);
+            }
+        }
+    }
+
+    /**
+     * Gets the max number of threads in the shared pool. Blocking lane threads are not included.
+     *
+     * @return The max number of threads.
+     */
+    public static int getMaxThreadCount() {
+        return POOL.getMaximumPoolSize();
+    }
+
+    /**
+     * Gets the current number of threads in the shared pool.
+     *
+     * @return The number of threads.
+     */
+    public static int getThreadCount() {
+        return POOL.getPoolSize();
+    }
+
+    /**
+     * Gets the number of threads currently running a task.
+     *
+     * @return The number of active threads.
+     */
+    public static int getActiveThreadCount() {
+        return POOL.getActiveCount();
+    }
+
+    /**
+     * Gets the number of tasks waiting to run, across the shared pool and all lanes.
+     *
+     * @return The queue depth.
+     */
+    public static int getQueueDepth() {
+        return POOL.getQueue().size() + queuedLaneTasks.get();
+    }
+
+    /**
+     * Gets the number of tasks that have started running.
+     *
+     * @return The started task count.
+     */
+    public static long getStartedTaskCount() {
+        return startedTasks.get();
+    }
+
+    /**
+     * Gets the average time between a task being submitted and it starting to run.
+     *
+     * @return The average latency in milliseconds.
+     */
+    public static long getAverageTaskLatencyMs() {
+        long started = startedTasks.get();
+        return started == 0 ? 0 : totalLatencyMs.get() / started;
+    }
+
+    /**
+     * Gets the longest time between a task being submitted and it starting to run.
+     *
+     * @return The max latency in milliseconds.
+     */
+    public static long getMaxTaskLatencyMs() {
+        return maxLatencyMs.get();
+    }
+
+    private static ThreadPoolExecutor createThreadPool(int threads, String threadName) {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_TIME_SECONDS,
+                TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new AirshipThreadFactory(threadName));
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private static void recordLatency(long latencyMs) {
+        startedTasks.incrementAndGet();
+        totalLatencyMs.addAndGet(latencyMs);
+
+        long currentMax;
+        do {
+            currentMax = maxLatencyMs.get();
+        } while (latencyMs > currentMax && !maxLatencyMs.compareAndSet(currentMax, latencyMs));
+    }
+
+    /**
+     * Executor that feeds tasks into a thread pool while limiting how many run at once.
+     */
+    public static class Lane extends AbstractExecutorService {
+
+        private final String name;
+        private final int maxConcurrency;
+        private final Executor executor;
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+        private int running;
+        private boolean isShutdown;
+
+        private Lane(String name, int maxConcurrency, Executor executor) {
+            this.name = name;
+            this.maxConcurrency = maxConcurrency;
+            this.executor = executor;
+        }
+
+        /**
+         * Gets the lane name.
+         *
+         * @return The lane name.
+         */
+        @NonNull
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the number of tasks waiting to be handed to the shared pool.
+         *
+         * @return The queue depth.
+         */
+        public synchronized int getQueueDepth() {
+            return tasks.size();
+        }
+
+        @Override
+        public void execute(@NonNull final Runnable command) {
+            final long submitTime = System.nanoTime();
+
+            synchronized (this) {
+                if (isShutdown) {
+                    throw new RejectedExecutionException("Lane " + name + " is shutdown");
+                }
+
+                tasks.add(new Runnable() {
+                    @Override
+                    public void run() {
+                        recordLatency(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - submitTime));
+                        command.run();
+                    }
+                });
+                queuedLaneTasks.incrementAndGet();
+            }
+
+            scheduleNext();
+        }
+
+        private void scheduleNext() {
+            synchronized (this) {
+                while (running < maxConcurrency && !tasks.isEmpty()) {
+                    final Runnable task = tasks.poll();
+                    queuedLaneTasks.decrementAndGet();
+                    running++;
+
+                    executor.execute(new Runnable() {
+                        @Override
+                        public void run() {
+                            try {
+                                task.run();
+                            } finally {
+                                onTaskFinished();
+                            }
+                        }
+                    });
+                }
+            }
+        }
+
+        private void onTaskFinished() {
+            synchronized (this) {
+                running--;
+                if (isTerminated()) {
+                    notifyAll();
+                }
+            }
+
+            scheduleNext();
+        }
+
+        @Override
+        public synchronized void shutdown() {
+            isShutdown = true;
+        }
+
+        @NonNull
+        @Override
+        public synchronized List<Runnable> shutdownNow() {
+            shutdown();
+            List<Runnable> pending = new ArrayList<>(tasks);
+            queuedLaneTasks.addAndGet(-tasks.size());
+            tasks.clear();
+            return pending;
+        }
+
+        @Override
+        public synchronized boolean isShutdown() {
+            return isShutdown;
+        }
+
+        @Override
+        public synchronized boolean isTerminated() {
+            return isShutdown && running == 0 && tasks.isEmpty();
+        }
+
+        @Override
+        public synchronized boolean awaitTermination(long timeout, @NonNull TimeUnit unit) throws InterruptedException {
+            long remaining = unit.toMillis(timeout);
+            long end = System.currentTimeMillis() + remaining;
+
+            while (!isTerminated() && remaining > 0) {
+                wait(remaining);
+                remaining = end - System.currentTimeMillis();
+            }
+
+            return isTerminated();
+        }
+    }
+
+    /**
+     * Names the pool threads and keeps them in the background.
+     */
+    private static class AirshipThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger(1);
+        private final String name;
+
+        private AirshipThreadFactory(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Thread newThread(@NonNull Runnable runnable) {
+            Thread thread = new Thread(runnable, name + " #" + count.getAndIncrement());
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        }
+    }
+}
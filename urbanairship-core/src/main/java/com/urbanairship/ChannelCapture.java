@@ -15,7 +15,6 @@ import com.urbanairship.push.PushManager;
 import com.urbanairship.util.UAStringUtil;
 
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 
@@ -43,7 +42,7 @@ public class ChannelCapture extends AirshipComponent {
     private final ActivityMonitor activityMonitor;
     private final PreferenceDataStore preferenceDataStore;
 
-    Executor executor = Executors.newSingleThreadExecutor();
+    Executor executor = AirshipExecutors.newSerialExecutor("ChannelCapture");
 
     /**
      * Default constructor.
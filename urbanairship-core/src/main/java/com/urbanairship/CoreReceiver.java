@@ -29,7 +29,6 @@ import com.urbanairship.util.UAStringUtil;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 
 
 /**
@@ -37,10 +36,15 @@ import java.util.concurrent.Executors;
  */
 public class CoreReceiver extends BroadcastReceiver {
 
+    /**
+     * Shared by all receiver instances. Runs on its own thread since it waits on actions.
+     */
+    private static final Executor EXECUTOR = AirshipExecutors.newBlockingLane("CoreReceiver", 1);
+
     private Executor executor;
 
     public CoreReceiver() {
-        this(Executors.newSingleThreadExecutor());
+        this(EXECUTOR);
     }
 
     @VisibleForTesting
@@ -658,7 +658,7 @@ public class UAirship {
         components.add(this.locationManager);
 
 
-        TagGroupRegistrar tagGroupRegistrar = new TagGroupRegistrar(platform, airshipConfigOptions, preferenceDataStore);
+        TagGroupRegistrar tagGroupRegistrar = new TagGroupRegistrar(application, platform, airshipConfigOptions, preferenceDataStore);
         tagGroupRegistrar.migrateKeys();
 
         this.pushManager = new PushManager(application, preferenceDataStore, airshipConfigOptions, pushProvider, tagGroupRegistrar);
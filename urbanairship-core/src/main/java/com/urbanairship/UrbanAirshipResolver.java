@@ -10,6 +10,12 @@ import android.database.Cursor;
 import android.net.Uri;
 import android.support.annotation.RestrictTo;
 
+import com.urbanairship.util.DataManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 /**
  * A ContentResolver wrapper used to access data from the
  * {@link com.urbanairship.UrbanAirshipProvider}.
@@ -53,6 +59,57 @@ public class UrbanAirshipResolver {
         }
     }
 
+    /**
+     * Deletes every row where a column matches one of the given values. The values are deleted in
+     * chunks that fit the SQL argument limit.
+     *
+     * @param uri The content URI.
+     * @param column The column to match.
+     * @param values The values to match.
+     * @return The number of rows deleted, or -1 if an error occurred.
+     */
+    protected int deleteIn(Uri uri, String column, Collection<String> values) {
+        List<String> valueList = new ArrayList<>(values);
+        int deleted = 0;
+
+        for (int start = 0; start < valueList.size(); start += DataManager.MAX_ARG_COUNT) {
+            List<String> chunk = valueList.subList(start, Math.min(start + DataManager.MAX_ARG_COUNT, valueList.size()));
+            int count = delete(uri, column + " IN ( " + DataManager.placeholders(chunk.size()) + " )",
+                    chunk.toArray(new String[chunk.size()]));
+
+            if (count < 0) {
+                return -1;
+            }
+
+            deleted += count;
+        }
+
+        return deleted;
+    }
+
+    /**
+     * Updates every row where a column matches one of the given values. The values are updated in
+     * chunks that fit the SQL argument limit.
+     *
+     * @param uri The content URI.
+     * @param values The content values of the update.
+     * @param column The column to match.
+     * @param columnValues The values to match.
+     * @return The number of rows updated.
+     */
+    protected int updateIn(Uri uri, ContentValues values, String column, Collection<String> columnValues) {
+        List<String> valueList = new ArrayList<>(columnValues);
+        int updated = 0;
+
+        for (int start = 0; start < valueList.size(); start += DataManager.MAX_ARG_COUNT) {
+            List<String> chunk = valueList.subList(start, Math.min(start + DataManager.MAX_ARG_COUNT, valueList.size()));
+            updated += update(uri, values, column + " IN ( " + DataManager.placeholders(chunk.size()) + " )",
+                    chunk.toArray(new String[chunk.size()]));
+        }
+
+        return updated;
+    }
+
     protected Uri insert(Uri uri, ContentValues values) {
         try {
             return this.getResolver().insert(uri, values);
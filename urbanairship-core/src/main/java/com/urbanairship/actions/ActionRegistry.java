@@ -3,19 +3,13 @@
 package com.urbanairship.actions;
 
 import android.content.Context;
-import android.content.res.Resources;
-import android.content.res.XmlResourceParser;
 import android.support.annotation.NonNull;
 import android.util.SparseArray;
 
-import com.urbanairship.Logger;
-import com.urbanairship.R;
+import com.urbanairship.actions.tags.AddTagsAction;
+import com.urbanairship.actions.tags.RemoveTagsAction;
 import com.urbanairship.util.UAStringUtil;
 
-import org.xmlpull.v1.XmlPullParser;
-import org.xmlpull.v1.XmlPullParserException;
-
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -27,18 +21,14 @@ import java.util.Set;
 /**
  * Class responsible for runtime-persisting actions and associating them
  * with names and predicates.
+ * <p/>
+ * Lookups do not lock. Registering or unregistering an action replaces the
+ * name map with an updated copy.
  */
 public final class ActionRegistry {
 
-    private final Map<String, Entry> actionMap = new HashMap<>();
-
-
-    private static final String ACTION_ENTRY_TAG = "ActionEntry";
-
-    private static final String CLASS_ATTRIBUTE = "class";
-    private static final String NAME_ATTRIBUTE = "name";
-    private static final String ALT_NAME_ATTRIBUTE = "altName";
-    private static final String PREDICATE_ATTRIBUTE = "predicate";
+    private final Object lock = new Object();
+    private volatile Map<String, Entry> actionMap = new HashMap<>();
 
     /**
      * ActionArgument predicate
@@ -122,7 +112,23 @@ public final class ActionRegistry {
             throw new IllegalArgumentException("Unable to register an action without a name.");
         }
 
-        return registerEntry(new Entry(c, names));
+        Entry entry = new Entry(c, names);
+        entry.setPredicate(predicate);
+        return registerEntry(entry);
+    }
+
+    /**
+     * Registers an action with a predicate.
+     *
+     * @param action The action to register
+     * @param predicate The predicate
+     * @param names The names the action will be registered under
+     * @return The entry
+     */
+    private Entry registerAction(@NonNull Action action, Predicate predicate, @NonNull String... names) {
+        Entry entry = new Entry(action, names);
+        entry.setPredicate(predicate);
+        return registerEntry(entry);
     }
 
     private Entry registerEntry(Entry entry) {
@@ -135,7 +141,8 @@ public final class ActionRegistry {
             }
         }
 
-        synchronized (actionMap) {
+        synchronized (lock) {
+            Map<String, Entry> updated = new HashMap<>(actionMap);
 
             for (String name : names) {
 
@@ -143,14 +150,15 @@ public final class ActionRegistry {
                     continue;
                 }
 
-                Entry existingEntry = actionMap.remove(name);
+                Entry existingEntry = updated.remove(name);
                 if (existingEntry != null) {
                     existingEntry.removeName(name);
                 }
 
-                actionMap.put(name, entry);
+                updated.put(name, entry);
             }
 
+            actionMap = updated;
             return entry;
         }
     }
@@ -167,9 +175,7 @@ public final class ActionRegistry {
             return null;
         }
 
-        synchronized (actionMap) {
-            return actionMap.get(name);
-        }
+        return actionMap.get(name);
     }
 
     /**
@@ -179,9 +185,7 @@ public final class ActionRegistry {
      */
     @NonNull
     public Set<Entry> getEntries() {
-        synchronized (actionMap) {
-            return new HashSet<>(actionMap.values());
-        }
+        return new HashSet<>(actionMap.values());
     }
 
     /**
@@ -194,77 +198,45 @@ public final class ActionRegistry {
             return;
         }
 
-        synchronized (actionMap) {
+        synchronized (lock) {
             Entry entry = getEntry(name);
             if (entry == null) {
                 return;
             }
 
+            Map<String, Entry> updated = new HashMap<>(actionMap);
             for (String entryName : entry.getNames()) {
-                actionMap.remove(entryName);
+                updated.remove(entryName);
             }
+
+            actionMap = updated;
         }
     }
 
     /**
-     * Registers default actions using a resource file.
+     * Registers the default actions.
      *
      * @param context The application context.
      */
     public void registerDefaultActions(Context context) {
-        try {
-            XmlResourceParser parser = context.getResources().getXml(R.xml.ua_default_actions);
-
-            while (parser.next() != XmlPullParser.END_DOCUMENT) {
-                int tagType = parser.getEventType();
-                String tagName = parser.getName();
-
-                if (!(tagType == XmlPullParser.START_TAG && ACTION_ENTRY_TAG.equals(tagName))) {
-                    continue;
-                }
-
-                String className = parser.getAttributeValue(null, CLASS_ATTRIBUTE);
-                if (UAStringUtil.isEmpty(className)) {
-                    Logger.error(ACTION_ENTRY_TAG + " must specify class attribute.");
-                    continue;
-                }
-                
-                Class<? extends Action> c;
-                try {
-                    c = Class.forName(className).asSubclass(Action.class);
-                } catch (ClassNotFoundException e) {
-                    Logger.error("Action class " + className + " not found. Skipping action registration.");
-                    continue;
-                }
-
-                // Handle primary and secondary names.
-                String actionName = parser.getAttributeValue(null, NAME_ATTRIBUTE);
-                if (actionName == null) {
-                    Logger.error(ACTION_ENTRY_TAG + " must specify name attribute.");
-                    continue;
-                }
-                String altActionName = parser.getAttributeValue(null, ALT_NAME_ATTRIBUTE);
-                String[] names = UAStringUtil.isEmpty(altActionName) ? new String[] { actionName } : new String[] { actionName, altActionName };
-                Entry entry = registerAction(c, names);
-
-                // Handle optional predicate class.
-                String predicateClassName = parser.getAttributeValue(null, PREDICATE_ATTRIBUTE);
-                if (predicateClassName == null) {
-                    continue;
-                }
-
-                Predicate predicate;
-                try {
-                    predicate = Class.forName(predicateClassName).asSubclass(Predicate.class).newInstance();
-                    entry.setPredicate(predicate);
-                } catch (Exception e) {
-                    Logger.error("Predicate class " + predicateClassName + " not found. Skipping predicate.");
-                }
-            }
-        } catch (XmlPullParserException | IOException | Resources.NotFoundException | NullPointerException e) {
-            // Note: NullPointerException can occur in rare circumstances further down the call stack
-            Logger.error("Failed to parse ActionEntry:" + e.getMessage());
-        }
+        registerAction(new AddCustomEventAction(), new AddCustomEventAction.AddCustomEventActionPredicate(), "add_custom_event_action");
+        registerAction(new AddTagsAction(), new AddTagsAction.AddTagsPredicate(), "add_tags_action", "^+t");
+        registerAction(new CancelSchedulesAction(), "cancel_scheduled_actions", "^csa");
+        registerAction(new ChannelCaptureAction(), "channel_capture_action", "^cc");
+        registerAction(new ClipboardAction(), "clipboard_action", "^c");
+        registerAction(new DeepLinkAction(), "deep_link_action", "^d");
+        registerAction(new EnableFeatureAction(), "enable_feature", "^ef");
+        registerAction(new FetchDeviceInfoAction(), new FetchDeviceInfoAction.FetchDeviceInfoPredicate(), "fetch_device_info", "^fdi");
+        registerAction(new LandingPageAction(), new LandingPageAction.LandingPagePredicate(), "landing_page_action", "^p");
+        registerAction(new OpenExternalUrlAction(), "open_external_url_action", "^u");
+        registerAction(new OpenRichPushInboxAction(), "open_mc_action", "^mc");
+        registerAction(new OverlayRichPushMessageAction(), "open_mc_overlay_action", "^mco");
+        registerAction(new RemoveTagsAction(), new RemoveTagsAction.RemoveTagsPredicate(), "remove_tags_action", "^-t");
+        registerAction(new ScheduleAction(), "schedule_actions", "^sa");
+        registerAction(new ShareAction(), "share_action", "^s");
+        registerAction(new ToastAction(), "toast_action");
+        registerAction(new RateAppAction(), "rate_app_action", "^ra");
+        registerAction(new WalletAction(), "wallet_action", "^w");
     }
 
 
@@ -273,11 +245,12 @@ public final class ActionRegistry {
      */
     public final static class Entry {
         private final List<String> names;
-        private Action defaultAction;
+        private volatile Action defaultAction;
         private Class defaultActionClass;
-        private Predicate predicate;
+        private volatile Predicate predicate;
 
-        private final SparseArray<Action> situationOverrides = new SparseArray<>();
+        // Replaced on write so lookups do not need to lock
+        private volatile SparseArray<Action> situationOverrides = new SparseArray<>();
 
         /**
          * Entry constructor
@@ -313,16 +286,9 @@ public final class ActionRegistry {
             Action action = situationOverrides.get(situation);
             if (action != null) {
                 return action;
-            } else if (defaultAction != null) {
-                return defaultAction;
-            } else {
-                try {
-                    defaultAction = (Action) defaultActionClass.newInstance();
-                } catch (Exception e) {
-                    throw new IllegalArgumentException("Unable to instantiate action class.");
-                }
-                return defaultAction;
             }
+
+            return getDefaultAction();
         }
 
         /**
@@ -349,14 +315,20 @@ public final class ActionRegistry {
          * @return The default action
          */
         public Action getDefaultAction() {
-            if (defaultAction != null) {
-                return defaultAction;
-            } else {
-                try {
-                    defaultAction = (Action) defaultActionClass.newInstance();
-                } catch (Exception e) {
-                    throw new IllegalArgumentException("Unable to instantiate action class.");
+            Action action = defaultAction;
+            if (action != null) {
+                return action;
+            }
+
+            synchronized (this) {
+                if (defaultAction == null) {
+                    try {
+                        defaultAction = (Action) defaultActionClass.newInstance();
+                    } catch (Exception e) {
+                        throw new IllegalArgumentException("Unable to instantiate action class.");
+                    }
                 }
+
                 return defaultAction;
             }
         }
@@ -389,7 +361,11 @@ public final class ActionRegistry {
                 return;
             }
 
-            situationOverrides.put(situation, action);
+            synchronized (this) {
+                SparseArray<Action> updated = situationOverrides.clone();
+                updated.put(situation, action);
+                situationOverrides = updated;
+            }
         }
 
         /**
@@ -13,8 +13,10 @@ import android.support.annotation.WorkerThread;
 import com.urbanairship.Logger;
 import com.urbanairship.UAirship;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Semaphore;
 
 /**
@@ -37,7 +39,7 @@ import java.util.concurrent.Semaphore;
 public class ActionRunRequest {
 
     @VisibleForTesting
-    static Executor executor = Executors.newCachedThreadPool();
+    static Executor executor = ActionScheduler.shared();
 
     private ActionRegistry registry;
     private String actionName;
@@ -186,7 +188,7 @@ public class ActionRunRequest {
         if (shouldRunOnMain(arguments)) {
             new Handler(Looper.getMainLooper()).post(runnable);
         } else {
-            executor.execute(runnable);
+            execute(runnable);
         }
 
         try {
@@ -259,6 +261,78 @@ public class ActionRunRequest {
             } else {
                 new Handler(Looper.getMainLooper()).post(runnable);
             }
+        } else {
+            execute(runnable);
+        }
+    }
+
+    /**
+     * Runs a map of actions as a single batch. Background actions in the batch run one after
+     * another on a single worker, instead of each action being scheduled on its own. Actions that
+     * need the main thread are posted to it.
+     *
+     * @param actions Map of action name to action values.
+     * @param situation The action situation.
+     * @param metadata The action metadata.
+     */
+    public static void runBatch(@NonNull Map<String, ActionValue> actions, @Action.Situation int situation, @Nullable Bundle metadata) {
+        if (actions.isEmpty()) {
+            return;
+        }
+
+        final List<ActionRunRequest> requests = new ArrayList<>();
+        for (Map.Entry<String, ActionValue> entry : actions.entrySet()) {
+            requests.add(createRequest(entry.getKey())
+                    .setValue(entry.getValue())
+                    .setMetadata(metadata)
+                    .setSituation(situation));
+        }
+
+        Runnable batch = new Runnable() {
+            @Override
+            public void run() {
+                Handler mainHandler = null;
+                for (final ActionRunRequest request : requests) {
+                    final ActionArguments arguments = request.createActionArguments();
+                    if (request.shouldRunOnMain(arguments)) {
+                        if (mainHandler == null) {
+                            mainHandler = new Handler(Looper.getMainLooper());
+                        }
+
+                        mainHandler.post(new Runnable() {
+                            @Override
+                            public void run() {
+                                request.executeAction(arguments);
+                            }
+                        });
+                    } else {
+                        request.executeAction(arguments);
+                    }
+                }
+            }
+        };
+
+        execute(batch, situation);
+    }
+
+    /**
+     * Helper method to run a task on the action executor.
+     *
+     * @param runnable The task.
+     */
+    private void execute(@NonNull Runnable runnable) {
+        execute(runnable, situation);
+    }
+
+    /**
+     * Helper method to run a task on the action executor for a situation.
+     *
+     * @param runnable The task.
+     * @param situation The situation.
+     */
+    private static void execute(@NonNull Runnable runnable, @Action.Situation int situation) {
+        if (executor instanceof ActionScheduler) {
+            ((ActionScheduler) executor).execute(runnable, situation);
         } else {
             executor.execute(runnable);
         }
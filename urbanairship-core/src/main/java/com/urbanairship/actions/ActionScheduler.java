@@ -0,0 +1,320 @@
+/* Copyright 2018 Urban Airship and Contributors */
+
+package com.urbanairship.actions;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.RestrictTo;
+import android.support.annotation.VisibleForTesting;
+import android.util.SparseIntArray;
+
+import com.urbanairship.AirshipExecutors;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, prioritized executor for background actions.
+ * <p>
+ * Actions triggered by the user (manual invocations, push opens, web views and foreground
+ * notification buttons) are always started before actions triggered in the background (push
+ * received, background notification buttons and automation). Background actions can never use all
+ * of the slots, and each situation can have its own concurrency limit, so a push with many actions
+ * can not delay a button tap.
+ *
+ * @hide
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+public class ActionScheduler implements Executor {
+
+    /**
+     * Max number of actions running at once.
+     */
+    private static final int MAX_CONCURRENCY = 4;
+
+    /**
+     * Max number of background actions running at once. Leaves a slot for user initiated actions.
+     */
+    private static final int MAX_BACKGROUND_CONCURRENCY = MAX_CONCURRENCY - 1;
+
+    /**
+     * Max number of actions running at once for a single background situation.
+     */
+    private static final int MAX_SITUATION_CONCURRENCY = 2;
+
+    private static ActionScheduler shared;
+
+    private final Executor executor;
+    private final int maxConcurrency;
+    private final int maxBackgroundConcurrency;
+
+    private final ArrayDeque<Task> userTasks = new ArrayDeque<>();
+    private final ArrayDeque<Task> backgroundTasks = new ArrayDeque<>();
+    private final SparseIntArray situationLimits = new SparseIntArray();
+    private final SparseIntArray situationRunning = new SparseIntArray();
+    private int running;
+    private int backgroundRunning;
+
+    private final AtomicLong completedTasks = new AtomicLong();
+    private final AtomicLong totalQueueTimeMs = new AtomicLong();
+    private final AtomicLong maxQueueTimeMs = new AtomicLong();
+    private final AtomicLong totalRunTimeMs = new AtomicLong();
+    private final AtomicLong maxRunTimeMs = new AtomicLong();
+
+    /**
+     * Gets the shared action scheduler.
+     *
+     * @return The shared action scheduler.
+     */
+    @NonNull
+    public static synchronized ActionScheduler shared() {
+        if (shared == null) {
+            shared = new ActionScheduler(AirshipExecutors.newLane("Actions", MAX_CONCURRENCY), MAX_CONCURRENCY, MAX_BACKGROUND_CONCURRENCY);
+            shared.setSituationConcurrency(Action.SITUATION_PUSH_RECEIVED, MAX_SITUATION_CONCURRENCY);
+            shared.setSituationConcurrency(Action.SITUATION_BACKGROUND_NOTIFICATION_ACTION_BUTTON, MAX_SITUATION_CONCURRENCY);
+            shared.setSituationConcurrency(Action.SITUATION_AUTOMATION, MAX_SITUATION_CONCURRENCY);
+        }
+
+        return shared;
+    }
+
+    /**
+     * Default constructor.
+     *
+     * @param executor The executor that runs the actions.
+     * @param maxConcurrency Max number of actions running at once.
+     * @param maxBackgroundConcurrency Max number of background actions running at once.
+     */
+    @VisibleForTesting
+    ActionScheduler(@NonNull Executor executor, int maxConcurrency, int maxBackgroundConcurrency) {
+        this.executor = executor;
+        this.maxConcurrency = maxConcurrency;
+        this.maxBackgroundConcurrency = maxBackgroundConcurrency;
+    }
+
+    /**
+     * Sets the max number of actions running at once for a situation.
+     *
+     * @param situation The situation.
+     * @param maxConcurrency The max number of actions, or {@code 0} for no limit.
+     */
+    public synchronized void setSituationConcurrency(@Action.Situation int situation, int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            situationLimits.delete(situation);
+        } else {
+            situationLimits.put(situation, maxConcurrency);
+        }
+    }
+
+    /**
+     * Runs a task as a manual invocation.
+     *
+     * @param command The task.
+     */
+    @Override
+    public void execute(@NonNull Runnable command) {
+        execute(command, Action.SITUATION_MANUAL_INVOCATION);
+    }
+
+    /**
+     * Runs a task for a situation.
+     *
+     * @param command The task.
+     * @param situation The situation.
+     */
+    public void execute(@NonNull Runnable command, @Action.Situation int situation) {
+        Task task = new Task(command, situation);
+
+        synchronized (this) {
+            if (task.isBackground) {
+                backgroundTasks.add(task);
+            } else {
+                userTasks.add(task);
+            }
+        }
+
+        scheduleNext();
+    }
+
+    /**
+     * Gets the number of actions waiting to run.
+     *
+     * @return The queue depth.
+     */
+    public synchronized int getQueueDepth() {
+        return userTasks.size() + backgroundTasks.size();
+    }
+
+    /**
+     * Gets the number of actions running.
+     *
+     * @return The running action count.
+     */
+    public synchronized int getRunningCount() {
+        return running;
+    }
+
+    /**
+     * Gets the number of actions that finished running.
+     *
+     * @return The completed action count.
+     */
+    public long getCompletedCount() {
+        return completedTasks.get();
+    }
+
+    /**
+     * Gets the average time actions waited before running.
+     *
+     * @return The average queue time in milliseconds.
+     */
+    public long getAverageQueueTimeMs() {
+        long completed = completedTasks.get();
+        return completed == 0 ? 0 : totalQueueTimeMs.get() / completed;
+    }
+
+    /**
+     * Gets the longest time an action waited before running.
+     *
+     * @return The max queue time in milliseconds.
+     */
+    public long getMaxQueueTimeMs() {
+        return maxQueueTimeMs.get();
+    }
+
+    /**
+     * Gets the average time actions took to run.
+     *
+     * @return The average run time in milliseconds.
+     */
+    public long getAverageRunTimeMs() {
+        long completed = completedTasks.get();
+        return completed == 0 ? 0 : totalRunTimeMs.get() / completed;
+    }
+
+    /**
+     * Gets the longest time an action took to run.
+     *
+     * @return The max run time in milliseconds.
+     */
+    public long getMaxRunTimeMs() {
+        return maxRunTimeMs.get();
+    }
+
+    private void scheduleNext() {
+        List<Task> ready = new ArrayList<>();
+
+        synchronized (this) {
+            Task task;
+            while ((task = pollNextTask()) != null) {
+                running++;
+                if (task.isBackground) {
+                    backgroundRunning++;
+                }
+                situationRunning.put(task.situation, situationRunning.get(task.situation) + 1);
+                ready.add(task);
+            }
+        }
+
+        // Executed outside of the lock in case the executor runs the task inline
+        for (Task task : ready) {
+            executor.execute(task);
+        }
+    }
+
+    private Task pollNextTask() {
+        if (running >= maxConcurrency) {
+            return null;
+        }
+
+        Task task = pollTask(userTasks);
+        if (task == null && backgroundRunning < maxBackgroundConcurrency) {
+            task = pollTask(backgroundTasks);
+        }
+
+        return task;
+    }
+
+    private Task pollTask(@NonNull ArrayDeque<Task> tasks) {
+        Iterator<Task> iterator = tasks.iterator();
+        while (iterator.hasNext()) {
+            Task task = iterator.next();
+            int limit = situationLimits.get(task.situation);
+            if (limit == 0 || situationRunning.get(task.situation) < limit) {
+                iterator.remove();
+                return task;
+            }
+        }
+
+        return null;
+    }
+
+    private void onTaskFinished(@NonNull Task task, long queueTimeMs, long runTimeMs) {
+        synchronized (this) {
+            running--;
+            if (task.isBackground) {
+                backgroundRunning--;
+            }
+            situationRunning.put(task.situation, situationRunning.get(task.situation) - 1);
+        }
+
+        completedTasks.incrementAndGet();
+        totalQueueTimeMs.addAndGet(queueTimeMs);
+        totalRunTimeMs.addAndGet(runTimeMs);
+        updateMax(maxQueueTimeMs, queueTimeMs);
+        updateMax(maxRunTimeMs, runTimeMs);
+
+        scheduleNext();
+    }
+
+    private static void updateMax(@NonNull AtomicLong max, long value) {
+        long current;
+        do {
+            current = max.get();
+        } while (value > current && !max.compareAndSet(current, value));
+    }
+
+    private static boolean isBackground(@Action.Situation int situation) {
+        switch (situation) {
+            case Action.SITUATION_PUSH_RECEIVED:
+            case Action.SITUATION_BACKGROUND_NOTIFICATION_ACTION_BUTTON:
+            case Action.SITUATION_AUTOMATION:
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Queued action task.
+     */
+    private class Task implements Runnable {
+
+        private final Runnable command;
+        private final int situation;
+        private final boolean isBackground;
+        private final long submitTime = System.nanoTime();
+
+        Task(@NonNull Runnable command, @Action.Situation int situation) {
+            this.command = command;
+            this.situation = situation;
+            this.isBackground = isBackground(situation);
+        }
+
+        @Override
+        public void run() {
+            long startTime = System.nanoTime();
+            try {
+                command.run();
+            } finally {
+                long endTime = System.nanoTime();
+                onTaskFinished(this, TimeUnit.NANOSECONDS.toMillis(startTime - submitTime), TimeUnit.NANOSECONDS.toMillis(endTime - startTime));
+            }
+        }
+    }
+}
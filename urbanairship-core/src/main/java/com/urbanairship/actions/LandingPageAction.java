@@ -20,6 +20,7 @@ import com.urbanairship.richpush.RichPushMessage;
 import com.urbanairship.util.UAStringUtil;
 import com.urbanairship.util.UriUtils;
 import com.urbanairship.widget.UAWebView;
+import com.urbanairship.widget.WebViewPool;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
@@ -149,6 +150,8 @@ public class LandingPageAction extends Action {
                 });
             }
         } else {
+            WebViewPool.shared().warmUp();
+
             final Intent actionIntent = new Intent(SHOW_LANDING_PAGE_INTENT_ACTION, uri)
                     .addFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_SINGLE_TOP)
                     .putExtra(WIDTH_KEY, width)
@@ -38,6 +38,7 @@ import com.urbanairship.util.ManifestUtils;
 import com.urbanairship.widget.UAWebChromeClient;
 import com.urbanairship.widget.UAWebView;
 import com.urbanairship.widget.UAWebViewClient;
+import com.urbanairship.widget.WebViewPool;
 
 import java.lang.ref.WeakReference;
 
@@ -100,6 +101,7 @@ public class LandingPageActivity extends Activity {
     private int height;
     private boolean aspectLock;
     private Cancelable fetchMessagesCallback;
+    private boolean isPooledWebView;
 
     @SuppressLint("NewApi")
     @Override
@@ -274,6 +276,16 @@ public class LandingPageActivity extends Activity {
     }
 
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+
+        if (webView != null && isPooledWebView) {
+            WebViewPool.shared().release(webView);
+            webView = null;
+        }
+    }
+
     /**
      * Fades a view in while fading another view out.
      *
@@ -315,7 +327,12 @@ public class LandingPageActivity extends Activity {
      */
     private View createDefaultLandingPageView() {
         FrameLayout frameLayout = new FrameLayout(this);
-        UAWebView webView = new UAWebView(this);
+
+        UAWebView webView = WebViewPool.shared().acquire(this);
+        isPooledWebView = webView != null;
+        if (webView == null) {
+            webView = new UAWebView(this);
+        }
         webView.setId(android.R.id.primary);
 
         FrameLayout.LayoutParams webViewLayoutParams = new FrameLayout.LayoutParams(
@@ -5,6 +5,8 @@ package com.urbanairship.analytics;
 import android.content.Context;
 import android.location.Criteria;
 import android.location.Location;
+import android.os.Handler;
+import android.os.Looper;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.annotation.RestrictTo;
@@ -12,6 +14,7 @@ import android.support.annotation.RestrictTo;
 import com.urbanairship.ActivityMonitor;
 import com.urbanairship.AirshipComponent;
 import com.urbanairship.AirshipConfigOptions;
+import com.urbanairship.AirshipExecutors;
 import com.urbanairship.Logger;
 import com.urbanairship.PreferenceDataStore;
 import com.urbanairship.UAirship;
@@ -30,7 +33,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -76,6 +78,24 @@ public class Analytics extends AirshipComponent {
     private final Executor executor;
     private final List<AnalyticsListener> analyticsListeners = new ArrayList<>();
     private final Object associatedIdentifiersLock = new Object();
+    private final EventAggregator eventAggregator = new EventAggregator();
+    private final Handler rollupHandler = new Handler(Looper.getMainLooper());
+    private long scheduledRollupFlushMs = -1;
+    private final Runnable rollupFlushRunnable = new Runnable() {
+        @Override
+        public void run() {
+            synchronized (rollupHandler) {
+                scheduledRollupFlushMs = -1;
+            }
+
+            List<CustomEvent> summaries = eventAggregator.flushExpired(System.currentTimeMillis());
+            if (isEnabled()) {
+                recordEvents(summaries);
+            }
+
+            scheduleRollupFlush();
+        }
+    };
 
     private AnalyticsJobHandler analyticsJobHandler;
 
@@ -103,7 +123,7 @@ public class Analytics extends AirshipComponent {
         this.jobDispatcher = builder.jobDispatcher;
         this.activityMonitor = builder.activityMonitor;
         this.eventManager = builder.eventManager;
-        this.executor = builder.executor == null ? Executors.newSingleThreadExecutor() : builder.executor;
+        this.executor = builder.executor == null ? AirshipExecutors.newSerialExecutor("Analytics") : builder.executor;
         this.sessionId = UUID.randomUUID().toString();
 
         this.listener = new ActivityMonitor.SimpleListener() {
@@ -134,6 +154,7 @@ public class Analytics extends AirshipComponent {
     @Override
     protected void tearDown() {
         activityMonitor.removeListener(listener);
+        rollupHandler.removeCallbacks(rollupFlushRunnable);
     }
 
     /**
@@ -179,14 +200,97 @@ public class Analytics extends AirshipComponent {
 
         Logger.verbose("Analytics - Adding event: " + event.getType());
 
+        boolean record = true;
+        if (event instanceof CustomEvent && !eventAggregator.isEmpty()) {
+            EventAggregator.Result result = eventAggregator.offer((CustomEvent) event, System.currentTimeMillis());
+            recordEvents(result.summaries);
+            record = result.record;
+            scheduleRollupFlush();
+        }
+
+        if (record) {
+            recordEvent(event);
+        }
+
+        // Listeners see every event, rolled up or not, so automation triggers fire on time
+        applyListeners(event);
+    }
+
+    /**
+     * Adds an event rollup. Custom events with the rollup's event name will be collected and
+     * recorded as a single summary event per rollup window instead of individually.
+     *
+     * @param rollup The event rollup.
+     */
+    public void addEventRollup(@NonNull EventRollup rollup) {
+        CustomEvent summary = eventAggregator.addRollup(rollup, System.currentTimeMillis());
+        if (summary != null && isEnabled()) {
+            recordEvent(summary);
+        }
+    }
+
+    /**
+     * Removes an event rollup. Any open rollup window is recorded immediately.
+     *
+     * @param eventName The rolled up event name.
+     */
+    public void removeEventRollup(@NonNull String eventName) {
+        CustomEvent summary = eventAggregator.removeRollup(eventName, System.currentTimeMillis());
+        if (summary != null && isEnabled()) {
+            recordEvent(summary);
+        }
+    }
+
+    /**
+     * Records any open rollup windows.
+     *
+     * @param timeMS The current time in milliseconds.
+     */
+    private void flushEventRollups(long timeMS) {
+        if (eventAggregator.isEmpty()) {
+            return;
+        }
+
+        List<CustomEvent> summaries = eventAggregator.flush(timeMS);
+        if (isEnabled()) {
+            recordEvents(summaries);
+        }
+    }
+
+    /**
+     * Schedules closing the next rollup window to end, so its summary is recorded on time even if
+     * no more events arrive.
+     */
+    private void scheduleRollupFlush() {
+        long next = eventAggregator.getNextExpiration();
+        if (next < 0) {
+            return;
+        }
+
+        synchronized (rollupHandler) {
+            if (scheduledRollupFlushMs >= 0 && scheduledRollupFlushMs <= next) {
+                return;
+            }
+
+            rollupHandler.removeCallbacks(rollupFlushRunnable);
+            scheduledRollupFlushMs = next;
+            rollupHandler.postDelayed(rollupFlushRunnable, Math.max(0, next - System.currentTimeMillis()));
+        }
+    }
+
+    private void recordEvents(@NonNull List<CustomEvent> events) {
+        for (CustomEvent event : events) {
+            recordEvent(event);
+        }
+    }
+
+    private void recordEvent(@NonNull final Event event) {
         executor.execute(new Runnable() {
             @Override
             public void run() {
                 eventManager.addEvent(event, sessionId);
             }
         });
-
-        applyListeners(event);
     }
 
     /**
@@ -315,6 +419,9 @@ public class Analytics extends AirshipComponent {
         // Stop tracking screen
         trackScreen(null);
 
+        // Close rollup windows so the summaries are part of the background upload
+        flushEventRollups(timeMS);
+
         addEvent(new AppBackgroundEvent(timeMS));
         setConversionSendId(null);
         setConversionMetadata(null);
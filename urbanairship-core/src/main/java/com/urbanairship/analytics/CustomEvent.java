@@ -197,6 +197,15 @@ public class CustomEvent extends Event implements JsonSerializable {
         return properties;
     }
 
+    /**
+     * Gets the template type.
+     *
+     * @return The template type.
+     */
+    String getTemplateType() {
+        return templateType;
+    }
+
     @Override
     public final String getType() {
         return TYPE;
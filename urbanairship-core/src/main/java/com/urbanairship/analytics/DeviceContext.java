@@ -0,0 +1,180 @@
+/* Copyright 2018 Urban Airship and Contributors */
+
+package com.urbanairship.analytics;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.net.ConnectivityManager;
+import android.net.NetworkInfo;
+import android.support.annotation.NonNull;
+import android.telephony.TelephonyManager;
+
+import com.urbanairship.Logger;
+
+/**
+ * Cached snapshot of the device context that is attached to events.
+ * <p>
+ * Looking up the active network and the carrier calls into system services. Instead of doing that
+ * for every event, the values are read once and kept until a connectivity change broadcast is
+ * received.
+ */
+class DeviceContext {
+
+    private static final Object lock = new Object();
+    private static DeviceContext instance;
+
+    private final Context context;
+    private volatile Snapshot snapshot;
+    private volatile boolean isReceiverRegistered;
+
+    private DeviceContext(@NonNull Context context) {
+        this.context = context;
+    }
+
+    /**
+     * Gets the device context for the application.
+     *
+     * @param context The application context.
+     * @return The device context.
+     */
+    @NonNull
+    static DeviceContext shared(@NonNull Context context) {
+        Context applicationContext = context.getApplicationContext();
+
+        synchronized (lock) {
+            if (instance == null || instance.context != applicationContext) {
+                instance = new DeviceContext(applicationContext);
+                instance.registerReceiver();
+            }
+
+            return instance;
+        }
+    }
+
+    /**
+     * Gets the connection type.
+     *
+     * @return The connection type.
+     */
+    @NonNull
+    String getConnectionType() {
+        return getSnapshot().connectionType;
+    }
+
+    /**
+     * Gets the connection subtype.
+     *
+     * @return The connection subtype.
+     */
+    String getConnectionSubType() {
+        return getSnapshot().connectionSubType;
+    }
+
+    /**
+     * Gets the carrier.
+     *
+     * @return The carrier.
+     */
+    String getCarrier() {
+        return getSnapshot().carrier;
+    }
+
+    /**
+     * Clears the snapshot. The next read will look up the values again.
+     */
+    synchronized void invalidate() {
+        snapshot = null;
+    }
+
+    @NonNull
+    private Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (this) {
+            if (snapshot != null) {
+                return snapshot;
+            }
+
+            current = new Snapshot(context);
+
+            // Without the receiver we would never know when the values change
+            if (isReceiverRegistered) {
+                snapshot = current;
+            }
+
+            return current;
+        }
+    }
+
+    private void registerReceiver() {
+        try {
+            context.registerReceiver(new BroadcastReceiver() {
+                @Override
+                public void onReceive(Context context, Intent intent) {
+                    invalidate();
+                }
+            }, new IntentFilter(ConnectivityManager.CONNECTIVITY_ACTION));
+        } catch (Exception e) {
+            Logger.error("DeviceContext - Unable to register connectivity receiver.", e);
+            return;
+        }
+
+        isReceiverRegistered = true;
+    }
+
+    /**
+     * Immutable device context values.
+     */
+    private static class Snapshot {
+
+        final String connectionType;
+        final String connectionSubType;
+        final String carrier;
+
+        Snapshot(@NonNull Context context) {
+            int type = -1; //not connected
+            String subType = "";
+
+            //determine network connectivity state
+            //each of these may return null if there is no connectivity, and this may change at any moment
+            //keep a reference, then do a null check before accessing
+            try {
+                ConnectivityManager cm = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
+                if (cm != null) {
+                    NetworkInfo ni = cm.getActiveNetworkInfo();
+                    if (ni != null) {
+                        type = ni.getType();
+                        subType = ni.getSubtypeName();
+                    }
+                }
+            } catch (ClassCastException e) {
+                // https://github.com/urbanairship/android-library/issues/115
+                Logger.error("Connection subtype lookup failed", e);
+            }
+
+            switch (type) {
+                case ConnectivityManager.TYPE_MOBILE:
+                    connectionType = "cell";
+                    break;
+                case ConnectivityManager.TYPE_WIFI:
+                    connectionType = "wifi";
+                    break;
+                case /*Connectivity.TYPE_WIMAX: (api level 8)*/ 0x00000006:
+                    connectionType = "wimax";
+                    break;
+                default:
+                    connectionType = "none";
+            }
+
+            connectionSubType = subType;
+
+            TelephonyManager tm = (TelephonyManager) context.getSystemService(Context.TELEPHONY_SERVICE);
+            carrier = tm == null ? null : tm.getNetworkOperatorName();
+        }
+    }
+}
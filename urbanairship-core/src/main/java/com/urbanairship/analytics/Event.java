@@ -2,24 +2,25 @@
 
 package com.urbanairship.analytics;
 
-import android.content.Context;
-import android.net.ConnectivityManager;
-import android.net.NetworkInfo;
 import android.support.annotation.IntDef;
 import android.support.annotation.RestrictTo;
-import android.telephony.TelephonyManager;
 
 import com.urbanairship.Logger;
 import com.urbanairship.UAirship;
 import com.urbanairship.json.JsonMap;
+import com.urbanairship.json.JsonValue;
 import com.urbanairship.push.PushManager;
 
+import org.json.JSONException;
+import org.json.JSONStringer;
+
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Locale;
+import java.util.Map;
 import java.util.TimeZone;
 import java.util.UUID;
 
@@ -113,21 +114,38 @@ public abstract class Event {
      */
     @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
     public String createEventPayload(String sessionId) {
-        JsonMap.Builder object = JsonMap.newBuilder();
         JsonMap data = getEventData();
 
-        // Copy the event data and add the session id
-        data = JsonMap.newBuilder()
-                      .putAll(data)
-                      .put(SESSION_ID_KEY, sessionId)
-                      .build();
+        // Write the event data straight into the payload and add the session id
+        try {
+            JSONStringer stringer = new JSONStringer();
+            stringer.object()
+                    .key(TYPE_KEY).value(getType())
+                    .key(EVENT_ID_KEY).value(eventId)
+                    .key(TIME_KEY).value(time)
+                    .key(DATA_KEY).object();
+
+            if (data != null) {
+                for (Map.Entry<String, JsonValue> entry : data) {
+                    if (SESSION_ID_KEY.equals(entry.getKey())) {
+                        continue;
+                    }
+
+                    stringer.key(entry.getKey());
+                    entry.getValue().write(stringer);
+                }
+            }
 
-        object.put(TYPE_KEY, getType())
-              .put(EVENT_ID_KEY, eventId)
-              .put(TIME_KEY, time)
-              .put(DATA_KEY, data);
+            if (sessionId != null) {
+                stringer.key(SESSION_ID_KEY).value(sessionId);
+            }
 
-        return object.build().toString();
+            stringer.endObject().endObject();
+            return stringer.toString();
+        } catch (JSONException e) {
+            Logger.error("Event - Failed to create event payload.", e);
+            return null;
+        }
     }
 
     /**
@@ -176,36 +194,7 @@ public abstract class Event {
      * @return The connection type as a String.
      */
     public String getConnectionType() {
-
-        int type = -1;//not connected
-
-        //determine network connectivity state
-        //each of these may return null if there is no connectivity, and this may change at any moment
-        //keep a reference, then do a null check before accessing
-        ConnectivityManager cm = (ConnectivityManager) UAirship.getApplicationContext().getSystemService(Context.CONNECTIVITY_SERVICE);
-        if (cm != null) {
-            NetworkInfo ni = cm.getActiveNetworkInfo();
-            if (ni != null) {
-                type = ni.getType();
-            }
-        }
-
-        String typeString;
-        switch (type) {
-            case ConnectivityManager.TYPE_MOBILE:
-                typeString = "cell";
-                break;
-            case ConnectivityManager.TYPE_WIFI:
-                typeString = "wifi";
-                break;
-            case /*Connectivity.TYPE_WIMAX: (api level 8)*/ 0x00000006:
-                typeString = "wimax";
-                break;
-            default:
-                typeString = "none";
-        }
-
-        return typeString;
+        return DeviceContext.shared(UAirship.getApplicationContext()).getConnectionType();
     }
 
     /**
@@ -214,23 +203,7 @@ public abstract class Event {
      * @return The connection subtype as a String.
      */
     public String getConnectionSubType() {
-        try {
-            //determine network connectivity state
-            //each of these may return null if there is no connectivity, and this may change at any moment
-            //keep a reference, then do a null check before accessing
-            ConnectivityManager cm = (ConnectivityManager) UAirship.getApplicationContext().getSystemService(Context.CONNECTIVITY_SERVICE);
-            if (cm != null) {
-                NetworkInfo ni = cm.getActiveNetworkInfo();
-                if (ni != null) {
-                    return ni.getSubtypeName();
-                }
-            }
-            return "";
-        } catch (ClassCastException e) {
-            // https://github.com/urbanairship/android-library/issues/115
-            Logger.error("Connection subtype lookup failed", e);
-            return "";
-        }
+        return DeviceContext.shared(UAirship.getApplicationContext()).getConnectionSubType();
     }
 
     /**
@@ -239,8 +212,7 @@ public abstract class Event {
      * @return The carrier as a String.
      */
     protected String getCarrier() {
-        TelephonyManager tm = (TelephonyManager) UAirship.getApplicationContext().getSystemService(Context.TELEPHONY_SERVICE);
-        return tm.getNetworkOperatorName();
+        return DeviceContext.shared(UAirship.getApplicationContext()).getCarrier();
     }
 
     /**
@@ -0,0 +1,306 @@
+/* Copyright 2018 Urban Airship and Contributors */
+
+package com.urbanairship.analytics;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rolls up custom events for the configured {@link EventRollup}s.
+ * <p>
+ * Each rolled up event name keeps a running count, sum, min, max and histogram for the current
+ * window. Windows are closed when the next event for the name arrives after the window ended, or
+ * by {@link #flushExpired(long)} and {@link #flush(long)}, and turned into a single summary event.
+ * The owner schedules {@link #flushExpired(long)} for {@link #getNextExpiration()} so a window
+ * never stays open in memory much longer than its duration.
+ */
+class EventAggregator {
+
+    static final String COUNT_PROPERTY = "ua_rollup_count";
+    static final String SUM_PROPERTY = "ua_rollup_sum";
+    static final String MIN_PROPERTY = "ua_rollup_min";
+    static final String MAX_PROPERTY = "ua_rollup_max";
+    static final String WINDOW_START_PROPERTY = "ua_rollup_window_start";
+    static final String WINDOW_END_PROPERTY = "ua_rollup_window_end";
+    static final String HISTOGRAM_PROPERTY = "ua_rollup_histogram";
+    static final String SAMPLE_INTERVAL_PROPERTY = "ua_rollup_sample_interval";
+
+    private static final BigDecimal MAX_VALUE = new BigDecimal(Integer.MAX_VALUE);
+    private static final BigDecimal MIN_VALUE = new BigDecimal(Integer.MIN_VALUE);
+
+    private final Map<String, Window> windows = new HashMap<>();
+
+    /**
+     * Result of offering an event to the aggregator.
+     */
+    static class Result {
+
+        /**
+         * {@code true} if the event should still be recorded as is.
+         */
+        final boolean record;
+
+        /**
+         * Summaries of any windows that closed.
+         */
+        final List<CustomEvent> summaries;
+
+        Result(boolean record, @NonNull List<CustomEvent> summaries) {
+            this.record = record;
+            this.summaries = summaries;
+        }
+    }
+
+    /**
+     * Adds a rollup. Replaces and closes any existing rollup for the same event name.
+     *
+     * @param rollup The rollup.
+     * @param timeMs The current time in milliseconds.
+     * @return The summary of the replaced window, or {@code null}.
+     */
+    @Nullable
+    synchronized CustomEvent addRollup(@NonNull EventRollup rollup, long timeMs) {
+        Window previous = windows.put(rollup.getEventName(), new Window(rollup));
+        return previous == null ? null : previous.close(timeMs);
+    }
+
+    /**
+     * Removes a rollup.
+     *
+     * @param eventName The event name.
+     * @param timeMs The current time in milliseconds.
+     * @return The summary of the open window, or {@code null}.
+     */
+    @Nullable
+    synchronized CustomEvent removeRollup(@NonNull String eventName, long timeMs) {
+        Window previous = windows.remove(eventName);
+        return previous == null ? null : previous.close(timeMs);
+    }
+
+    /**
+     * Offers a custom event.
+     *
+     * @param event The event.
+     * @param timeMs The event time in milliseconds.
+     * @return The result.
+     */
+    @NonNull
+    synchronized Result offer(@NonNull CustomEvent event, long timeMs) {
+        Window window = windows.get(event.getEventName());
+        if (window == null) {
+            return new Result(true, Collections.<CustomEvent>emptyList());
+        }
+
+        List<CustomEvent> summaries = new ArrayList<>();
+        if (window.isExpired(timeMs)) {
+            CustomEvent summary = window.close(timeMs);
+            if (summary != null) {
+                summaries.add(summary);
+            }
+        }
+
+        boolean record = window.add(event, timeMs);
+        return new Result(record, summaries);
+    }
+
+    /**
+     * Closes all open windows.
+     *
+     * @param timeMs The current time in milliseconds.
+     * @return The summaries.
+     */
+    @NonNull
+    synchronized List<CustomEvent> flush(long timeMs) {
+        List<CustomEvent> summaries = new ArrayList<>();
+        for (Window window : windows.values()) {
+            CustomEvent summary = window.close(timeMs);
+            if (summary != null) {
+                summaries.add(summary);
+            }
+        }
+        return summaries;
+    }
+
+    /**
+     * Closes the windows that have ended.
+     *
+     * @param timeMs The current time in milliseconds.
+     * @return The summaries.
+     */
+    @NonNull
+    synchronized List<CustomEvent> flushExpired(long timeMs) {
+        List<CustomEvent> summaries = new ArrayList<>();
+        for (Window window : windows.values()) {
+            if (!window.isExpired(timeMs)) {
+                continue;
+            }
+
+            CustomEvent summary = window.close(timeMs);
+            if (summary != null) {
+                summaries.add(summary);
+            }
+        }
+        return summaries;
+    }
+
+    /**
+     * Gets the time the first open window ends.
+     *
+     * @return The time in milliseconds, or {@code -1} if no windows are open.
+     */
+    synchronized long getNextExpiration() {
+        long next = -1;
+        for (Window window : windows.values()) {
+            long end = window.getEndMs();
+            if (end >= 0 && (next < 0 || end < next)) {
+                next = end;
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Checks if any rollups are configured.
+     *
+     * @return {@code true} if there are rollups, otherwise {@code false}.
+     */
+    synchronized boolean isEmpty() {
+        return windows.isEmpty();
+    }
+
+    /**
+     * Running stats for a single event name.
+     */
+    private static class Window {
+
+        private final EventRollup rollup;
+        private final long[] histogram;
+
+        private long startMs;
+        private long count;
+        private long sampleCounter;
+        private BigDecimal sum = BigDecimal.ZERO;
+        private BigDecimal min;
+        private BigDecimal max;
+        private String templateType;
+
+        Window(@NonNull EventRollup rollup) {
+            this.rollup = rollup;
+            this.histogram = new long[rollup.getHistogramBucketCount()];
+        }
+
+        boolean isExpired(long timeMs) {
+            return count > 0 && timeMs - startMs >= rollup.getWindowMs();
+        }
+
+        /**
+         * Gets the time the window ends.
+         *
+         * @return The end time in milliseconds, or {@code -1} if the window is empty.
+         */
+        long getEndMs() {
+            return count > 0 ? startMs + rollup.getWindowMs() : -1;
+        }
+
+        /**
+         * Adds an event to the window.
+         *
+         * @return {@code true} if the event was picked as a sample.
+         */
+        boolean add(@NonNull CustomEvent event, long timeMs) {
+            if (count == 0) {
+                startMs = timeMs;
+                templateType = event.getTemplateType();
+            }
+
+            count++;
+
+            BigDecimal value = event.getEventValue();
+            if (value != null) {
+                sum = sum.add(value);
+                min = min == null || value.compareTo(min) < 0 ? value : min;
+                max = max == null || value.compareTo(max) > 0 ? value : max;
+
+                if (histogram.length > 0) {
+                    histogram[rollup.getHistogramBucket(value.doubleValue())]++;
+                }
+            }
+
+            int interval = rollup.getSampleInterval();
+            if (interval <= 0) {
+                return false;
+            }
+
+            sampleCounter++;
+            if (sampleCounter >= interval) {
+                sampleCounter = 0;
+                return true;
+            }
+
+            return false;
+        }
+
+        /**
+         * Closes the window and resets the stats.
+         *
+         * @return The summary event, or {@code null} if the window was empty.
+         */
+        @Nullable
+        CustomEvent close(long timeMs) {
+            if (count == 0) {
+                return null;
+            }
+
+            CustomEvent.Builder builder = CustomEvent.newBuilder(rollup.getEventName())
+                                                     .addProperty(COUNT_PROPERTY, count)
+                                                     .addProperty(WINDOW_START_PROPERTY, startMs)
+                                                     .addProperty(WINDOW_END_PROPERTY, Math.max(startMs, timeMs));
+
+            if (templateType != null) {
+                builder.setTemplateType(templateType);
+            }
+
+            if (rollup.getSampleInterval() > 0) {
+                builder.addProperty(SAMPLE_INTERVAL_PROPERTY, rollup.getSampleInterval());
+            }
+
+            if (min != null) {
+                builder.addProperty(SUM_PROPERTY, sum.doubleValue())
+                       .addProperty(MIN_PROPERTY, min.doubleValue())
+                       .addProperty(MAX_PROPERTY, max.doubleValue());
+
+                // Event values are limited to the integer range
+                if (sum.compareTo(MAX_VALUE) <= 0 && sum.compareTo(MIN_VALUE) >= 0) {
+                    builder.setEventValue(sum);
+                }
+            }
+
+            if (histogram.length > 0) {
+                List<String> buckets = new ArrayList<>(histogram.length);
+                for (int i = 0; i < histogram.length; i++) {
+                    double bound = rollup.getHistogramBound(i);
+                    String label = Double.isInfinite(bound) ? "+Inf" : String.valueOf(bound);
+                    buckets.add(label + ":" + histogram[i]);
+                    histogram[i] = 0;
+                }
+                builder.addProperty(HISTOGRAM_PROPERTY, buckets);
+            }
+
+            count = 0;
+            sampleCounter = 0;
+            templateType = null;
+            sum = BigDecimal.ZERO;
+            min = null;
+            max = null;
+
+            return builder.build();
+        }
+    }
+}
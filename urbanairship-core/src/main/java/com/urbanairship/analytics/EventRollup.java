@@ -0,0 +1,215 @@
+/* Copyright 2018 Urban Airship and Contributors */
+
+package com.urbanairship.analytics;
+
+import android.support.annotation.IntRange;
+import android.support.annotation.NonNull;
+import android.support.annotation.Size;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rollup configuration for a high volume custom event.
+ * <p>
+ * Custom events with a rolled up name are not recorded individually. Instead their count, value
+ * sum, min, max and an optional value histogram are collected per time window and recorded as a
+ * single summary custom event with the same name when the window closes. The summary's event value
+ * is the sum of the rolled up values. Optionally every Nth event can still be recorded as is.
+ * <p>
+ * Windows are closed on a timer when they end, so at most one window of counts is lost if the
+ * process dies. Rollups only reduce stored and uploaded events. {@link AnalyticsListener}s, and
+ * the automation triggers that rely on them, still receive every event as it happens.
+ * <p>
+ * Rollups are added with {@link Analytics#addEventRollup(EventRollup)}.
+ */
+public class EventRollup {
+
+    /**
+     * Default rollup window.
+     */
+    public static final long DEFAULT_WINDOW_MS = TimeUnit.MINUTES.toMillis(1);
+
+    private final String eventName;
+    private final long windowMs;
+    private final int sampleInterval;
+    private final double[] histogramBounds;
+
+    private EventRollup(Builder builder) {
+        this.eventName = builder.eventName;
+        this.windowMs = builder.windowMs;
+        this.sampleInterval = builder.sampleInterval;
+        this.histogramBounds = builder.histogramBounds;
+    }
+
+    /**
+     * Creates a new builder.
+     *
+     * @param eventName The custom event name to roll up.
+     * @return A new builder.
+     */
+    @NonNull
+    public static Builder newBuilder(@NonNull @Size(min = 1, max = CustomEvent.MAX_CHARACTER_LENGTH) String eventName) {
+        return new Builder(eventName);
+    }
+
+    /**
+     * Gets the custom event name.
+     *
+     * @return The event name.
+     */
+    @NonNull
+    public String getEventName() {
+        return eventName;
+    }
+
+    /**
+     * Gets the rollup window in milliseconds.
+     *
+     * @return The rollup window.
+     */
+    public long getWindowMs() {
+        return windowMs;
+    }
+
+    /**
+     * Gets the sample interval. Every Nth event is still recorded individually, {@code 0} if
+     * no events are sampled.
+     *
+     * @return The sample interval.
+     */
+    public int getSampleInterval() {
+        return sampleInterval;
+    }
+
+    /**
+     * Gets the histogram bucket upper bounds, in ascending order.
+     *
+     * @return The histogram bucket bounds.
+     */
+    @NonNull
+    public double[] getHistogramBounds() {
+        return Arrays.copyOf(histogramBounds, histogramBounds.length);
+    }
+
+    /**
+     * Gets the histogram bucket for a value.
+     *
+     * @param value The value.
+     * @return The bucket index. Values above the last bound go in the last index.
+     */
+    int getHistogramBucket(double value) {
+        for (int i = 0; i < histogramBounds.length; i++) {
+            if (value <= histogramBounds[i]) {
+                return i;
+            }
+        }
+        return histogramBounds.length;
+    }
+
+    /**
+     * Gets the number of histogram buckets.
+     *
+     * @return The number of histogram buckets, or {@code 0} if the histogram is disabled.
+     */
+    int getHistogramBucketCount() {
+        return histogramBounds.length == 0 ? 0 : histogramBounds.length + 1;
+    }
+
+    /**
+     * Gets the histogram bound for a bucket.
+     *
+     * @param bucket The bucket index.
+     * @return The bucket's upper bound, or {@link Double#POSITIVE_INFINITY} for the last bucket.
+     */
+    double getHistogramBound(int bucket) {
+        return bucket < histogramBounds.length ? histogramBounds[bucket] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Event rollup builder.
+     */
+    public static class Builder {
+
+        /**
+         * Max number of histogram bounds. The summary stores one property entry per bucket.
+         */
+        public static final int MAX_HISTOGRAM_BOUNDS = CustomEvent.MAX_PROPERTY_COLLECTION_SIZE - 1;
+
+        private final String eventName;
+        private long windowMs = DEFAULT_WINDOW_MS;
+        private int sampleInterval;
+        private double[] histogramBounds = new double[0];
+
+        private Builder(@NonNull String eventName) {
+            this.eventName = eventName;
+        }
+
+        /**
+         * Sets the rollup window. Defaults to {@link #DEFAULT_WINDOW_MS}.
+         *
+         * @param duration The window duration.
+         * @param unit The time unit.
+         * @return The builder.
+         */
+        @NonNull
+        public Builder setWindow(@IntRange(from = 1) long duration, @NonNull TimeUnit unit) {
+            this.windowMs = unit.toMillis(duration);
+            return this;
+        }
+
+        /**
+         * Records every Nth event individually in addition to the rollup. The summary includes
+         * the interval so the samples can be scaled.
+         *
+         * @param sampleInterval The sample interval, or {@code 0} to disable sampling.
+         * @return The builder.
+         */
+        @NonNull
+        public Builder setSampleInterval(@IntRange(from = 0) int sampleInterval) {
+            this.sampleInterval = sampleInterval;
+            return this;
+        }
+
+        /**
+         * Sets the histogram bucket upper bounds for event values.
+         *
+         * @param bounds The bucket upper bounds, in ascending order.
+         * @return The builder.
+         */
+        @NonNull
+        public Builder setHistogramBounds(@NonNull @Size(max = MAX_HISTOGRAM_BOUNDS) double... bounds) {
+            this.histogramBounds = Arrays.copyOf(bounds, bounds.length);
+            return this;
+        }
+
+        /**
+         * Builds the event rollup.
+         *
+         * @return The event rollup.
+         * @throws IllegalArgumentException If the window, sample interval or histogram bounds are invalid.
+         */
+        @NonNull
+        public EventRollup build() {
+            if (windowMs <= 0) {
+                throw new IllegalArgumentException("Window must be greater than 0");
+            }
+
+            if (sampleInterval < 0) {
+                throw new IllegalArgumentException("Sample interval must not be negative");
+            }
+
+            if (histogramBounds.length > MAX_HISTOGRAM_BOUNDS) {
+                throw new IllegalArgumentException("Histogram bounds exceed " + MAX_HISTOGRAM_BOUNDS);
+            }
+
+            for (int i = 1; i < histogramBounds.length; i++) {
+                if (histogramBounds[i] <= histogramBounds[i - 1]) {
+                    throw new IllegalArgumentException("Histogram bounds must be ascending");
+                }
+            }
+
+            return new EventRollup(this);
+        }
+    }
+}
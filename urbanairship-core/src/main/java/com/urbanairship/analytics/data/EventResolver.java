@@ -91,25 +91,10 @@ public class EventResolver extends UrbanAirshipResolver {
             return false;
         }
 
-        int numOfEventIds = eventIds.size();
-        String inStatement = repeat("?", numOfEventIds, ", ");
-        int deleted = delete(uri, EventsStorage.Events.COLUMN_NAME_EVENT_ID + " IN ( " + inStatement + " )",
-                eventIds.toArray(new String[numOfEventIds]));
-
+        int deleted = deleteIn(uri, EventsStorage.Events.COLUMN_NAME_EVENT_ID, eventIds);
         return deleted > 0;
     }
 
-    private static String repeat(String repeater, int times, String separator) {
-        StringBuilder builder = new StringBuilder();
-        for (int i = 0; i < times; i++) {
-            builder.append(repeater);
-            if (i + 1 != times) {
-                builder.append(separator);
-            }
-        }
-        return builder.toString();
-    }
-
 
     /**
      * Gets the oldest session id in the
@@ -194,6 +179,10 @@ public class EventResolver extends UrbanAirshipResolver {
      */
     void insertEvent(Event event, String sessionId) {
         String eventPayload = event.createEventPayload(sessionId);
+        if (eventPayload == null) {
+            Logger.error("EventResolver - Unable to insert event, failed to create payload: " + event.getType());
+            return;
+        }
 
         ContentValues values = new ContentValues();
         values.put(EventsStorage.Events.COLUMN_NAME_TYPE, event.getType());
@@ -5,7 +5,6 @@ package com.urbanairship.automation;
 import android.annotation.TargetApi;
 import android.content.Context;
 import android.database.Cursor;
-import android.database.DatabaseUtils;
 import android.database.sqlite.SQLiteDatabase;
 import android.os.Build;
 import android.support.annotation.NonNull;
@@ -22,8 +21,6 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
-import static com.urbanairship.util.UAStringUtil.repeat;
-
 /**
  * {@link DataManager} class for automation schedules.
  *
@@ -32,11 +29,6 @@ import static com.urbanairship.util.UAStringUtil.repeat;
 @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
 public class AutomationDataManager extends DataManager {
 
-    /**
-     * Maximum SQL argument count.
-     */
-    private static final int MAX_ARG_COUNT = 999;
-
     /**
      * The database version
      */
@@ -47,6 +39,16 @@ public class AutomationDataManager extends DataManager {
      */
     private static final String ORDER_SCHEDULES_STATEMENT = " ORDER BY " + ScheduleEntry.COLUMN_NAME_SCHEDULE_ID + " ASC";
 
+    /**
+     * Statement for deleting a schedule.
+     */
+    private static final String DELETE_SCHEDULE_STATEMENT = "DELETE FROM " + ScheduleEntry.TABLE_NAME + " WHERE " + ScheduleEntry.COLUMN_NAME_SCHEDULE_ID + " = ?";
+
+    /**
+     * Query for counting schedules.
+     */
+    private static final String SCHEDULE_COUNT_QUERY = "SELECT COUNT(*) FROM " + ScheduleEntry.TABLE_NAME;
+
     /**
      * Query for retrieving schedules with associated delays.
      */
@@ -365,7 +367,7 @@ public class AutomationDataManager extends DataManager {
      * @param scheduleId The schedule ID.
      */
     void deleteSchedule(String scheduleId) {
-        if (delete(ScheduleEntry.TABLE_NAME, ScheduleEntry.COLUMN_NAME_SCHEDULE_ID + " = ?", new String[] { scheduleId }) < 0) {
+        if (executeUpdateDelete(DELETE_SCHEDULE_STATEMENT, scheduleId) < 0) {
             Logger.error("AutomationDataManager - failed to delete schedule for schedule ID " + scheduleId);
         }
     }
@@ -398,46 +400,44 @@ public class AutomationDataManager extends DataManager {
      *
      * @param scheduleEntries Collection of schedule entries.
      */
-    void saveSchedules(@NonNull Collection<ScheduleEntry> scheduleEntries) {
+    void saveSchedules(@NonNull final Collection<ScheduleEntry> scheduleEntries) {
         if (scheduleEntries.isEmpty()) {
             return;
         }
 
-        final SQLiteDatabase db = getWritableDatabase();
-        if (db == null) {
-            Logger.error("AutomationDataManager - Unable to update automation rules.");
-            return;
-        }
-
-        db.beginTransaction();
+        boolean success = runInTransaction("saveSchedules", new TransactionOperation() {
+            @Override
+            public boolean perform(@NonNull SQLiteDatabase db) {
+                for (ScheduleEntry scheduleEntry : scheduleEntries) {
+                    if (!scheduleEntry.save(db)) {
+                        return false;
+                    }
+                }
 
-        for (ScheduleEntry scheduleEntry : scheduleEntries) {
-            if (!scheduleEntry.save(db)) {
-                db.endTransaction();
-                return;
+                return true;
             }
-        }
+        });
 
-        db.setTransactionSuccessful();
-        db.endTransaction();
+        if (!success) {
+            Logger.error("AutomationDataManager - Unable to update automation rules.");
+        }
     }
 
     /**
      * Saves a single schedule entry.
      * @param entry The entry to save.
      */
-    void saveSchedule(@NonNull ScheduleEntry entry) {
-        final SQLiteDatabase db = getWritableDatabase();
-        if (db == null) {
-            Logger.error("AutomationDataManager - Unable to update automation rules.");
-            return;
-        }
+    void saveSchedule(@NonNull final ScheduleEntry entry) {
+        boolean success = runInTransaction("saveSchedule", new TransactionOperation() {
+            @Override
+            public boolean perform(@NonNull SQLiteDatabase db) {
+                return entry.save(db);
+            }
+        });
 
-        db.beginTransaction();
-        if (entry.save(db)) {
-            db.setTransactionSuccessful();
+        if (!success) {
+            Logger.error("AutomationDataManager - Unable to update automation rules.");
         }
-        db.endTransaction();
     }
 
     /**
@@ -445,28 +445,27 @@ public class AutomationDataManager extends DataManager {
      *
      * @param triggerEntries Collection of trigger entries.
      */
-    void saveTriggers(Collection<TriggerEntry> triggerEntries) {
+    void saveTriggers(final Collection<TriggerEntry> triggerEntries) {
         if (triggerEntries.isEmpty()) {
             return;
         }
 
-        final SQLiteDatabase db = getWritableDatabase();
-        if (db == null) {
-            Logger.error("AutomationDataManager - Unable to update automation rules.");
-            return;
-        }
-
-        db.beginTransactionNonExclusive();
+        boolean success = runInTransaction("saveTriggers", new TransactionOperation() {
+            @Override
+            public boolean perform(@NonNull SQLiteDatabase db) {
+                for (TriggerEntry triggerEntry : triggerEntries) {
+                    if (!triggerEntry.save(db)) {
+                        return false;
+                    }
+                }
 
-        for (TriggerEntry triggerEntry : triggerEntries) {
-            if (!triggerEntry.save(db)) {
-                db.endTransaction();
-                return;
+                return true;
             }
-        }
+        });
 
-        db.setTransactionSuccessful();
-        db.endTransaction();
+        if (!success) {
+            Logger.error("AutomationDataManager - Unable to update automation rules.");
+        }
     }
 
     /**
@@ -479,13 +478,9 @@ public class AutomationDataManager extends DataManager {
             return;
         }
 
-        performSubSetOperations(groups, MAX_ARG_COUNT, new SetOperation<String>() {
-            @Override
-            public void perform(List<String> subset) {
-                String inStatement = repeat("?", subset.size(), ", ");
-                delete(ScheduleEntry.TABLE_NAME, ScheduleEntry.COLUMN_NAME_GROUP + " IN ( " + inStatement + " )", subset.toArray(new String[subset.size()]));
-            }
-        });
+        if (deleteIn(ScheduleEntry.TABLE_NAME, ScheduleEntry.COLUMN_NAME_GROUP, groups) < 0) {
+            Logger.error("AutomationDataManager - failed to delete schedules for groups " + groups);
+        }
     }
 
     /**
@@ -498,13 +493,9 @@ public class AutomationDataManager extends DataManager {
             return;
         }
 
-        performSubSetOperations(schedulesToDelete, MAX_ARG_COUNT, new SetOperation<String>() {
-            @Override
-            public void perform(List<String> subset) {
-                String inStatement = repeat("?", subset.size(), ", ");
-                delete(ScheduleEntry.TABLE_NAME, ScheduleEntry.COLUMN_NAME_SCHEDULE_ID + " IN ( " + inStatement + " )", subset.toArray(new String[subset.size()]));
-            }
-        });
+        if (deleteIn(ScheduleEntry.TABLE_NAME, ScheduleEntry.COLUMN_NAME_SCHEDULE_ID, schedulesToDelete) < 0) {
+            Logger.error("AutomationDataManager - failed to delete schedules " + schedulesToDelete);
+        }
     }
 
     /**
@@ -568,7 +559,7 @@ public class AutomationDataManager extends DataManager {
         performSubSetOperations(ids, MAX_ARG_COUNT, new SetOperation<String>() {
             @Override
             public void perform(List<String> subset) {
-                String query = GET_SCHEDULES_QUERY + " WHERE a." + ScheduleEntry.COLUMN_NAME_SCHEDULE_ID + " IN ( " + repeat("?", subset.size(), ", ") + ")" + ORDER_SCHEDULES_STATEMENT;
+                String query = GET_SCHEDULES_QUERY + " WHERE a." + ScheduleEntry.COLUMN_NAME_SCHEDULE_ID + " IN ( " + placeholders(subset.size()) + ")" + ORDER_SCHEDULES_STATEMENT;
 
                 Cursor cursor = rawQuery(query, subset.toArray(new String[subset.size()]));
                 if (cursor != null) {
@@ -613,7 +604,7 @@ public class AutomationDataManager extends DataManager {
             states[i] = String.valueOf(executionStates[i]);
         }
 
-        String query = GET_SCHEDULES_QUERY + " WHERE a." + ScheduleEntry.COLUMN_NAME_EXECUTION_STATE + " IN ( " + repeat("?", executionStates.length, ", ") + ")";
+        String query = GET_SCHEDULES_QUERY + " WHERE a." + ScheduleEntry.COLUMN_NAME_EXECUTION_STATE + " IN ( " + placeholders(executionStates.length) + ")";
         Cursor cursor = rawQuery(query, states);
 
         if (cursor == null) {
@@ -691,12 +682,7 @@ public class AutomationDataManager extends DataManager {
      * @return The current schedule count.
      */
     public long getScheduleCount() {
-        final SQLiteDatabase db = getReadableDatabase();
-        if (db == null) {
-            return -1;
-        }
-
-        return DatabaseUtils.queryNumEntries(db, ScheduleEntry.TABLE_NAME);
+        return queryForLong(SCHEDULE_COUNT_QUERY, -1);
     }
 
     /**
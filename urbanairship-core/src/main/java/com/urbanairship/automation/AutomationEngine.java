@@ -40,7 +40,9 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CountDownLatch;
@@ -159,6 +161,12 @@ public class AutomationEngine<T extends Schedule> {
 
     private final List<Integer> COMPOUND_TRIGGER_TYPES = Arrays.asList(Trigger.ACTIVE_SESSION, Trigger.VERSION);
 
+    /**
+     * Window used to coalesce compound trigger state updates. Subscribing state observables
+     * for every schedule at once emits one update per schedule.
+     */
+    private static final long STATE_UPDATE_BUFFER_MS = 100;
+
     /**
      * Used to sort schedule priority.
      */
@@ -727,7 +735,15 @@ public class AutomationEngine<T extends Schedule> {
         Observable<TriggerUpdate> eventStream = Observable.merge(eventObservables);
         this.stateObservableUpdates = Subject.create();
 
-        this.compoundTriggerSubscription = Observable.merge(eventStream, stateObservableUpdates)
+        Observable<TriggerUpdate> stateStream = stateObservableUpdates.buffer(STATE_UPDATE_BUFFER_MS, backgroundScheduler)
+                                                                      .flatMap(new Function<List<TriggerUpdate>, Observable<TriggerUpdate>>() {
+                                                                          @Override
+                                                                          public Observable<TriggerUpdate> apply(List<TriggerUpdate> updates) {
+                                                                              return Observable.from(coalesceTriggerUpdates(updates));
+                                                                          }
+                                                                      });
+
+        this.compoundTriggerSubscription = Observable.merge(eventStream, stateStream)
                                                      .subscribe(new Subscriber<TriggerUpdate>() {
                                                          @Override
                                                          public void onNext(TriggerUpdate update) {
@@ -744,6 +760,28 @@ public class AutomationEngine<T extends Schedule> {
 
     }
 
+    /**
+     * Merges trigger updates that share the same payload and value into a single update, so a
+     * burst of state updates is processed in one pass.
+     *
+     * @param updates The trigger updates.
+     * @return The coalesced trigger updates, in the order they were first received.
+     */
+    private static Collection<TriggerUpdate> coalesceTriggerUpdates(List<TriggerUpdate> updates) {
+        Map<String, TriggerUpdate> coalesced = new LinkedHashMap<>();
+        for (TriggerUpdate update : updates) {
+            String key = (update.json == null ? "" : update.json.toJsonValue().toString()) + ":" + update.value;
+            TriggerUpdate existing = coalesced.get(key);
+            if (existing == null) {
+                coalesced.put(key, new TriggerUpdate(new ArrayList<>(update.triggerEntries), update.json, update.value));
+            } else {
+                existing.triggerEntries.addAll(update.triggerEntries);
+            }
+        }
+
+        return coalesced.values();
+    }
+
     /**
      * Sorts a list of schedule entries by priority.
      *
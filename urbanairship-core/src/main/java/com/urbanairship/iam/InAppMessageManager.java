@@ -18,6 +18,7 @@ import android.support.annotation.WorkerThread;
 import com.urbanairship.ActivityMonitor;
 import com.urbanairship.AirshipComponent;
 import com.urbanairship.AirshipConfigOptions;
+import com.urbanairship.AirshipExecutors;
 import com.urbanairship.Logger;
 import com.urbanairship.PendingResult;
 import com.urbanairship.PreferenceDataStore;
@@ -52,7 +53,6 @@ import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -156,7 +156,7 @@ public class InAppMessageManager extends AirshipComponent implements InAppMessag
         this.pushManager = pushManager;
         this.remoteDataSubscriber = new InAppRemoteDataObserver(preferenceDataStore);
         this.mainHandler = new Handler(Looper.getMainLooper());
-        this.executor = new RetryingExecutor(this.mainHandler, Executors.newSingleThreadExecutor());
+        this.executor = new RetryingExecutor(this.mainHandler, AirshipExecutors.newSerialExecutor("InAppMessageManager"));
         this.driver = new InAppMessageDriver();
         this.automationEngine = new AutomationEngine.Builder<InAppMessageSchedule>()
                 .setAnalytics(analytics)
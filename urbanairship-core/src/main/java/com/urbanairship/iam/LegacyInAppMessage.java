@@ -206,7 +206,7 @@ public class LegacyInAppMessage {
         }
 
 
-        JsonValue jsonValue = JsonValue.parseString(pushMessage.getExtra(PushMessage.EXTRA_IN_APP_MESSAGE, ""));
+        JsonValue jsonValue = pushMessage.getJsonExtra(PushMessage.EXTRA_IN_APP_MESSAGE);
         JsonMap displayJson = jsonValue.optMap().opt(DISPLAY_KEY).optMap();
         JsonMap actionsJson = jsonValue.optMap().opt(ACTIONS_KEY).optMap();
 
@@ -5,6 +5,7 @@ package com.urbanairship.iam.html;
 import android.animation.Animator;
 import android.animation.AnimatorListenerAdapter;
 import android.annotation.SuppressLint;
+import android.content.MutableContextWrapper;
 import android.graphics.Bitmap;
 import android.graphics.drawable.Drawable;
 import android.os.Build;
@@ -15,6 +16,7 @@ import android.support.annotation.Nullable;
 import android.support.v4.graphics.drawable.DrawableCompat;
 import android.support.v4.view.ViewCompat;
 import android.view.View;
+import android.view.ViewStub;
 import android.webkit.WebChromeClient;
 import android.webkit.WebView;
 import android.webkit.WebViewClient;
@@ -32,6 +34,7 @@ import com.urbanairship.iam.view.BoundedFrameLayout;
 import com.urbanairship.js.Whitelist;
 import com.urbanairship.widget.UAWebView;
 import com.urbanairship.widget.UAWebViewClient;
+import com.urbanairship.widget.WebViewPool;
 
 /**
  * HTML in-app message activity.
@@ -44,6 +47,8 @@ public class HtmlActivity extends InAppMessageActivity {
     private Integer error = null;
     private Handler handler;
     private String url;
+    private long createTime;
+    private boolean isPooledWebView;
     private Runnable delayedLoadRunnable = new Runnable() {
         @Override
         public void run() {
@@ -53,6 +58,8 @@ public class HtmlActivity extends InAppMessageActivity {
 
     @Override
     protected void onCreateMessage(@Nullable Bundle savedInstanceState) {
+        createTime = System.currentTimeMillis();
+
         final HtmlDisplayContent displayContent = getMessage().getDisplayContent();
         if (displayContent == null) {
             Logger.error("HtmlActivity - Invalid display type: " + getMessage().getDisplayContent());
@@ -78,7 +85,6 @@ public class HtmlActivity extends InAppMessageActivity {
         final ImageButton dismiss = findViewById(R.id.dismiss);
         final BoundedFrameLayout content = findViewById(R.id.content_holder);
 
-        this.webView = findViewById(R.id.web_view);
         this.handler = new Handler(Looper.getMainLooper());
         this.url = displayContent.getUrl();
 
@@ -88,6 +94,16 @@ public class HtmlActivity extends InAppMessageActivity {
             return;
         }
 
+        // Use a pre-warmed web view if one is available, otherwise inflate the stub
+        ViewStub webViewStub = findViewById(R.id.web_view_stub);
+        if (webViewStub != null) {
+            this.webView = WebViewPool.shared().inflate(webViewStub, R.style.UrbanAirship_InAppHtml_WebView);
+            isPooledWebView = webView.getContext() instanceof MutableContextWrapper;
+        } else {
+            // Custom layout without the stub
+            this.webView = findViewById(R.id.web_view);
+        }
+
         // Workaround render issue with older android devices
         if (Build.VERSION.SDK_INT < Build.VERSION_CODES.LOLLIPOP) {
             webView.setLayerType(View.LAYER_TYPE_SOFTWARE, null);
@@ -111,6 +127,11 @@ public class HtmlActivity extends InAppMessageActivity {
                             webView.loadData("", "text/html", null);
                     }
                 } else {
+                    if (createTime > 0) {
+                        Logger.verbose("HtmlActivity - Time to first paint: " + (System.currentTimeMillis() - createTime) + " ms, pooled web view: " + isPooledWebView);
+                        createTime = 0;
+                    }
+
                     crossFade(webView, progressBar);
                 }
             }
@@ -177,6 +198,16 @@ public class HtmlActivity extends InAppMessageActivity {
         handler.removeCallbacks(delayedLoadRunnable);
     }
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+
+        if (webView != null && isPooledWebView) {
+            WebViewPool.shared().release(webView);
+            webView = null;
+        }
+    }
+
     /**
      * Fades a view in while fading another view out.
      *
@@ -15,6 +15,7 @@ import com.urbanairship.iam.InAppMessage;
 import com.urbanairship.iam.InAppMessageAdapter;
 import com.urbanairship.js.Whitelist;
 import com.urbanairship.util.Network;
+import com.urbanairship.widget.WebViewPool;
 
 /**
  * Html display adapter.
@@ -54,7 +55,12 @@ public class HtmlDisplayAdapter implements InAppMessageAdapter {
             return CANCEL;
         }
 
-        return Network.isConnected() ? OK : RETRY;
+        if (!Network.isConnected()) {
+            return RETRY;
+        }
+
+        WebViewPool.shared().warmUp();
+        return OK;
     }
 
     @Override
@@ -4,7 +4,6 @@ package com.urbanairship.iam.tags;
 
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
-import android.util.Log;
 
 import com.urbanairship.Logger;
 import com.urbanairship.PreferenceDataStore;
@@ -17,6 +16,7 @@ import com.urbanairship.push.TagGroupRegistrar;
 import com.urbanairship.push.TagGroupsMutation;
 import com.urbanairship.util.Clock;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -27,6 +27,10 @@ import java.util.concurrent.TimeUnit;
 
 /**
  * Tracks pending and sent mutations.
+ * <p>
+ * Sent mutations are kept in memory ordered by time, oldest first. Records older than the max
+ * record age are dropped from the head as they expire. The net effect of the records applied
+ * since a given time is collapsed once and reused until the records change.
  */
 class TagGroupHistorian {
 
@@ -37,7 +41,12 @@ class TagGroupHistorian {
     private final TagGroupRegistrar tagGroupRegistrar;
     private final PreferenceDataStore dataStore;
     private final Clock clock;
-    private long maxRecordAge = Long.MAX_VALUE;
+    private volatile long maxRecordAge = Long.MAX_VALUE;
+
+    // Guarded by recordLock
+    private ArrayDeque<MutationRecord> records;
+    private MutationRecord netEffectStart;
+    private List<TagGroupsMutation> netEffect;
 
     /**
      * Default constructor.
@@ -57,7 +66,7 @@ class TagGroupHistorian {
     void init() {
         tagGroupRegistrar.addListener(new TagGroupRegistrar.Listener() {
             @Override
-            public void onMutationUploaded(TagGroupsMutation mutation) {
+            public void onMutationUploaded(@NonNull TagGroupsMutation mutation) {
                 recordMutation(mutation);
             }
         });
@@ -82,10 +91,8 @@ class TagGroupHistorian {
      */
     void applyLocalData(@NonNull Map<String, Set<String>> tags, long sinceDate) {
         // Records
-        for (MutationRecord record : getMutationRecords()) {
-            if (record.time >= sinceDate) {
-                record.mutation.apply(tags);
-            }
+        for (TagGroupsMutation mutation : getNetEffect(sinceDate)) {
+            mutation.apply(tags);
         }
 
         // Named User
@@ -106,13 +113,85 @@ class TagGroupHistorian {
      */
     private void recordMutation(@NonNull TagGroupsMutation mutation) {
         synchronized (recordLock) {
-            List<MutationRecord> records = getMutationRecords();
+            ArrayDeque<MutationRecord> records = getRecords();
+            MutationRecord record = new MutationRecord(clock.currentTimeMillis(), mutation);
+
+            if (records.isEmpty() || records.peekLast().time <= record.time) {
+                records.addLast(record);
+            } else {
+                // Clock moved backwards, insert the record in order
+                List<MutationRecord> sorted = new ArrayList<>(records);
+                int index = sorted.size();
+                while (index > 0 && sorted.get(index - 1).time > record.time) {
+                    index--;
+                }
+                sorted.add(index, record);
+                records.clear();
+                records.addAll(sorted);
+            }
+
+            evictExpiredRecords(records);
+            onRecordsChanged(records);
+        }
+    }
+
+    /**
+     * Gets the collapsed mutations for all the records since the given time.
+     *
+     * @param sinceDate The time in milliseconds since the epoch.
+     * @return The collapsed mutations.
+     */
+    @NonNull
+    private List<TagGroupsMutation> getNetEffect(long sinceDate) {
+        synchronized (recordLock) {
+            ArrayDeque<MutationRecord> records = getRecords();
+            if (evictExpiredRecords(records)) {
+                onRecordsChanged(records);
+            }
+
+            // Records are sorted, find the first one that applies
+            MutationRecord start = null;
+            for (MutationRecord record : records) {
+                if (record.time >= sinceDate) {
+                    start = record;
+                    break;
+                }
+            }
+
+            if (start == null) {
+                return Collections.emptyList();
+            }
+
+            if (start != netEffectStart || netEffect == null) {
+                List<TagGroupsMutation> mutations = new ArrayList<>();
+                boolean started = false;
+                for (MutationRecord record : records) {
+                    started = started || record == start;
+                    if (started) {
+                        mutations.add(record.mutation);
+                    }
+                }
+
+                netEffect = TagGroupsMutation.collapseMutations(mutations);
+                netEffectStart = start;
+            }
+
+            return netEffect;
+        }
+    }
 
-            // Add new record
-            records.add(new MutationRecord(clock.currentTimeMillis(), mutation));
+    /**
+     * Gets the records, loading them from the data store on first access.
+     *
+     * @return The records, oldest first.
+     */
+    @NonNull
+    private ArrayDeque<MutationRecord> getRecords() {
+        if (records == null) {
+            List<MutationRecord> stored = MutationRecord.fromJsonList(dataStore.getJsonValue(RECORDS_KEY).optList());
 
             // Sort entries by oldest first
-            Collections.sort(records, new Comparator<MutationRecord>() {
+            Collections.sort(stored, new Comparator<MutationRecord>() {
                 @Override
                 public int compare(MutationRecord lh, MutationRecord rh) {
                     if (lh.time == rh.time) {
@@ -125,31 +204,39 @@ class TagGroupHistorian {
                 }
             });
 
-            dataStore.put(RECORDS_KEY, JsonValue.wrapOpt(records));
+            records = new ArrayDeque<>(stored);
         }
+
+        return records;
     }
 
     /**
-     * Gets the recorded mutations.
+     * Drops records older than the max record age from the head of the records.
      *
-     * @return The list of recorded mutations.
+     * @param records The records.
+     * @return {@code true} if any records were removed, otherwise {@code false}.
      */
-    private List<MutationRecord> getMutationRecords() {
-        synchronized (recordLock) {
-            // Grab entries, should already be sorted
-            List<MutationRecord> allRecords = MutationRecord.fromJsonList(dataStore.getJsonValue(RECORDS_KEY).optList());
-
-            // Remove any dated records
-            List<MutationRecord> filteredRecords = new ArrayList<>();
-            for (MutationRecord record : allRecords) {
-                long age = clock.currentTimeMillis() - record.time;
-                if (age <= maxRecordAge) {
-                    filteredRecords.add(record);
-                }
-            }
+    private boolean evictExpiredRecords(@NonNull ArrayDeque<MutationRecord> records) {
+        long now = clock.currentTimeMillis();
+        boolean evicted = false;
 
-            return filteredRecords;
+        while (!records.isEmpty() && now - records.peekFirst().time > maxRecordAge) {
+            records.removeFirst();
+            evicted = true;
         }
+
+        return evicted;
+    }
+
+    /**
+     * Clears the cached net effect and persists the records.
+     *
+     * @param records The records.
+     */
+    private void onRecordsChanged(@NonNull ArrayDeque<MutationRecord> records) {
+        netEffect = null;
+        netEffectStart = null;
+        dataStore.put(RECORDS_KEY, JsonValue.wrapOpt(records));
     }
 
     /**
@@ -18,6 +18,7 @@ import com.urbanairship.push.PushManager;
 import com.urbanairship.push.TagGroupRegistrar;
 import com.urbanairship.util.Clock;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -84,7 +85,16 @@ public class TagGroupManager {
     private final TagGroupLookupApiClient client;
     private final Clock clock;
 
-    private RequestTagsCallback requestTagsCallback;
+    private volatile RequestTagsCallback requestTagsCallback;
+
+    // In-memory copy of the persisted cache, replaced as a whole on refresh
+    private volatile CacheSnapshot snapshot;
+    private final Object snapshotLock = new Object();
+
+    // Guards refreshes so concurrent callers share a single lookup
+    private final Object refreshLock = new Object();
+    private volatile int refreshCount;
+    private Map<String, Set<String>> lastRefreshTags;
 
     /**
      * Default constructor.
@@ -219,7 +229,7 @@ public class TagGroupManager {
      */
     @NonNull
     @WorkerThread
-    public synchronized TagGroupResult getTags(@NonNull Map<String, Set<String>> tags) {
+    public TagGroupResult getTags(@NonNull Map<String, Set<String>> tags) {
         if (requestTagsCallback == null) {
             throw new IllegalStateException("RequestTagsCallback not set");
         }
@@ -248,79 +258,76 @@ public class TagGroupManager {
         long cacheStaleReadTime = getCacheStaleReadTimeMilliseconds();
         long cacheMaxAgeTime = getCacheMaxAgeTimeMilliseconds();
 
-        TagGroupResponse cachedResponse = null;
-        if (TagGroupUtils.containsAll(getCachedRequestTags(), tags)) {
-            cachedResponse = getCachedResponse();
+        CacheSnapshot cache = getSnapshot();
+        if (cache.contains(tags) && cacheMaxAgeTime > clock.currentTimeMillis() - cache.createDate) {
+            return new TagGroupResult(true, generateTags(tags, cache.response, cache.createDate));
         }
 
-        long cacheCreateDate = getCacheCreateDate();
+        cache = refreshCache(tags, cacheMaxAgeTime);
 
-        if (cachedResponse != null && cacheMaxAgeTime > clock.currentTimeMillis() - cacheCreateDate) {
-            return new TagGroupResult(true, generateTags(tags, cachedResponse, cacheCreateDate));
-        }
-
-        // Refresh the cache
-        try {
-            refreshCache(tags, cachedResponse);
-            cachedResponse = getCachedResponse();
-            cacheCreateDate = getCacheCreateDate();
-        } catch (Exception e) {
-            Logger.error("Failed to refresh tags.", e);
-        }
-
-        if (cachedResponse == null) {
+        if (cache.response == null) {
             return new TagGroupResult(false, null);
         }
 
-        if (cacheStaleReadTime <= 0 || cacheStaleReadTime > clock.currentTimeMillis() - cacheCreateDate) {
-            return new TagGroupResult(true, generateTags(tags, cachedResponse, cacheCreateDate));
+        if (cacheStaleReadTime <= 0 || cacheStaleReadTime > clock.currentTimeMillis() - cache.createDate) {
+            return new TagGroupResult(true, generateTags(tags, cache.response, cache.createDate));
         }
 
         return new TagGroupResult(false, null);
     }
 
-
     /**
-     * Sets the cached response.
+     * Gets the cache snapshot, loading it from the data store on first access.
      *
-     * @param response The response to cache.
+     * @return The cache snapshot.
      */
-    private void setCachedResponse(@NonNull TagGroupResponse response, @NonNull Map<String, Set<String>> requestedTags) {
-        dataStore.put(CACHE_RESPONSE_KEY, response);
-        dataStore.put(CACHE_CREATE_DATE_KEY, clock.currentTimeMillis());
-        dataStore.put(CACHE_REQUESTED_TAGS_KEY, JsonValue.wrapOpt(requestedTags));
-    }
+    @NonNull
+    private CacheSnapshot getSnapshot() {
+        CacheSnapshot cache = snapshot;
+        if (cache != null) {
+            return cache;
+        }
 
-    /**
-     * Gets the cached response.
-     *
-     * @return The cached response, or null if not available.
-     */
-    @Nullable
-    private TagGroupResponse getCachedResponse() {
-        JsonValue value = dataStore.getJsonValue(CACHE_RESPONSE_KEY);
-        if (value.isNull()) {
-            return null;
+        synchronized (snapshotLock) {
+            if (snapshot == null) {
+                TagGroupResponse response = null;
+                JsonValue value = dataStore.getJsonValue(CACHE_RESPONSE_KEY);
+                if (!value.isNull()) {
+                    response = TagGroupResponse.fromJsonValue(value);
+                }
+
+                snapshot = new CacheSnapshot(response,
+                        TagGroupUtils.parseTags(dataStore.getJsonValue(CACHE_REQUESTED_TAGS_KEY)),
+                        dataStore.getLong(CACHE_CREATE_DATE_KEY, -1));
+            }
+
+            return snapshot;
         }
-        return TagGroupResponse.fromJsonValue(value);
     }
 
     /**
-     * Gets the cache creation date.
+     * Sets the cached response. Only the create date is written if the response and
+     * requested tags did not change.
      *
-     * @return The cache creation date if available, otherwise {@code -1} will be returned.
+     * @param response The response to cache.
+     * @param requestedTags The requested tags.
      */
-    private long getCacheCreateDate() {
-        return dataStore.getLong(CACHE_CREATE_DATE_KEY, -1);
-    }
+    private void setCachedResponse(@NonNull TagGroupResponse response, @NonNull Map<String, Set<String>> requestedTags) {
+        synchronized (snapshotLock) {
+            CacheSnapshot previous = getSnapshot();
+            CacheSnapshot updated = new CacheSnapshot(response, requestedTags, clock.currentTimeMillis());
 
-    /**
-     * Gets the cache creation date.
-     *
-     * @return The cache creation date if available, otherwise {@code -1} will be returned.
-     */
-    private Map<String, Set<String>> getCachedRequestTags() {
-        return TagGroupUtils.parseTags(dataStore.getJsonValue(CACHE_REQUESTED_TAGS_KEY));
+            if (!response.equals(previous.response)) {
+                dataStore.put(CACHE_RESPONSE_KEY, response);
+            }
+
+            if (!requestedTags.equals(previous.requestedTags)) {
+                dataStore.put(CACHE_REQUESTED_TAGS_KEY, JsonValue.wrapOpt(requestedTags));
+            }
+
+            dataStore.put(CACHE_CREATE_DATE_KEY, updated.createDate);
+            snapshot = updated;
+        }
     }
 
     /**
@@ -339,7 +346,9 @@ public class TagGroupManager {
      */
     @NonNull
     private Map<String, Set<String>> generateTags(Map<String, Set<String>> requestedTags, TagGroupResponse response, long cacheTime) {
-        Map<String, Set<String>> currentTags = new HashMap<>(response.tags);
+        // Copy the tag sets, the snapshot is shared between callers
+        Map<String, Set<String>> currentTags = new HashMap<>();
+        TagGroupUtils.addAll(currentTags, response.tags);
 
         this.historian.applyLocalData(currentTags, cacheTime - getPreferLocalTagDataTime());
 
@@ -353,37 +362,84 @@ public class TagGroupManager {
     }
 
     /**
-     * Refreshes the cache.
+     * Refreshes the cache. Only one refresh runs at a time. Callers that wait on a refresh that
+     * covered their tags use its result instead of starting another lookup.
      *
      * @param tags The requested tags.
-     * @param cachedResponse The cached response.
+     * @param cacheMaxAgeTime The cache max age time.
+     * @return The current cache snapshot.
      */
-    private void refreshCache(Map<String, Set<String>> tags, @Nullable TagGroupResponse cachedResponse) throws Exception {
-        Map<String, Set<String>> requestTags;
-        if (requestTagsCallback != null) {
-            requestTags = TagGroupUtils.union(tags, requestTagsCallback.getTags());
-        } else {
-            requestTags = tags;
+    @NonNull
+    private CacheSnapshot refreshCache(@NonNull Map<String, Set<String>> tags, long cacheMaxAgeTime) {
+        // Read before waiting on the lock to detect a refresh that finishes while we wait
+        int count = refreshCount;
+
+        synchronized (refreshLock) {
+            CacheSnapshot cache = getSnapshot();
+
+            // Another caller refreshed while we were waiting
+            if (count != refreshCount && lastRefreshTags != null && TagGroupUtils.containsAll(lastRefreshTags, tags)) {
+                return cache;
+            }
+
+            // The cache may have been refreshed for other tags that include ours
+            if (cache.contains(tags) && cacheMaxAgeTime > clock.currentTimeMillis() - cache.createDate) {
+                return cache;
+            }
+
+            Map<String, Set<String>> requestTags = tags;
+            try {
+                RequestTagsCallback callback = requestTagsCallback;
+                if (callback != null) {
+                    requestTags = TagGroupUtils.union(tags, callback.getTags());
+                }
+
+                // Only use the cached response if it the requested tags are the same
+                TagGroupResponse cachedResponse = cache.contains(tags) && requestTags.equals(cache.requestedTags) ? cache.response : null;
+                TagGroupResponse response = client.lookupTagGroups(pushManager.getChannelId(), UAirship.shared().getPlatformType(), requestTags, cachedResponse);
+
+                if (response == null) {
+                    Logger.error("Failed to refresh the cache.");
+                } else if (response.status != 200) {
+                    Logger.error("Failed to refresh the cache. Status: " + response);
+                } else {
+                    Logger.verbose("Refreshed tag group with response: " + response);
+                    setCachedResponse(response, requestTags);
+                }
+            } catch (Exception e) {
+                Logger.error("Failed to refresh tags.", e);
+            }
+
+            refreshCount++;
+            lastRefreshTags = requestTags;
+            return getSnapshot();
         }
+    }
 
-        // Only use the cached response if it the requested tags are the same
-        if (cachedResponse != null && !requestTags.equals(getCachedRequestTags())) {
-            cachedResponse = null;
-        }
+    /**
+     * Immutable view of the cached lookup response.
+     */
+    private static class CacheSnapshot {
 
-        TagGroupResponse response = client.lookupTagGroups(pushManager.getChannelId(), UAirship.shared().getPlatformType(), requestTags, cachedResponse);
+        @Nullable
+        final TagGroupResponse response;
+        final Map<String, Set<String>> requestedTags;
+        final long createDate;
 
-        if (response == null) {
-            Logger.error("Failed to refresh the cache.");
-            return;
+        CacheSnapshot(@Nullable TagGroupResponse response, @NonNull Map<String, Set<String>> requestedTags, long createDate) {
+            this.response = response;
+            this.requestedTags = Collections.unmodifiableMap(requestedTags);
+            this.createDate = createDate;
         }
 
-        if (response.status != 200) {
-            Logger.error("Failed to refresh the cache. Status: " + response);
-            return;
+        /**
+         * Checks if the snapshot has a response that was requested with all the given tags.
+         *
+         * @param tags The tags.
+         * @return {@code true} if the snapshot can answer for the tags, otherwise {@code false}.
+         */
+        boolean contains(@NonNull Map<String, Set<String>> tags) {
+            return response != null && TagGroupUtils.containsAll(requestedTags, tags);
         }
-
-        Logger.verbose("Refreshed tag group with response: " + response);
-        setCachedResponse(response, requestTags);
     }
 }
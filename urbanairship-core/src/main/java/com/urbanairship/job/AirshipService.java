@@ -16,6 +16,10 @@ import android.support.v4.content.WakefulBroadcastReceiver;
 
 import com.urbanairship.Logger;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * Urban Airship Service.
  *
@@ -32,6 +36,12 @@ public class AirshipService extends Service {
      * JobInfo bundle extra. See {@link JobInfo#toBundle()}.
      */
     static final String EXTRA_JOB_INFO_BUNDLE = "EXTRA_JOB_INFO_BUNDLE";
+
+    /**
+     * List of JobInfo bundles for jobs that are started together. See {@link JobInfo#toBundle()}.
+     */
+    static final String EXTRA_JOB_INFO_BUNDLES = "EXTRA_JOB_INFO_BUNDLES";
+
     static final String EXTRA_RESCHEDULE_EXTRAS = "EXTRA_RESCHEDULE_EXTRAS";
 
     private static final int MSG_INTENT_RECEIVED = 1;
@@ -105,34 +115,70 @@ public class AirshipService extends Service {
         msg.arg1 = startId;
         msg.obj = intent;
 
-        if (intent == null || !ACTION_RUN_JOB.equals(intent.getAction()) || intent.getBundleExtra(EXTRA_JOB_INFO_BUNDLE) == null) {
-            handler.sendMessage(msg);
-            return;
-        }
-
-        final JobInfo jobInfo = JobInfo.fromBundle(intent.getBundleExtra(EXTRA_JOB_INFO_BUNDLE));
-        if (jobInfo == null) {
+        List<JobInfo> jobInfos = parseJobInfos(intent);
+        if (jobInfos.isEmpty()) {
             handler.sendMessage(msg);
             return;
         }
 
         runningJobs++;
 
-        Job job = new Job.Builder(jobInfo)
-                .setCallback(new Job.Callback() {
-                    @Override
-                    public void onFinish(Job job, @JobInfo.JobResult int result) {
-                        handler.sendMessage(msg);
-                        if (result == JobInfo.JOB_RETRY) {
-                            JobDispatcher.shared(getApplicationContext()).reschedule(jobInfo, intent.getBundleExtra(EXTRA_RESCHEDULE_EXTRAS));
+        // The intent is finished once every job it carries is finished
+        final AtomicInteger remainingJobs = new AtomicInteger(jobInfos.size());
+        final Bundle rescheduleExtras = intent.getBundleExtra(EXTRA_RESCHEDULE_EXTRAS);
+
+        for (final JobInfo jobInfo : jobInfos) {
+            Job job = new Job.Builder(jobInfo)
+                    .setCallback(new Job.Callback() {
+                        @Override
+                        public void onFinish(Job job, @JobInfo.JobResult int result) {
+                            if (result == JobInfo.JOB_RETRY) {
+                                JobDispatcher.shared(getApplicationContext()).reschedule(jobInfo, rescheduleExtras);
+                            }
+
+                            if (remainingJobs.decrementAndGet() == 0) {
+                                handler.sendMessage(msg);
+                            }
                         }
-                    }
-                })
-                .build();
+                    })
+                    .build();
 
-        Logger.verbose("AirshipService - Running job: " + jobInfo);
-        Job.EXECUTOR.execute(job);
+            Logger.verbose("AirshipService - Running job: " + jobInfo);
+            Job.EXECUTOR.execute(job);
+        }
+    }
+
+    /**
+     * Parses the jobs from the intent.
+     *
+     * @param intent The intent.
+     * @return The list of jobs in the intent.
+     */
+    private static List<JobInfo> parseJobInfos(Intent intent) {
+        List<JobInfo> jobInfos = new ArrayList<>();
+
+        if (intent == null || !ACTION_RUN_JOB.equals(intent.getAction())) {
+            return jobInfos;
+        }
 
+        List<Bundle> bundles = new ArrayList<>();
+        if (intent.getBundleExtra(EXTRA_JOB_INFO_BUNDLE) != null) {
+            bundles.add(intent.getBundleExtra(EXTRA_JOB_INFO_BUNDLE));
+        }
+
+        ArrayList<Bundle> batch = intent.getParcelableArrayListExtra(EXTRA_JOB_INFO_BUNDLES);
+        if (batch != null) {
+            bundles.addAll(batch);
+        }
+
+        for (Bundle bundle : bundles) {
+            JobInfo jobInfo = JobInfo.fromBundle(bundle);
+            if (jobInfo != null) {
+                jobInfos.add(jobInfo);
+            }
+        }
+
+        return jobInfos;
     }
 
     /**
@@ -181,4 +227,22 @@ public class AirshipService extends Service {
         return intent;
     }
 
+    /**
+     * Creates a service intent that runs several {@link JobInfo}s in a single service start.
+     *
+     * @param context The application context.
+     * @param jobInfos The {@link JobInfo}s to run.
+     * @return A service intent.
+     */
+    static Intent createIntent(Context context, List<JobInfo> jobInfos) {
+        ArrayList<Bundle> bundles = new ArrayList<>();
+        for (JobInfo jobInfo : jobInfos) {
+            bundles.add(jobInfo.toBundle());
+        }
+
+        return new Intent(context, AirshipService.class)
+                .setAction(AirshipService.ACTION_RUN_JOB)
+                .putParcelableArrayListExtra(AirshipService.EXTRA_JOB_INFO_BUNDLES, bundles);
+    }
+
 }
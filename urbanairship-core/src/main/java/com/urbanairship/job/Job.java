@@ -5,12 +5,14 @@ import android.support.annotation.RestrictTo;
 import android.support.annotation.WorkerThread;
 
 import com.urbanairship.AirshipComponent;
+import com.urbanairship.AirshipExecutors;
 import com.urbanairship.Logger;
 import com.urbanairship.UAirship;
 import com.urbanairship.util.UAStringUtil;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 
 
 /**
@@ -21,10 +23,14 @@ import java.util.concurrent.Executors;
 @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
 class Job implements Runnable {
 
-    static final Executor EXECUTOR = Executors.newSingleThreadExecutor();
+    static final Executor EXECUTOR = AirshipExecutors.newBlockingLane("Job", 1);
 
     private static final long AIRSHIP_WAIT_TIME_MS = 5000; // 5 seconds.
 
+    private static final Object componentLock = new Object();
+    private static UAirship componentAirship;
+    private static Map<String, AirshipComponent> componentMap;
+
     /**
      * Callback when a job is finished.
      */
@@ -88,7 +94,9 @@ class Job implements Runnable {
         component.getJobExecutor(jobInfo).execute(new Runnable() {
             @Override
             public void run() {
+                long startTime = JobMetrics.shared().onStarted(jobInfo);
                 int result = component.onPerformJob(airship, jobInfo);
+                JobMetrics.shared().onFinished(jobInfo, startTime);
                 Logger.verbose("Job - Finished: " + jobInfo + " with result: " + result);
 
                 if (callback != null) {
@@ -99,7 +107,8 @@ class Job implements Runnable {
     }
 
     /**
-     * Finds the {@link AirshipComponent}s for a given job.
+     * Finds the {@link AirshipComponent}s for a given job. The components are indexed by class
+     * name the first time a job runs for an airship instance.
      *
      * @param componentClassName The component's class name.
      * @param airship The airship instance.
@@ -110,13 +119,17 @@ class Job implements Runnable {
             return null;
         }
 
-        for (final AirshipComponent component : airship.getComponents()) {
-            if (component.getClass().getName().equals(componentClassName)) {
-                return component;
+        synchronized (componentLock) {
+            if (componentAirship != airship || componentMap == null) {
+                componentMap = new HashMap<>();
+                for (final AirshipComponent component : airship.getComponents()) {
+                    componentMap.put(component.getClass().getName(), component);
+                }
+                componentAirship = airship;
             }
-        }
 
-        return null;
+            return componentMap.get(componentClassName);
+        }
     }
 
 
@@ -4,12 +4,15 @@ package com.urbanairship.job;
 
 import android.annotation.SuppressLint;
 import android.content.Context;
+import android.content.Intent;
 import android.content.pm.ApplicationInfo;
 import android.content.pm.PackageManager;
 import android.net.ConnectivityManager;
 import android.net.NetworkInfo;
 import android.os.Build;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.annotation.RestrictTo;
@@ -19,6 +22,10 @@ import com.urbanairship.ActivityMonitor;
 import com.urbanairship.Logger;
 import com.urbanairship.UAirship;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Dispatches jobs. When a job is dispatched with a delay or specifies that it requires network activity,
  * it will be scheduled using either the AlarmManager or GcmNetworkManager. When a job is finally performed,
@@ -40,6 +47,13 @@ public class JobDispatcher {
      */
     private static final int DEFAULT_JOB_ID_START = 3000000;
 
+    /**
+     * Window in which immediate jobs are collected and started with a single service start. Only
+     * jobs with fixed IDs are collected, one-off jobs like push processing are started right away.
+     * The window is posted to the main looper so it does not need a thread of its own.
+     */
+    private static final long COALESCE_WINDOW_MS = 100;
+
     private final Context context;
 
     @SuppressLint("StaticFieldLeak")
@@ -52,6 +66,15 @@ public class JobDispatcher {
     private boolean isUsingFallbackScheduler = false;
     private Integer jobIdStart;
 
+    private final Handler handler;
+    private final List<JobInfo> pendingJobs = new ArrayList<>();
+    private final Runnable flushPendingJobs = new Runnable() {
+        @Override
+        public void run() {
+            flushPendingJobs();
+        }
+    };
+
     /**
      * Gets the shared instance.
      *
@@ -79,6 +102,7 @@ public class JobDispatcher {
         this.context = context.getApplicationContext();
         this.schedulerFactory = schedulerFactory;
         this.activityMonitor = activityMonitor;
+        this.handler = new Handler(Looper.getMainLooper());
     }
 
     /**
@@ -87,29 +111,103 @@ public class JobDispatcher {
      * @param jobInfo The jobInfo.
      */
     public void dispatch(@NonNull JobInfo jobInfo) {
-        try {
+        JobMetrics.shared().onDispatched(jobInfo);
+
+        if (requiresScheduling(jobInfo)) {
+            schedule(jobInfo);
+            return;
+        }
 
-            if (requiresScheduling(jobInfo)) {
-                getScheduler().schedule(context, jobInfo, getScheduleId(jobInfo.getId()));
+        // One-off jobs never coalesce and are often latency sensitive, start them right away
+        if (jobInfo.hasGeneratedId()) {
+            startJobs(Collections.singletonList(jobInfo));
+            return;
+        }
+
+        // Otherwise collect the job so jobs dispatched together share a single service start
+        synchronized (pendingJobs) {
+            if (pendingJobs.contains(jobInfo)) {
+                Logger.verbose("JobDispatcher - Coalescing jobInfo: " + jobInfo);
+                JobMetrics.shared().onCoalesced(jobInfo);
                 return;
             }
 
-            // Otherwise start the service directly
-            try {
-                getScheduler().cancel(context, jobInfo.getId());
-                context.startService(AirshipService.createIntent(context, jobInfo, null));
-            } catch (SecurityException | IllegalStateException ex) {
-                getScheduler().schedule(context, jobInfo, getScheduleId(jobInfo.getId()));
+            pendingJobs.add(jobInfo);
+            if (pendingJobs.size() == 1) {
+                handler.postDelayed(flushPendingJobs, COALESCE_WINDOW_MS);
             }
+        }
+    }
+
+    /**
+     * Schedules a job info with the scheduler.
+     *
+     * @param jobInfo The jobInfo.
+     */
+    private void schedule(@NonNull JobInfo jobInfo) {
+        try {
+            getScheduler().schedule(context, jobInfo, getScheduleId(jobInfo.getId()));
         } catch (SchedulerException e) {
             Logger.error("Scheduler failed to schedule jobInfo", e);
 
             if (useFallbackScheduler()) {
-                dispatch(jobInfo);
+                schedule(jobInfo);
             }
         }
     }
 
+    /**
+     * Starts the service for all pending jobs. Falls back to scheduling the jobs if the
+     * service is not able to be started.
+     */
+    private void flushPendingJobs() {
+        List<JobInfo> jobInfos;
+        synchronized (pendingJobs) {
+            jobInfos = new ArrayList<>(pendingJobs);
+            pendingJobs.clear();
+        }
+
+        if (!jobInfos.isEmpty()) {
+            startJobs(jobInfos);
+        }
+    }
+
+    /**
+     * Starts the service for the jobs. Falls back to scheduling the jobs if the service is not
+     * able to be started.
+     *
+     * @param jobInfos The jobs.
+     */
+    private void startJobs(@NonNull List<JobInfo> jobInfos) {
+        for (JobInfo jobInfo : jobInfos) {
+            cancelScheduled(jobInfo.getId());
+        }
+
+        Intent intent = jobInfos.size() == 1 ? AirshipService.createIntent(context, jobInfos.get(0), null)
+                                             : AirshipService.createIntent(context, jobInfos);
+
+        try {
+            context.startService(intent);
+        } catch (SecurityException | IllegalStateException ex) {
+            for (JobInfo jobInfo : jobInfos) {
+                schedule(jobInfo);
+            }
+        }
+    }
+
+    /**
+     * Cancels any scheduled instance of a job before it is started directly.
+     *
+     * @param jobId The job's ID.
+     */
+    private void cancelScheduled(int jobId) {
+        try {
+            getScheduler().cancel(context, jobId);
+        } catch (SchedulerException e) {
+            Logger.error("Scheduler failed to cancel job with id: " + jobId, e);
+        }
+    }
+
     /**
      * Helper method to reschedule jobs.
      *
@@ -41,7 +41,7 @@ public class JobInfo {
     @IntDef({ ANALYTICS_EVENT_UPLOAD, ANALYTICS_UPDATE_ADVERTISING_ID, NAMED_USER_UPDATE_ID,
               NAMED_USER_UPDATE_TAG_GROUPS, CHANNEL_UPDATE_PUSH_TOKEN, CHANNEL_UPDATE_REGISTRATION,
               CHANNEL_UPDATE_TAG_GROUPS, RICH_PUSH_UPDATE_USER, RICH_PUSH_UPDATE_MESSAGES,
-              RICH_PUSH_SYNC_MESSAGE_STATE, REMOTE_DATA_REFRESH })
+              RICH_PUSH_SYNC_MESSAGE_STATE, REMOTE_DATA_REFRESH, RICH_PUSH_PREFETCH_MESSAGE_BODIES })
     @Retention(SOURCE)
     public @interface JobId {}
 
@@ -61,6 +61,8 @@ public class JobInfo {
 
     public static final int REMOTE_DATA_REFRESH = 10;
 
+    public static final int RICH_PUSH_PREFETCH_MESSAGE_BODIES = 11;
+
     private static final String EXTRA_AIRSHIP_COMPONENT = "EXTRA_AIRSHIP_COMPONENT";
     private static final String EXTRA_JOB_EXTRAS = "EXTRA_JOB_EXTRAS";
     private static final String EXTRA_INITIAL_DELAY = "EXTRA_INITIAL_DELAY";
@@ -148,6 +150,16 @@ public class JobInfo {
         return id;
     }
 
+    /**
+     * If the job's ID was generated with {@link Builder#generateUniqueId(Context)}. Jobs with
+     * generated IDs are one-off jobs, like processing a single push, and never share an ID.
+     *
+     * @return {@code true} if the ID was generated, otherwise {@code false}.
+     */
+    boolean hasGeneratedId() {
+        return id >= GENERATED_ID_OFFSET;
+    }
+
     /**
      * If network access is required for the job.
      *
@@ -297,6 +309,50 @@ public class JobInfo {
     }
 
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        JobInfo jobInfo = (JobInfo) o;
+
+        if (id != jobInfo.id) {
+            return false;
+        }
+        if (isNetworkAccessRequired != jobInfo.isNetworkAccessRequired) {
+            return false;
+        }
+        if (initialDelay != jobInfo.initialDelay) {
+            return false;
+        }
+        if (persistent != jobInfo.persistent) {
+            return false;
+        }
+        if (!action.equals(jobInfo.action)) {
+            return false;
+        }
+        if (airshipComponentName != null ? !airshipComponentName.equals(jobInfo.airshipComponentName) : jobInfo.airshipComponentName != null) {
+            return false;
+        }
+        return extras.equals(jobInfo.extras);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = extras.hashCode();
+        result = 31 * result + action.hashCode();
+        result = 31 * result + (airshipComponentName != null ? airshipComponentName.hashCode() : 0);
+        result = 31 * result + (isNetworkAccessRequired ? 1 : 0);
+        result = 31 * result + (int) (initialDelay ^ (initialDelay >>> 32));
+        result = 31 * result + (persistent ? 1 : 0);
+        result = 31 * result + id;
+        return result;
+    }
+
     @Override
     public String toString() {
         return "JobInfo{" +
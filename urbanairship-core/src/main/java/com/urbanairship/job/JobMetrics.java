@@ -0,0 +1,213 @@
+/* Copyright 2018 Urban Airship and Contributors */
+
+package com.urbanairship.job;
+
+import android.os.SystemClock;
+import android.support.annotation.NonNull;
+import android.support.annotation.RestrictTo;
+import android.util.SparseArray;
+
+/**
+ * Tracks per-job dispatch, queue and run time metrics for the current process.
+ *
+ * @hide
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+public class JobMetrics {
+
+    private static final JobMetrics instance = new JobMetrics();
+
+    private final SparseArray<Stats> stats = new SparseArray<>();
+    private final SparseArray<Long> dispatchTimes = new SparseArray<>();
+
+    /**
+     * Gets the shared instance.
+     *
+     * @return The job metrics.
+     */
+    @NonNull
+    public static JobMetrics shared() {
+        return instance;
+    }
+
+    /**
+     * Gets a snapshot of the metrics for a job ID.
+     *
+     * @param jobId The job ID.
+     * @return The job's stats.
+     */
+    @NonNull
+    public synchronized Stats getStats(int jobId) {
+        Stats jobStats = stats.get(jobId);
+        return jobStats == null ? new Stats() : new Stats(jobStats);
+    }
+
+    /**
+     * Called when a job is dispatched.
+     *
+     * @param jobInfo The job info.
+     */
+    synchronized void onDispatched(@NonNull JobInfo jobInfo) {
+        getOrCreateStats(jobInfo.getId()).dispatchCount++;
+
+        // Keep the oldest dispatch time so coalesced jobs report the full queue time
+        if (dispatchTimes.indexOfKey(jobInfo.getId()) < 0) {
+            dispatchTimes.put(jobInfo.getId(), SystemClock.elapsedRealtime());
+        }
+    }
+
+    /**
+     * Called when a dispatched job was collapsed into an already pending job.
+     *
+     * @param jobInfo The job info.
+     */
+    synchronized void onCoalesced(@NonNull JobInfo jobInfo) {
+        getOrCreateStats(jobInfo.getId()).coalescedCount++;
+    }
+
+    /**
+     * Called when a job starts running.
+     *
+     * @param jobInfo The job info.
+     * @return The start time used for {@link #onFinished(JobInfo, long)}.
+     */
+    synchronized long onStarted(@NonNull JobInfo jobInfo) {
+        long now = SystemClock.elapsedRealtime();
+        int index = dispatchTimes.indexOfKey(jobInfo.getId());
+        if (index >= 0) {
+            long queueTime = now - dispatchTimes.valueAt(index);
+            dispatchTimes.removeAt(index);
+
+            Stats jobStats = getOrCreateStats(jobInfo.getId());
+            jobStats.totalQueueTimeMs += queueTime;
+            jobStats.maxQueueTimeMs = Math.max(jobStats.maxQueueTimeMs, queueTime);
+        }
+
+        return now;
+    }
+
+    /**
+     * Called when a job finishes running.
+     *
+     * @param jobInfo The job info.
+     * @param startTime The start time returned from {@link #onStarted(JobInfo)}.
+     */
+    synchronized void onFinished(@NonNull JobInfo jobInfo, long startTime) {
+        long runTime = SystemClock.elapsedRealtime() - startTime;
+
+        Stats jobStats = getOrCreateStats(jobInfo.getId());
+        jobStats.runCount++;
+        jobStats.totalRunTimeMs += runTime;
+        jobStats.maxRunTimeMs = Math.max(jobStats.maxRunTimeMs, runTime);
+    }
+
+    private Stats getOrCreateStats(int jobId) {
+        Stats jobStats = stats.get(jobId);
+        if (jobStats == null) {
+            jobStats = new Stats();
+            stats.put(jobId, jobStats);
+        }
+        return jobStats;
+    }
+
+    /**
+     * Job metrics snapshot.
+     */
+    public static class Stats {
+        private int dispatchCount;
+        private int coalescedCount;
+        private int runCount;
+        private long totalQueueTimeMs;
+        private long maxQueueTimeMs;
+        private long totalRunTimeMs;
+        private long maxRunTimeMs;
+
+        Stats() {}
+
+        Stats(Stats stats) {
+            this.dispatchCount = stats.dispatchCount;
+            this.coalescedCount = stats.coalescedCount;
+            this.runCount = stats.runCount;
+            this.totalQueueTimeMs = stats.totalQueueTimeMs;
+            this.maxQueueTimeMs = stats.maxQueueTimeMs;
+            this.totalRunTimeMs = stats.totalRunTimeMs;
+            this.maxRunTimeMs = stats.maxRunTimeMs;
+        }
+
+        /**
+         * Number of times the job was dispatched.
+         *
+         * @return The dispatch count.
+         */
+        public int getDispatchCount() {
+            return dispatchCount;
+        }
+
+        /**
+         * Number of dispatches that were collapsed into an already pending job.
+         *
+         * @return The coalesced count.
+         */
+        public int getCoalescedCount() {
+            return coalescedCount;
+        }
+
+        /**
+         * Number of times the job ran.
+         *
+         * @return The run count.
+         */
+        public int getRunCount() {
+            return runCount;
+        }
+
+        /**
+         * Average time between dispatch and the job starting.
+         *
+         * @return The average queue time in milliseconds.
+         */
+        public long getAverageQueueTimeMs() {
+            return runCount == 0 ? 0 : totalQueueTimeMs / runCount;
+        }
+
+        /**
+         * Longest time between dispatch and the job starting.
+         *
+         * @return The max queue time in milliseconds.
+         */
+        public long getMaxQueueTimeMs() {
+            return maxQueueTimeMs;
+        }
+
+        /**
+         * Average time spent performing the job.
+         *
+         * @return The average run time in milliseconds.
+         */
+        public long getAverageRunTimeMs() {
+            return runCount == 0 ? 0 : totalRunTimeMs / runCount;
+        }
+
+        /**
+         * Longest time spent performing the job.
+         *
+         * @return The max run time in milliseconds.
+         */
+        public long getMaxRunTimeMs() {
+            return maxRunTimeMs;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{" +
+                    "dispatchCount=" + dispatchCount +
+                    ", coalescedCount=" + coalescedCount +
+                    ", runCount=" + runCount +
+                    ", averageQueueTimeMs=" + getAverageQueueTimeMs() +
+                    ", maxQueueTimeMs=" + maxQueueTimeMs +
+                    ", averageRunTimeMs=" + getAverageRunTimeMs() +
+                    ", maxRunTimeMs=" + maxRunTimeMs +
+                    '}';
+        }
+    }
+}
@@ -6,6 +6,8 @@ import android.net.Uri;
 import android.support.annotation.IntDef;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
+import android.util.LruCache;
+import android.util.SparseArray;
 
 import com.urbanairship.AirshipConfigOptions;
 import com.urbanairship.Logger;
@@ -14,7 +16,9 @@ import com.urbanairship.util.UAStringUtil;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Locale;
 import java.util.regex.Pattern;
 
@@ -69,9 +73,9 @@ public class Whitelist {
             SCHEME_REGEX, HOST_REGEX, PATH_REGEX, SCHEME_REGEX, HOST_REGEX, SCHEME_REGEX, PATH_REGEX, SCHEME_REGEX, SCHEME_REGEX, PATH_REGEX);
 
     /**
-     * Regular expression characters. Used to escape any regular expression from the path and host.
+     * Max number of recent decisions cached per scope.
      */
-    private static final String REGEX_SPECIAL_CHARACTERS = "\\.[]{}()^$?+|*";
+    private static final int MAX_CACHED_DECISIONS = 64;
 
     /**
      * Compiled pattern to validate url pattern entries.
@@ -96,6 +100,7 @@ public class Whitelist {
     private OnWhitelistCallback whitelistCallback;
 
     private final List<Entry> entries = new ArrayList<>();
+    private volatile CompiledEntries compiledEntries = new CompiledEntries(entries);
     private boolean isOpenUrlWhitelistingEnabled = true;
 
     /**
@@ -173,42 +178,46 @@ public class Whitelist {
         String host = uri.getEncodedAuthority();
         String path = uri.getPath();
 
-        Pattern schemePattern;
+        WildcardPattern schemePattern;
         if (UAStringUtil.isEmpty(scheme) || scheme.equals("*")) {
             schemePattern = null;
         } else {
-            schemePattern = Pattern.compile(escapeRegEx(scheme, false));
+            schemePattern = new WildcardPattern(scheme);
         }
 
-        Pattern hostPattern;
+        String hostSuffix;
+        boolean isSubdomainWildcard;
         if (UAStringUtil.isEmpty(host) || host.equals("*")) {
-            hostPattern = null;
+            hostSuffix = null;
+            isSubdomainWildcard = false;
         } else if (host.startsWith("*.")) {
-            hostPattern = Pattern.compile("(.*\\.)?" + escapeRegEx(host.substring(2), true));
+            hostSuffix = host.substring(2);
+            isSubdomainWildcard = true;
         } else {
-            hostPattern = Pattern.compile(escapeRegEx(host, true));
+            hostSuffix = host;
+            isSubdomainWildcard = false;
         }
 
-        Pattern pathPattern;
+        WildcardPattern pathPattern;
         if (UAStringUtil.isEmpty(path) || path.equals("/*")) {
             pathPattern = null;
         } else {
-            pathPattern = Pattern.compile(escapeRegEx(path, false));
+            pathPattern = new WildcardPattern(path);
         }
 
-        addEntry(new UriPattern(schemePattern, hostPattern, pathPattern), scope);
+        addEntry(new Entry(schemePattern, hostSuffix, isSubdomainWildcard, pathPattern, scope));
         return true;
     }
 
     /**
-     * Adds an entry.
+     * Adds an entry and recompiles the matcher.
      *
-     * @param pattern The pattern.
-     * @param scope The scope.
+     * @param entry The entry.
      */
-    private void addEntry(UriPattern pattern, @Scope int scope) {
+    private void addEntry(@NonNull Entry entry) {
         synchronized (entries) {
-            entries.add(new Entry(pattern, scope));
+            entries.add(entry);
+            compiledEntries = new CompiledEntries(entries);
         }
     }
 
@@ -239,18 +248,7 @@ public class Whitelist {
         if (scope == SCOPE_OPEN_URL && !isOpenUrlWhitelistingEnabled) {
             match = true;
         } else {
-            Uri uri = Uri.parse(url);
-            int matchedScope = 0;
-
-            synchronized (entries) {
-                for (Entry entry : entries) {
-                    if (entry.pattern.matches(uri)) {
-                        matchedScope |= entry.scope;
-                    }
-                }
-            }
-
-            match = ((matchedScope & scope) == scope);
+            match = compiledEntries.isWhitelisted(url, scope);
         }
 
         // if the url is whitelisted, allow the app to reject the whitelisting
@@ -272,34 +270,6 @@ public class Whitelist {
         this.isOpenUrlWhitelistingEnabled = isOpenUrlWhitelistingEnabled;
     }
 
-    /**
-     * Helper method to escape any regular expression.
-     *
-     * @param input The input to escape.
-     * @param escapeWildCards If wild cards '*' should be turned into '.*' or escape
-     * @return The input with any regular expression escaped.
-     */
-    private String escapeRegEx(@NonNull String input, boolean escapeWildCards) {
-
-        StringBuilder escapedInput = new StringBuilder();
-
-        for (char c : input.toCharArray()) {
-            String character = String.valueOf(c);
-
-            if (!escapeWildCards && character.equals("*")) {
-                if (character.equals("*")) {
-                    escapedInput.append(".");
-                }
-            } else if (REGEX_SPECIAL_CHARACTERS.contains(character)) {
-                escapedInput.append("\\");
-            }
-
-            escapedInput.append(character);
-        }
-
-        return escapedInput.toString();
-    }
-
     /**
      * Factory method to create the default whitelist with values from the airship config.
      *
@@ -333,87 +303,172 @@ public class Whitelist {
     }
 
     /**
-     * Helper class that does the actual matching using the scheme and host patterns.
+     * Immutable, compiled form of the whitelist entries.
+     * <p>
+     * Entries are indexed by host, so a URL is only checked against the entries for its host, its
+     * parent domains and entries that accept any host. Recent decisions are cached per scope.
      */
-    private class UriPattern {
-
-        private final Pattern scheme;
-        private final Pattern host;
-        private final Pattern path;
+    private static class CompiledEntries {
+
+        private final List<Entry> anyHostEntries = new ArrayList<>();
+        private final Map<String, List<Entry>> hostEntries = new HashMap<>();
+        private final Map<String, List<Entry>> subdomainEntries = new HashMap<>();
+        private final SparseArray<LruCache<String, Boolean>> decisions = new SparseArray<>();
+
+        CompiledEntries(@NonNull List<Entry> entries) {
+            for (Entry entry : entries) {
+                if (entry.host == null) {
+                    anyHostEntries.add(entry);
+                } else {
+                    add(entry.isSubdomainWildcard ? subdomainEntries : hostEntries, entry.host, entry);
+                }
+            }
 
-        /**
-         * Creates a new UriPattern.
-         *
-         * @param scheme The pattern to use for scheme matching.
-         * @param host The pattern to use for host matching.
-         * @param path THe pattern to use for path matching.
-         */
-        UriPattern(@Nullable Pattern scheme, @Nullable Pattern host, @Nullable Pattern path) {
-            this.scheme = scheme;
-            this.host = host;
-            this.path = path;
+            decisions.put(SCOPE_JAVASCRIPT_INTERFACE, new LruCache<String, Boolean>(MAX_CACHED_DECISIONS));
+            decisions.put(SCOPE_OPEN_URL, new LruCache<String, Boolean>(MAX_CACHED_DECISIONS));
+            decisions.put(SCOPE_ALL, new LruCache<String, Boolean>(MAX_CACHED_DECISIONS));
         }
 
         /**
-         * Checks if a uri matches the pattern.
+         * Checks if a URL matches entries that cover the scope.
          *
-         * @param uri The uri to match.
-         * @return <code>true</code> if the uri matches, otherwise <code>false</code>.
+         * @param url The URL.
+         * @param scope The scope.
+         * @return <code>true</code> if the URL is whitelisted for the scope, otherwise <code>false</code>.
          */
-        boolean matches(@NonNull Uri uri) {
-            if (scheme != null && (uri.getScheme() == null || !scheme.matcher(uri.getScheme()).matches())) {
-                return false;
+        boolean isWhitelisted(@NonNull String url, @Scope int scope) {
+            LruCache<String, Boolean> cache = decisions.get(scope);
+            if (cache != null) {
+                Boolean cached = cache.get(url);
+                if (cached != null) {
+                    return cached;
+                }
             }
 
-            if (host != null && (uri.getHost() == null || !host.matcher(uri.getHost()).matches())) {
-                return false;
+            boolean match = (matchedScope(Uri.parse(url)) & scope) == scope;
+            if (cache != null) {
+                cache.put(url, match);
             }
 
-            if (path != null && (uri.getPath() == null || !path.matcher(uri.getPath()).matches())) {
-                return false;
+            return match;
+        }
+
+        private int matchedScope(@NonNull Uri uri) {
+            int matchedScope = matchedScope(anyHostEntries, uri);
+
+            String host = uri.getHost();
+            if (host == null) {
+                return matchedScope;
             }
 
-            return true;
+            matchedScope |= matchedScope(hostEntries.get(host), uri);
+
+            // Subdomain wildcards match the domain itself and any of its subdomains
+            String domain = host;
+            while (true) {
+                matchedScope |= matchedScope(subdomainEntries.get(domain), uri);
+
+                int index = domain.indexOf('.');
+                if (index < 0) {
+                    break;
+                }
+                domain = domain.substring(index + 1);
+            }
+
+            return matchedScope;
         }
 
+        private static int matchedScope(@Nullable List<Entry> entries, @NonNull Uri uri) {
+            int matchedScope = 0;
+            if (entries != null) {
+                for (Entry entry : entries) {
+                    if (entry.matches(uri)) {
+                        matchedScope |= entry.scope;
+                    }
+                }
+            }
+            return matchedScope;
+        }
 
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) {
-                return true;
+        private static void add(@NonNull Map<String, List<Entry>> map, @NonNull String host, @NonNull Entry entry) {
+            List<Entry> entries = map.get(host);
+            if (entries == null) {
+                entries = new ArrayList<>();
+                map.put(host, entries);
             }
-            if (o == null || getClass() != o.getClass()) {
-                return false;
+            entries.add(entry);
+        }
+    }
+
+    /**
+     * Matches a string where '*' matches 0 or more characters and every other character is a literal.
+     */
+    private static class WildcardPattern {
+
+        private final String[] parts;
+
+        WildcardPattern(@NonNull String pattern) {
+            this.parts = pattern.split("\\*", -1);
+        }
+
+        boolean matches(@NonNull String value) {
+            if (parts.length == 1) {
+                return value.equals(parts[0]);
             }
 
-            UriPattern that = (UriPattern) o;
+            String first = parts[0];
+            String last = parts[parts.length - 1];
+            int end = value.length() - last.length();
 
-            if (scheme != null ? !scheme.equals(that.scheme) : that.scheme != null) {
+            if (end < first.length() || !value.startsWith(first) || !value.endsWith(last)) {
                 return false;
             }
-            if (host != null ? !host.equals(that.host) : that.host != null) {
-                return false;
+
+            // Match the parts between wild cards in order, as early as possible
+            int start = first.length();
+            for (int i = 1; i < parts.length - 1; i++) {
+                int index = value.indexOf(parts[i], start);
+                if (index < 0 || index + parts[i].length() > end) {
+                    return false;
+                }
+                start = index + parts[i].length();
             }
-            return path != null ? path.equals(that.path) : that.path == null;
-        }
 
-        @Override
-        public int hashCode() {
-            int result = scheme != null ? scheme.hashCode() : 0;
-            result = 31 * result + (host != null ? host.hashCode() : 0);
-            result = 31 * result + (path != null ? path.hashCode() : 0);
-            return result;
+            return true;
         }
     }
 
     private static class Entry {
+        private final WildcardPattern scheme;
+        private final String host;
+        private final boolean isSubdomainWildcard;
+        private final WildcardPattern path;
         private final int scope;
-        private final UriPattern pattern;
 
-
-        private Entry(UriPattern pattern, @Scope int scope) {
+        private Entry(@Nullable WildcardPattern scheme, @Nullable String host, boolean isSubdomainWildcard, @Nullable WildcardPattern path, @Scope int scope) {
+            this.scheme = scheme;
+            this.host = host;
+            this.isSubdomainWildcard = isSubdomainWildcard;
+            this.path = path;
             this.scope = scope;
-            this.pattern = pattern;
+        }
+
+        /**
+         * Checks if a uri matches the scheme and path. The host is matched by the index.
+         *
+         * @param uri The uri to match.
+         * @return <code>true</code> if the uri matches, otherwise <code>false</code>.
+         */
+        boolean matches(@NonNull Uri uri) {
+            if (scheme != null && (uri.getScheme() == null || !scheme.matches(uri.getScheme()))) {
+                return false;
+            }
+
+            if (path != null && (uri.getPath() == null || !path.matches(uri.getPath()))) {
+                return false;
+            }
+
+            return true;
         }
     }
 }
@@ -0,0 +1,370 @@
+/* Copyright 2018 Urban Airship and Contributors */
+
+package com.urbanairship.json;
+
+import android.os.Parcel;
+import android.support.annotation.NonNull;
+import android.support.annotation.RestrictTo;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tagged binary encoding for JsonValues.
+ * <p>
+ * The encoding starts with a version, followed by the value. Each value is a type tag followed by
+ * its payload. Maps and lists are prefixed with their size. Numbers keep their exact type, unlike
+ * a round trip through a JSON string.
+ *
+ * @hide
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+public class JsonBinaryFormat {
+
+    /**
+     * Current version of the encoding.
+     */
+    static final int VERSION = 1;
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_TRUE = 2;
+    private static final byte TYPE_FALSE = 3;
+    private static final byte TYPE_INTEGER = 4;
+    private static final byte TYPE_LONG = 5;
+    private static final byte TYPE_DOUBLE = 6;
+    private static final byte TYPE_LIST = 7;
+    private static final byte TYPE_MAP = 8;
+
+    /**
+     * Writes a JsonValue to a parcel.
+     *
+     * @param value The value.
+     * @param parcel The parcel.
+     */
+    public static void write(@NonNull JsonValue value, @NonNull final Parcel parcel) {
+        Output output = new Output() {
+            @Override
+            public void writeByte(byte value) {
+                parcel.writeByte(value);
+            }
+
+            @Override
+            public void writeInt(int value) {
+                parcel.writeInt(value);
+            }
+
+            @Override
+            public void writeLong(long value) {
+                parcel.writeLong(value);
+            }
+
+            @Override
+            public void writeDouble(double value) {
+                parcel.writeDouble(value);
+            }
+
+            @Override
+            public void writeString(@NonNull String value) {
+                parcel.writeString(value);
+            }
+        };
+
+        try {
+            output.writeInt(VERSION);
+            writeValue(value, output);
+        } catch (IOException e) {
+            // Parcel writes do not throw
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Reads a JsonValue from a parcel.
+     *
+     * @param parcel The parcel.
+     * @return The JsonValue.
+     * @throws JsonException If the parcel does not contain a supported encoding.
+     */
+    @NonNull
+    public static JsonValue read(@NonNull final Parcel parcel) throws JsonException {
+        Input input = new Input() {
+            @Override
+            public byte readByte() {
+                return parcel.readByte();
+            }
+
+            @Override
+            public int readInt() {
+                return parcel.readInt();
+            }
+
+            @Override
+            public long readLong() {
+                return parcel.readLong();
+            }
+
+            @Override
+            public double readDouble() {
+                return parcel.readDouble();
+            }
+
+            @Override
+            public String readString() {
+                return parcel.readString();
+            }
+        };
+
+        try {
+            return readVersioned(input);
+        } catch (IOException e) {
+            throw new JsonException("Unable to read JsonValue from parcel.", e);
+        }
+    }
+
+    /**
+     * Encodes a JsonValue to bytes, for storing values outside of a parcel.
+     *
+     * @param value The value.
+     * @return The encoded bytes.
+     */
+    @NonNull
+    public static byte[] toBytes(@NonNull JsonValue value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutput out = new DataOutputStream(bytes);
+
+        Output output = new Output() {
+            @Override
+            public void writeByte(byte value) throws IOException {
+                out.writeByte(value);
+            }
+
+            @Override
+            public void writeInt(int value) throws IOException {
+                out.writeInt(value);
+            }
+
+            @Override
+            public void writeLong(long value) throws IOException {
+                out.writeLong(value);
+            }
+
+            @Override
+            public void writeDouble(double value) throws IOException {
+                out.writeDouble(value);
+            }
+
+            @Override
+            public void writeString(@NonNull String value) throws IOException {
+                // writeUTF is limited to 64k
+                byte[] utf8 = value.getBytes("UTF-8");
+                out.writeInt(utf8.length);
+                out.write(utf8);
+            }
+        };
+
+        try {
+            output.writeInt(VERSION);
+            writeValue(value, output);
+        } catch (IOException e) {
+            // Writing to memory does not throw
+            throw new IllegalStateException(e);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a JsonValue from bytes created with {@link #toBytes(JsonValue)}.
+     *
+     * @param bytes The encoded bytes.
+     * @return The JsonValue.
+     * @throws JsonException If the bytes are truncated or not a supported encoding.
+     */
+    @NonNull
+    public static JsonValue fromBytes(@NonNull byte[] bytes) throws JsonException {
+        final DataInput in = new DataInputStream(new ByteArrayInputStream(bytes));
+
+        Input input = new Input() {
+            @Override
+            public byte readByte() throws IOException {
+                return in.readByte();
+            }
+
+            @Override
+            public int readInt() throws IOException {
+                return in.readInt();
+            }
+
+            @Override
+            public long readLong() throws IOException {
+                return in.readLong();
+            }
+
+            @Override
+            public double readDouble() throws IOException {
+                return in.readDouble();
+            }
+
+            @Override
+            public String readString() throws IOException {
+                int length = in.readInt();
+                if (length < 0) {
+                    throw new IOException("Invalid string length: " + length);
+                }
+
+                byte[] utf8 = new byte[length];
+                in.readFully(utf8);
+                return new String(utf8, "UTF-8");
+            }
+        };
+
+        try {
+            return readVersioned(input);
+        } catch (IOException e) {
+            throw new JsonException("Unable to decode JsonValue.", e);
+        }
+    }
+
+    private static void writeValue(@NonNull JsonValue jsonValue, @NonNull Output output) throws IOException {
+        Object value = jsonValue.getValue();
+
+        if (value == null) {
+            output.writeByte(TYPE_NULL);
+        } else if (value instanceof String) {
+            output.writeByte(TYPE_STRING);
+            output.writeString((String) value);
+        } else if (value instanceof Boolean) {
+            output.writeByte((Boolean) value ? TYPE_TRUE : TYPE_FALSE);
+        } else if (value instanceof Integer) {
+            output.writeByte(TYPE_INTEGER);
+            output.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            output.writeByte(TYPE_LONG);
+            output.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            output.writeByte(TYPE_DOUBLE);
+            output.writeDouble((Double) value);
+        } else if (value instanceof JsonList) {
+            JsonList list = (JsonList) value;
+            output.writeByte(TYPE_LIST);
+            output.writeInt(list.size());
+            for (JsonValue item : list) {
+                writeValue(item, output);
+            }
+        } else if (value instanceof JsonMap) {
+            JsonMap map = (JsonMap) value;
+            output.writeByte(TYPE_MAP);
+            output.writeInt(map.size());
+            for (Map.Entry<String, JsonValue> entry : map) {
+                output.writeString(entry.getKey());
+                writeValue(entry.getValue(), output);
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported JsonValue: " + value.getClass());
+        }
+    }
+
+    @NonNull
+    private static JsonValue readVersioned(@NonNull Input input) throws IOException, JsonException {
+        int version = input.readInt();
+        if (version != VERSION) {
+            throw new JsonException("Unsupported encoding version: " + version);
+        }
+
+        return readValue(input);
+    }
+
+    @NonNull
+    private static JsonValue readValue(@NonNull Input input) throws IOException, JsonException {
+        byte type = input.readByte();
+        switch (type) {
+            case TYPE_NULL:
+                return JsonValue.NULL;
+
+            case TYPE_STRING:
+                return JsonValue.wrap(input.readString());
+
+            case TYPE_TRUE:
+                return JsonValue.wrap(true);
+
+            case TYPE_FALSE:
+                return JsonValue.wrap(false);
+
+            case TYPE_INTEGER:
+                return JsonValue.wrap(input.readInt());
+
+            case TYPE_LONG:
+                return JsonValue.wrap(input.readLong());
+
+            case TYPE_DOUBLE:
+                return JsonValue.wrap(input.readDouble());
+
+            case TYPE_LIST:
+                int listSize = readSize(input);
+                List<JsonValue> list = new ArrayList<>(listSize);
+                for (int i = 0; i < listSize; i++) {
+                    list.add(readValue(input));
+                }
+                return JsonList.wrapOwned(list).toJsonValue();
+
+            case TYPE_MAP:
+                int mapSize = readSize(input);
+                Map<String, JsonValue> map = new HashMap<>();
+                for (int i = 0; i < mapSize; i++) {
+                    String key = input.readString();
+                    if (key == null) {
+                        throw new JsonException("Invalid map key.");
+                    }
+                    map.put(key, readValue(input));
+                }
+                return JsonMap.wrapOwned(map).toJsonValue();
+
+            default:
+                throw new JsonException("Invalid type: " + type);
+        }
+    }
+
+    private static int readSize(@NonNull Input input) throws IOException, JsonException {
+        int size = input.readInt();
+        if (size < 0) {
+            throw new JsonException("Invalid size: " + size);
+        }
+        return size;
+    }
+
+    private interface Output {
+
+        void writeByte(byte value) throws IOException;
+
+        void writeInt(int value) throws IOException;
+
+        void writeLong(long value) throws IOException;
+
+        void writeDouble(double value) throws IOException;
+
+        void writeString(@NonNull String value) throws IOException;
+    }
+
+    private interface Input {
+
+        byte readByte() throws IOException;
+
+        int readInt() throws IOException;
+
+        long readLong() throws IOException;
+
+        double readDouble() throws IOException;
+
+        String readString() throws IOException;
+    }
+}
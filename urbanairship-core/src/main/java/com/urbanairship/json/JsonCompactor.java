@@ -0,0 +1,266 @@
+/* Copyright 2018 Urban Airship and Contributors */
+
+package com.urbanairship.json;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.RestrictTo;
+
+import java.lang.ref.WeakReference;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Compacts JsonValues that are kept in memory for a long time.
+ * <p>
+ * A compacted value is equal to the original, but map keys are interned and maps are stored as
+ * sorted parallel arrays instead of hash maps. Small flat subtrees, like extras or icon lists,
+ * are shared between every value compacted in the process. Payloads are mostly unique values
+ * (message IDs, URLs, timestamps), so plain values and larger subtrees are not pooled, a pool entry
+ * would cost more than it saves. The pools only hold weak references, so shared values are
+ * released once nothing else references them.
+ *
+ * @hide
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+public class JsonCompactor {
+
+    /**
+     * Max number of entries in a pooled subtree.
+     */
+    private static final int MAX_POOLED_SIZE = 8;
+
+    /**
+     * Max length of a string in a pooled subtree.
+     */
+    private static final int MAX_POOLED_STRING_LENGTH = 64;
+
+    private static final Map<String, WeakReference<String>> keys = new WeakHashMap<>();
+    private static final Map<JsonValue, WeakReference<JsonValue>> values = new WeakHashMap<>();
+
+    /**
+     * Compacts a JsonValue.
+     *
+     * @param value The value.
+     * @return A compacted value equal to the original.
+     */
+    @NonNull
+    public static JsonValue compact(@NonNull JsonValue value) {
+        if (value.isJsonMap()) {
+            JsonMap map = value.optMap();
+            if (map.isEmpty()) {
+                return JsonMap.EMPTY_MAP.toJsonValue();
+            }
+
+            String[] keys = new String[map.size()];
+            JsonValue[] mapValues = new JsonValue[keys.length];
+
+            int i = 0;
+            for (String key : map.keySet()) {
+                keys[i++] = key;
+            }
+            Arrays.sort(keys);
+
+            boolean isPoolable = keys.length <= MAX_POOLED_SIZE;
+            for (i = 0; i < keys.length; i++) {
+                mapValues[i] = compact(map.opt(keys[i]));
+                keys[i] = intern(keys[i]);
+                isPoolable = isPoolable && isPoolableLeaf(mapValues[i]);
+            }
+
+            JsonValue compacted = JsonMap.wrapOwned(new ArrayMap(keys, mapValues)).toJsonValue();
+            return isPoolable ? canonical(compacted) : compacted;
+        }
+
+        if (value.isJsonList()) {
+            JsonList list = value.optList();
+            if (list.isEmpty()) {
+                return JsonList.EMPTY_LIST.toJsonValue();
+            }
+
+            boolean isPoolable = items.length <= MAX_POOLED_SIZE;
+            for (int i = 0; i < items.length; i++) {
+                items[i] = compact(list.get(i));
+                isPoolable = isPoolable && isPoolableLeaf(items[i]);
+            }
+
+            JsonValue compacted = JsonList.wrapOwned(Arrays.asList(items)).toJsonValue();
+            return isPoolable ? canonical(compacted) : compacted;
+        }
+
+        return value.isNull() ? JsonValue.NULL : value;
+    }
+
+    /**
+     * Checks if a value can be part of a pooled subtree. Only flat subtrees of short values are
+     * pooled, so looking them up in the pool stays cheap.
+     *
+     * @param value The value.
+     * @return {@code true} if the value can be pooled, otherwise {@code false}.
+     */
+    private static boolean isPoolableLeaf(@NonNull JsonValue value) {
+        if (value.isJsonMap() || value.isJsonList()) {
+            return false;
+        }
+
+        return !value.isString() || value.getString().length() <= MAX_POOLED_STRING_LENGTH;
+    }
+
+    @NonNull
+    private static String intern(@NonNull String key) {
+        synchronized (keys) {
+            WeakReference<String> reference = keys.get(key);
+            String interned = reference == null ? null : reference.get();
+            if (interned == null) {
+                keys.put(key, new WeakReference<>(key));
+                return key;
+            }
+
+            return interned;
+        }
+    }
+
+    @NonNull
+    private static JsonValue canonical(@NonNull JsonValue value) {
+        synchronized (values) {
+            WeakReference<JsonValue> reference = values.get(value);
+            JsonValue canonical = reference == null ? null : reference.get();
+
+            // JsonValue equality treats numbers of different types as equal, keep the exact types
+            if (canonical == null || !hasSameTypes(canonical, value)) {
+                values.put(value, new WeakReference<>(value));
+                return value;
+            }
+
+            return canonical;
+        }
+    }
+
+    /**
+     * Checks if two equal flat subtrees hold the same value types.
+     *
+     * @param first The first value.
+     * @param second The second value.
+     * @return {@code true} if the types match, otherwise {@code false}.
+     */
+    private static boolean hasSameTypes(@NonNull JsonValue first, @NonNull JsonValue second) {
+        if (first.isJsonMap()) {
+            for (Map.Entry<String, JsonValue> entry : first.optMap()) {
+                if (!isSameType(entry.getValue(), second.optMap().opt(entry.getKey()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        JsonList firstList = first.optList();
+        JsonList secondList = second.optList();
+        for (int i = 0; i < firstList.size(); i++) {
+            if (!isSameType(firstList.get(i), secondList.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSameType(@NonNull JsonValue first, @NonNull JsonValue second) {
+        Object firstValue = first.getValue();
+        Object secondValue = second.getValue();
+        return firstValue == null ? secondValue == null : secondValue != null && firstValue.getClass() == secondValue.getClass();
+    }
+
+    /**
+     * Immutable map stored as sorted parallel arrays of keys and values.
+     */
+    private static class ArrayMap extends AbstractMap<String, JsonValue> {
+
+        private final String[] keys;
+        private final JsonValue[] values;
+        private final int hashCode;
+
+        ArrayMap(@NonNull String[] keys, @NonNull JsonValue[] values) {
+            this.keys = keys;
+            this.values = values;
+
+            int hash = 0;
+            for (int i = 0; i < keys.length; i++) {
+                hash += keys[i].hashCode() ^ values[i].hashCode();
+            }
+            this.hashCode = hash;
+        }
+
+        @Override
+        public int size() {
+            return keys.length;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return indexOf(key) >= 0;
+        }
+
+        @Override
+        public JsonValue get(Object key) {
+            int index = indexOf(key);
+            return index >= 0 ? values[index] : null;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @NonNull
+        @Override
+        public Set<Entry<String, JsonValue>> entrySet() {
+            return new AbstractSet<Entry<String, JsonValue>>() {
+                @NonNull
+                @Override
+                public Iterator<Entry<String, JsonValue>> iterator() {
+                    return new Iterator<Entry<String, JsonValue>>() {
+                        private int index = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < keys.length;
+                        }
+
+                        @Override
+                        public Entry<String, JsonValue> next() {
+                            if (index >= keys.length) {
+                                throw new NoSuchElementException();
+                            }
+
+                            Entry<String, JsonValue> entry = new SimpleImmutableEntry<>(keys[index], values[index]);
+                            index++;
+                            return entry;
+                        }
+
+                        @Override
+                        public void remove() {
+                            throw new UnsupportedOperationException();
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return keys.length;
+                }
+            };
+        }
+
+        private int indexOf(Object key) {
+            if (!(key instanceof String)) {
+                return -1;
+            }
+
+            return Arrays.binarySearch(keys, key);
+        }
+    }
+}
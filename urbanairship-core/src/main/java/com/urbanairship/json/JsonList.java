@@ -2,6 +2,7 @@
 
 package com.urbanairship.json;
 
+import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
 import com.urbanairship.Logger;
@@ -34,6 +35,27 @@ public class JsonList implements Iterable<JsonValue>, JsonSerializable {
         this.list = list == null ? new ArrayList<JsonValue>() : new ArrayList<>(list);
     }
 
+    /**
+     * Creates a JsonList that takes ownership of a list instead of copying it.
+     *
+     * @param list A list of JsonValues. The list must not be modified afterwards.
+     * @param owned Marker to distinguish from the copying constructor.
+     */
+    private JsonList(@NonNull List<JsonValue> list, boolean owned) {
+        this.list = list;
+    }
+
+    /**
+     * Creates a JsonList that takes ownership of a list instead of copying it.
+     *
+     * @param list A list of JsonValues. The list must not be modified afterwards.
+     * @return The JsonList.
+     */
+    @NonNull
+    static JsonList wrapOwned(@NonNull List<JsonValue> list) {
+        return new JsonList(list, true);
+    }
+
     /**
      * Tests whether this {@code List} contains the specified JSON value.
      *
@@ -35,6 +35,27 @@ public class JsonMap implements Iterable<Map.Entry<String, JsonValue>>, JsonSeri
         this.map = map == null ? new HashMap<String, JsonValue>() : new HashMap<>(map);
     }
 
+    /**
+     * Creates a JsonMap that takes ownership of a map instead of copying it.
+     *
+     * @param map A map of strings to JsonValues. The map must not be modified afterwards.
+     * @param owned Marker to distinguish from the copying constructor.
+     */
+    private JsonMap(@NonNull Map<String, JsonValue> map, boolean owned) {
+        this.map = map;
+    }
+
+    /**
+     * Creates a JsonMap that takes ownership of a map instead of copying it.
+     *
+     * @param map A map of strings to JsonValues. The map must not be modified afterwards.
+     * @return The JsonMap.
+     */
+    @NonNull
+    static JsonMap wrapOwned(@NonNull Map<String, JsonValue> map) {
+        return new JsonMap(map, true);
+    }
+
     /**
      * Factory method to create a new JSON map builder.
      *
@@ -223,6 +244,9 @@ public class JsonMap implements Iterable<Map.Entry<String, JsonValue>>, JsonSeri
     public static class Builder {
         private Map<String, JsonValue> map = new HashMap<>();
 
+        // Whether the map is shared with a JsonMap and has to be copied before it is modified
+        private boolean shared;
+
         private Builder() {}
 
         /**
@@ -232,6 +256,13 @@ public class JsonMap implements Iterable<Map.Entry<String, JsonValue>>, JsonSeri
          * @return The JSON map builder.
          */
         public Builder putAll(@NonNull JsonMap map) {
+            if (this.map.isEmpty() && !containsNullValues(map)) {
+                // Share the map until the builder is modified
+                this.map = map.map;
+                shared = true;
+                return this;
+            }
+
             for (Map.Entry<String, JsonValue> entry : map.entrySet()) {
                 put(entry.getKey(), entry.getValue());
             }
@@ -239,6 +270,22 @@ public class JsonMap implements Iterable<Map.Entry<String, JsonValue>>, JsonSeri
             return this;
         }
 
+        /**
+         * Checks if a map has null values, which {@link #put(String, JsonSerializable)} drops.
+         *
+         * @param map The map.
+         * @return {@code true} if the map has null values, otherwise {@code false}.
+         */
+        private static boolean containsNullValues(@NonNull JsonMap map) {
+            for (JsonValue value : map.map.values()) {
+                if (value == null || value.isNull()) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
         /**
          * Add a key and value to the JSON map.
          *
@@ -248,9 +295,9 @@ public class JsonMap implements Iterable<Map.Entry<String, JsonValue>>, JsonSeri
          */
         public Builder put(@NonNull String key, JsonSerializable value) {
             if (value == null || value.toJsonValue().isNull()) {
-                map.remove(key);
+                remove(key);
             } else {
-                map.put(key, value.toJsonValue());
+                mutableMap().put(key, value.toJsonValue());
             }
 
             return this;
@@ -280,7 +327,7 @@ public class JsonMap implements Iterable<Map.Entry<String, JsonValue>>, JsonSeri
             if (value != null) {
                 put(key, JsonValue.wrap(value));
             } else {
-                map.remove(key);
+                remove(key);
             }
 
             return this;
@@ -347,7 +394,24 @@ public class JsonMap implements Iterable<Map.Entry<String, JsonValue>>, JsonSeri
          * @return The created JSON map.
          */
         public JsonMap build() {
-            return new JsonMap(map);
+            shared = true;
+            return new JsonMap(map, true);
+        }
+
+        private void remove(@NonNull String key) {
+            if (map.containsKey(key)) {
+                mutableMap().remove(key);
+            }
+        }
+
+        @NonNull
+        private Map<String, JsonValue> mutableMap() {
+            if (shared) {
+                map = new HashMap<>(map);
+                shared = false;
+            }
+
+            return map;
         }
     }
 }
@@ -6,6 +6,7 @@ import android.os.Parcel;
 import android.os.Parcelable;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
+import android.support.annotation.RestrictTo;
 
 import com.urbanairship.Logger;
 import com.urbanairship.util.UAStringUtil;
@@ -404,8 +405,10 @@ public class JsonValue implements Parcelable, JsonSerializable {
      *
      * @param stringer The JSONStringer object.
      * @throws JSONException If the value is unable to be written as JSON.
+     * @hide
      */
-    void write(JSONStringer stringer) throws JSONException {
+    @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+    public void write(@NonNull JSONStringer stringer) throws JSONException {
         if (isNull()) {
             stringer.value(null);
             return;
@@ -644,7 +647,7 @@ public class JsonValue implements Parcelable, JsonSerializable {
 
         }
 
-        return new JsonValue(new JsonList(list));
+        return new JsonValue(JsonList.wrapOwned(list));
     }
 
     /**
@@ -664,7 +667,7 @@ public class JsonValue implements Parcelable, JsonSerializable {
             }
         }
 
-        return new JsonValue(new JsonList(list));
+        return new JsonValue(JsonList.wrapOwned(list));
     }
 
     /**
@@ -688,7 +691,7 @@ public class JsonValue implements Parcelable, JsonSerializable {
             }
         }
 
-        return new JsonValue(new JsonMap(jsonValueMap));
+        return new JsonValue(JsonMap.wrapOwned(jsonValueMap));
     }
 
     /**
@@ -709,7 +712,7 @@ public class JsonValue implements Parcelable, JsonSerializable {
         }
 
         // Return a JsonValue that contains a JsonList
-        return new JsonValue(new JsonList(list));
+        return new JsonValue(JsonList.wrapOwned(list));
     }
 
     /**
@@ -733,7 +736,7 @@ public class JsonValue implements Parcelable, JsonSerializable {
         }
 
         // Return a JsonValue that contains a JsonMap
-        return new JsonValue(new JsonMap(jsonValueMap));
+        return new JsonValue(JsonMap.wrapOwned(jsonValueMap));
     }
 
     @Override
@@ -743,7 +746,7 @@ public class JsonValue implements Parcelable, JsonSerializable {
 
     @Override
     public void writeToParcel(Parcel dest, int flags) {
-        dest.writeString(this.toString());
+        JsonBinaryFormat.write(this, dest);
     }
 
     /**
@@ -754,7 +757,7 @@ public class JsonValue implements Parcelable, JsonSerializable {
         @Override
         public JsonValue createFromParcel(Parcel in) {
             try {
-                return JsonValue.parseString(in.readString());
+                return JsonBinaryFormat.read(in);
             } catch (JsonException e) {
                 Logger.error("JsonValue - Unable to create JsonValue from parcel.", e);
                 return null;
@@ -0,0 +1,211 @@
+/* Copyright 2018 Urban Airship and Contributors */
+
+package com.urbanairship.location;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Spatial index over circular regions.
+ * <p>
+ * The index is a hierarchy of fixed latitude/longitude grids. Each region is stored in the finest
+ * grid whose cells are at least as large as the region's bounding box, so it lands in at most four
+ * cells. Looking up a point only checks the one cell containing it on each grid level, no matter
+ * how many regions are indexed. Results are candidates whose bounding box cell contains the point;
+ * callers still check the exact distance.
+ */
+class RegionIndex {
+
+    /**
+     * Mean earth radius in meters.
+     */
+    static final double EARTH_RADIUS_METERS = 6371008.8;
+
+    private static final double METERS_PER_DEGREE = Math.PI * EARTH_RADIUS_METERS / 180;
+
+    // Grid cell sizes in degrees, finest first
+    private static final double[] CELL_SIZES = new double[] { 0.01, 0.1, 1, 10, 360 };
+
+    private final Map<Long, Set<String>> cells = new HashMap<>();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final int[] levelCounts = new int[CELL_SIZES.length];
+
+    /**
+     * Adds or replaces a region.
+     *
+     * @param regionId The region ID.
+     * @param region The region.
+     */
+    void put(@NonNull String regionId, @NonNull CircularRegion region) {
+        remove(regionId);
+
+        double latitudeDelta = region.getRadius() / METERS_PER_DEGREE;
+        double longitudeDelta = Math.min(180, latitudeDelta / Math.max(Math.cos(Math.toRadians(region.getLatitude())), 0.01));
+        double span = 2 * Math.max(latitudeDelta, longitudeDelta);
+
+        int level = CELL_SIZES.length - 1;
+        for (int i = 0; i < CELL_SIZES.length; i++) {
+            if (CELL_SIZES[i] >= span) {
+                level = i;
+                break;
+            }
+        }
+
+        double size = CELL_SIZES[level];
+        int longitudeCells = (int) Math.ceil(360 / size);
+
+        int minLat = latitudeIndex(region.getLatitude() - latitudeDelta, size);
+        int maxLat = latitudeIndex(region.getLatitude() + latitudeDelta, size);
+        int minLon = (int) Math.floor((region.getLongitude() - longitudeDelta + 180) / size);
+        int maxLon = (int) Math.floor((region.getLongitude() + longitudeDelta + 180) / size);
+        if (maxLon - minLon + 1 > longitudeCells) {
+            maxLon = minLon + longitudeCells - 1;
+        }
+
+        List<Long> keys = new ArrayList<>();
+        for (int lat = minLat; lat <= maxLat; lat++) {
+            for (int lon = minLon; lon <= maxLon; lon++) {
+                long key = key(level, lat, ((lon % longitudeCells) + longitudeCells) % longitudeCells);
+                keys.add(key);
+
+                Set<String> ids = cells.get(key);
+                if (ids == null) {
+                    ids = new HashSet<>();
+                    cells.put(key, ids);
+                }
+                ids.add(regionId);
+            }
+        }
+
+        entries.put(regionId, new Entry(region, level, keys));
+        levelCounts[level]++;
+    }
+
+    /**
+     * Removes a region.
+     *
+     * @param regionId The region ID.
+     * @return The removed region, or {@code null} if the region was not indexed.
+     */
+    @Nullable
+    CircularRegion remove(@NonNull String regionId) {
+        Entry entry = entries.remove(regionId);
+        if (entry == null) {
+            return null;
+        }
+
+        for (Long key : entry.keys) {
+            Set<String> ids = cells.get(key);
+            if (ids != null) {
+                ids.remove(regionId);
+                if (ids.isEmpty()) {
+                    cells.remove(key);
+                }
+            }
+        }
+
+        levelCounts[entry.level]--;
+        return entry.region;
+    }
+
+    /**
+     * Gets an indexed region.
+     *
+     * @param regionId The region ID.
+     * @return The region, or {@code null} if the region is not indexed.
+     */
+    @Nullable
+    CircularRegion get(@NonNull String regionId) {
+        Entry entry = entries.get(regionId);
+        return entry == null ? null : entry.region;
+    }
+
+    /**
+     * Checks if the index is empty.
+     *
+     * @return {@code true} if no regions are indexed, otherwise {@code false}.
+     */
+    boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * Gets the IDs of the regions that might contain a point.
+     *
+     * @param latitude The latitude in degrees.
+     * @param longitude The longitude in degrees.
+     * @return The candidate region IDs.
+     */
+    @NonNull
+    Set<String> query(double latitude, double longitude) {
+        Set<String> result = new HashSet<>();
+
+        for (int level = 0; level < CELL_SIZES.length; level++) {
+            if (levelCounts[level] == 0) {
+                continue;
+            }
+
+            double size = CELL_SIZES[level];
+            int longitudeCells = (int) Math.ceil(360 / size);
+            int lon = (int) Math.floor((longitude + 180) / size);
+
+            Set<String> ids = cells.get(key(level, latitudeIndex(latitude, size), ((lon % longitudeCells) + longitudeCells) % longitudeCells));
+            if (ids != null) {
+                result.addAll(ids);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Gets the great circle distance between two points.
+     *
+     * @param latitude1 The first latitude in degrees.
+     * @param longitude1 The first longitude in degrees.
+     * @param latitude2 The second latitude in degrees.
+     * @param longitude2 The second longitude in degrees.
+     * @return The distance in meters.
+     */
+    static double distance(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double lat1 = Math.toRadians(latitude1);
+        double lat2 = Math.toRadians(latitude2);
+        double deltaLat = lat2 - lat1;
+        double deltaLon = Math.toRadians(longitude2 - longitude1);
+
+        double a = Math.sin(deltaLat / 2) * Math.sin(deltaLat / 2)
+                + Math.cos(lat1) * Math.cos(lat2) * Math.sin(deltaLon / 2) * Math.sin(deltaLon / 2);
+
+        return 2 * EARTH_RADIUS_METERS * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    private static int latitudeIndex(double latitude, double size) {
+        double clamped = Math.max(RegionEvent.MIN_LATITUDE, Math.min(RegionEvent.MAX_LATITUDE, latitude));
+        int maxIndex = (int) Math.ceil(180 / size) - 1;
+        return Math.min(maxIndex, (int) Math.floor((clamped + 90) / size));
+    }
+
+    private static long key(int level, int latitudeIndex, int longitudeIndex) {
+        return ((long) level << 56) | ((long) latitudeIndex << 28) | longitudeIndex;
+    }
+
+    private static class Entry {
+
+        final CircularRegion region;
+        final int level;
+        final List<Long> keys;
+
+        Entry(@NonNull CircularRegion region, int level, @NonNull List<Long> keys) {
+            this.region = region;
+            this.level = level;
+            this.keys = keys;
+        }
+    }
+}
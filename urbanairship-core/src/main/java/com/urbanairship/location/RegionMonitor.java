@@ -0,0 +1,167 @@
+/* Copyright 2018 Urban Airship and Contributors */
+
+package com.urbanairship.location;
+
+import android.location.Location;
+import android.support.annotation.NonNull;
+
+import com.urbanairship.PreferenceDataStore;
+import com.urbanairship.json.JsonValue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Generates region enter and exit events from location updates.
+ * <p>
+ * A region is entered when a location is within its radius. It is only exited once a location is
+ * farther than the radius plus a hysteresis margin, so a location jittering around the edge does
+ * not produce a stream of enter and exit events. The set of entered regions is persisted so
+ * restarting the app does not enter them again.
+ */
+class RegionMonitor {
+
+    /**
+     * Source used for the generated region events.
+     */
+    static final String SOURCE = "urbanairship";
+
+    /**
+     * Default minimum exit margin in meters.
+     */
+    static final double DEFAULT_HYSTERESIS_METERS = 50;
+
+    private static final String INSIDE_REGIONS_KEY = "com.urbanairship.location.INSIDE_REGIONS";
+
+    private final PreferenceDataStore dataStore;
+    private final double hysteresisMeters;
+    private final RegionIndex index = new RegionIndex();
+    private Set<String> insideRegions;
+
+    /**
+     * Default constructor.
+     *
+     * @param dataStore The preference data store.
+     * @param hysteresisMeters The minimum distance past a region's radius before it is exited.
+     */
+    RegionMonitor(@NonNull PreferenceDataStore dataStore, double hysteresisMeters) {
+        this.dataStore = dataStore;
+        this.hysteresisMeters = hysteresisMeters;
+    }
+
+    /**
+     * Adds or replaces a region.
+     *
+     * @param regionId The region ID.
+     * @param region The region.
+     */
+    synchronized void addRegion(@NonNull String regionId, @NonNull CircularRegion region) {
+        index.put(regionId, region);
+    }
+
+    /**
+     * Removes a region. No exit event is generated.
+     *
+     * @param regionId The region ID.
+     */
+    synchronized void removeRegion(@NonNull String regionId) {
+        index.remove(regionId);
+        if (getInsideRegions().remove(regionId)) {
+            saveInsideRegions();
+        }
+    }
+
+    /**
+     * Checks if any regions are monitored.
+     *
+     * @return {@code true} if there are regions, otherwise {@code false}.
+     */
+    synchronized boolean isEmpty() {
+        return index.isEmpty();
+    }
+
+    /**
+     * Processes a location update.
+     *
+     * @param location The location.
+     * @return The region events for any regions that were entered or exited.
+     */
+    @NonNull
+    synchronized List<RegionEvent> onLocationChanged(@NonNull Location location) {
+        List<RegionEvent> events = new ArrayList<>();
+        if (index.isEmpty()) {
+            return events;
+        }
+
+        Set<String> inside = getInsideRegions();
+        double latitude = location.getLatitude();
+        double longitude = location.getLongitude();
+        double exitMargin = Math.max(hysteresisMeters, location.hasAccuracy() ? location.getAccuracy() : 0);
+
+        // Exits, only the regions we are inside need checking
+        for (String regionId : new ArrayList<>(inside)) {
+            CircularRegion region = index.get(regionId);
+            if (region == null) {
+                // Not monitored right now, keep the state until it is added back or removed
+                continue;
+            }
+
+            double distance = RegionIndex.distance(latitude, longitude, region.getLatitude(), region.getLongitude());
+            if (distance > region.getRadius() + exitMargin) {
+                inside.remove(regionId);
+                events.add(createEvent(regionId, region, RegionEvent.BOUNDARY_EVENT_EXIT));
+            }
+        }
+
+        // Enters, only the regions indexed near the location need checking
+        for (String regionId : index.query(latitude, longitude)) {
+            if (inside.contains(regionId)) {
+                continue;
+            }
+
+            CircularRegion region = index.get(regionId);
+            double distance = RegionIndex.distance(latitude, longitude, region.getLatitude(), region.getLongitude());
+            if (distance <= region.getRadius()) {
+                inside.add(regionId);
+                events.add(createEvent(regionId, region, RegionEvent.BOUNDARY_EVENT_ENTER));
+            }
+        }
+
+        if (!events.isEmpty()) {
+            saveInsideRegions();
+        }
+
+        return events;
+    }
+
+    @NonNull
+    private static RegionEvent createEvent(@NonNull String regionId, @NonNull CircularRegion region, @RegionEvent.Boundary int boundary) {
+        RegionEvent event = new RegionEvent(regionId, SOURCE, boundary);
+        event.setCircularRegion(region);
+        return event;
+    }
+
+    @NonNull
+    private Set<String> getInsideRegions() {
+        if (insideRegions == null) {
+            insideRegions = new HashSet<>();
+            for (JsonValue value : dataStore.getJsonValue(INSIDE_REGIONS_KEY).optList()) {
+                if (value.isString()) {
+                    insideRegions.add(value.getString());
+                }
+            }
+        }
+
+        return insideRegions;
+    }
+
+    private void saveInsideRegions() {
+        if (insideRegions.isEmpty()) {
+            dataStore.remove(INSIDE_REGIONS_KEY);
+        } else {
+            dataStore.put(INSIDE_REGIONS_KEY, JsonValue.wrapOpt(insideRegions));
+        }
+    }
+}
@@ -12,6 +12,7 @@ import android.os.Looper;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.annotation.RestrictTo;
+import android.support.annotation.Size;
 import android.support.annotation.VisibleForTesting;
 import android.support.v4.content.ContextCompat;
 
@@ -25,6 +26,7 @@ import com.urbanairship.ResultCallback;
 import com.urbanairship.UAirship;
 import com.urbanairship.analytics.LocationEvent;
 import com.urbanairship.json.JsonException;
+import com.urbanairship.util.UAStringUtil;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -47,6 +49,7 @@ public class UALocationManager extends AirshipComponent {
     private final PreferenceDataStore preferenceDataStore;
     private final ActivityMonitor activityMonitor;
     private final List<LocationListener> locationListeners = new ArrayList<>();
+    private final RegionMonitor regionMonitor;
 
     @VisibleForTesting
     final HandlerThread backgroundThread;
@@ -102,6 +105,7 @@ public class UALocationManager extends AirshipComponent {
         Intent updateIntent = new Intent(context, LocationService.class).setAction(ACTION_LOCATION_UPDATE);
         this.locationProvider = new UALocationProvider(context, updateIntent);
         this.backgroundThread = new HandlerThread("location");
+        this.regionMonitor = new RegionMonitor(preferenceDataStore, RegionMonitor.DEFAULT_HYSTERESIS_METERS);
     }
 
     @Override
@@ -244,6 +248,40 @@ public class UALocationManager extends AirshipComponent {
         }
     }
 
+    /**
+     * Adds a circular region to monitor with continuous location updates. When a location update
+     * enters or exits the region, a {@link RegionEvent} is added with the region ID. A region is
+     * only exited once the location is clearly outside of it, so small location changes around the
+     * edge do not generate events.
+     * <p>
+     * Monitored regions are not persisted and need to be added every time the app starts.
+     *
+     * @param regionId The region ID.
+     * @param region The circular region.
+     */
+    public void addMonitoredRegion(@NonNull @Size(min = 1, max = RegionEvent.MAX_CHARACTER_LENGTH) String regionId, @NonNull CircularRegion region) {
+        if (UAStringUtil.isEmpty(regionId) || regionId.length() > RegionEvent.MAX_CHARACTER_LENGTH) {
+            Logger.error("UALocationManager - Region ID must not be empty or larger than " + RegionEvent.MAX_CHARACTER_LENGTH + " characters.");
+            return;
+        }
+
+        if (!region.isValid()) {
+            Logger.error("UALocationManager - Invalid region: " + regionId);
+            return;
+        }
+
+        regionMonitor.addRegion(regionId, region);
+    }
+
+    /**
+     * Stops monitoring a region. No exit event will be added for the region.
+     *
+     * @param regionId The region ID.
+     */
+    public void removeMonitoredRegion(@NonNull String regionId) {
+        regionMonitor.removeRegion(regionId);
+    }
+
     /**
      * Records a single location using either the foreground request options
      * or the background request options depending on the application's state.
@@ -424,6 +462,11 @@ public class UALocationManager extends AirshipComponent {
         UAirship.shared()
                 .getAnalytics()
                 .recordLocation(location, getLocationRequestOptions(), LocationEvent.UPDATE_TYPE_CONTINUOUS);
+
+        // Boundary crossings for monitored regions
+        for (RegionEvent event : regionMonitor.onLocationChanged(location)) {
+            UAirship.shared().getAnalytics().addEvent(event);
+        }
     }
 
     /**
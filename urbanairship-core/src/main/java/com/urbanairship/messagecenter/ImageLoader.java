@@ -21,6 +21,7 @@ import android.util.LruCache;
 import android.view.ViewTreeObserver;
 import android.widget.ImageView;
 
+import com.urbanairship.AirshipExecutors;
 import com.urbanairship.Logger;
 import com.urbanairship.util.BitmapUtils;
 
@@ -31,7 +32,6 @@ import java.net.URL;
 import java.util.Map;
 import java.util.WeakHashMap;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 
 /**
  * Asynchronous bitmap loader for image views.
@@ -89,7 +89,7 @@ public class ImageLoader {
     private ImageLoader(Context context) {
         this.context = context.getApplicationContext();
         this.requestMap = new WeakHashMap<>();
-        this.executor = Executors.newFixedThreadPool(2);
+        this.executor = AirshipExecutors.newLane("ImageLoader", 2);
 
         // Memory Cache
         int memCacheSize = (int) Math.min(MAX_MEM_CACHE_SIZE, Runtime.getRuntime().maxMemory() / 8);
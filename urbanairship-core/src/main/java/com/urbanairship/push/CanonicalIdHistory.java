@@ -0,0 +1,227 @@
+/* Copyright 2018 Urban Airship and Contributors */
+
+package com.urbanairship.push;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.urbanairship.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Fixed size history of canonical push IDs used for de-duplicating pushes.
+ * <p>
+ * The IDs are kept in memory in a ring buffer with a hash set for lookups. New IDs are appended
+ * to a binary log file, one length prefixed UTF-8 string per ID, so recording an ID never
+ * rewrites the history. The log is compacted down to the current window once it grows to twice the capacity.
+ */
+class CanonicalIdHistory {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final int MAX_ID_BYTES = 0xFFFF;
+
+    private final File file;
+    private final int capacity;
+
+    private final ArrayDeque<String> ring;
+    private final Set<String> ids;
+
+    private boolean isLoaded;
+    private int logEntryCount;
+
+    /**
+     * Default constructor.
+     *
+     * @param file The log file.
+     * @param capacity The number of IDs to remember.
+     */
+    CanonicalIdHistory(@NonNull File file, int capacity) {
+        this.file = file;
+        this.capacity = capacity;
+        this.ring = new ArrayDeque<>(capacity);
+        this.ids = new HashSet<>(capacity * 2);
+    }
+
+    /**
+     * Checks if the ID is in the history, and adds it if it is not.
+     *
+     * IDs longer than the log can store are not tracked and always treated as new.
+     *
+     * @param id The canonical ID.
+     * @return {@code true} if the ID was added or is not tracked, {@code false} if it was already
+     * in the history.
+     */
+    synchronized boolean add(@NonNull String id) {
+        if (!isValid(id)) {
+            Logger.error("CanonicalIdHistory - Canonical ID is too long, unable to de-duplicate it.");
+            return true;
+        }
+
+        load(null);
+
+        if (ids.contains(id)) {
+            return false;
+        }
+
+        push(id);
+
+        if (logEntryCount >= capacity * 2) {
+            compact();
+        } else {
+            append(id);
+        }
+
+        return true;
+    }
+
+    /**
+     * Loads the history if it has not been loaded yet.
+     *
+     * @param legacyIds IDs from a previous store to merge in before the log, or {@code null}.
+     */
+    synchronized void load(@Nullable Collection<String> legacyIds) {
+        if (isLoaded) {
+            return;
+        }
+
+        isLoaded = true;
+
+        if (legacyIds != null) {
+            for (String id : legacyIds) {
+                if (isValid(id) && !ids.contains(id)) {
+                    push(id);
+                }
+            }
+        }
+
+        boolean isTruncated = false;
+        if (file.exists()) {
+            long length = file.length();
+            long offset = 0;
+
+            DataInputStream inputStream = null;
+            try {
+                inputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+                while (offset < length) {
+                    byte[] bytes = new byte[inputStream.readUnsignedShort()];
+                    inputStream.readFully(bytes);
+                    offset += 2 + bytes.length;
+                    logEntryCount++;
+
+                    String id = new String(bytes, UTF_8);
+                    if (!ids.contains(id)) {
+                        push(id);
+                    }
+                }
+            } catch (IOException e) {
+                // Most likely a partially written entry, it is dropped by the compaction below
+                Logger.debug("CanonicalIdHistory - Canonical ID log is truncated.", e);
+                isTruncated = true;
+            } finally {
+                close(inputStream);
+            }
+        }
+
+        if (isTruncated || (legacyIds != null && !legacyIds.isEmpty()) || logEntryCount >= capacity * 2) {
+            compact();
+        }
+    }
+
+    /**
+     * Checks if the ID fits in a log entry. An ID that does not fit would make every compaction fail.
+     *
+     * @param id The ID.
+     * @return {@code true} if the ID can be stored, otherwise {@code false}.
+     */
+    private static boolean isValid(@NonNull String id) {
+        // Each char is at most 3 UTF-8 bytes, only encode IDs that might be too long
+        return id.length() * 3 <= MAX_ID_BYTES || id.getBytes(UTF_8).length <= MAX_ID_BYTES;
+    }
+
+    private void push(@NonNull String id) {
+        if (ring.size() >= capacity) {
+            ids.remove(ring.removeFirst());
+        }
+
+        ring.addLast(id);
+        ids.add(id);
+    }
+
+    private void append(@NonNull String id) {
+        DataOutputStream outputStream = null;
+        try {
+            outputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)));
+            write(outputStream, id);
+            outputStream.flush();
+            logEntryCount++;
+        } catch (IOException e) {
+            Logger.error("CanonicalIdHistory - Failed to write canonical ID.", e);
+        } finally {
+            close(outputStream);
+        }
+    }
+
+    private void compact() {
+        File temp = new File(file.getPath() + ".tmp");
+        DataOutputStream outputStream = null;
+        int count = 0;
+        try {
+            outputStream = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)));
+            for (String id : ring) {
+                write(outputStream, id);
+                count++;
+            }
+            outputStream.flush();
+        } catch (IOException e) {
+            Logger.error("CanonicalIdHistory - Failed to compact canonical IDs.", e);
+            close(outputStream);
+            temp.delete();
+            return;
+        }
+
+        close(outputStream);
+
+        if (temp.renameTo(file)) {
+            logEntryCount = count;
+        } else {
+            Logger.error("CanonicalIdHistory - Failed to replace canonical ID log.");
+            temp.delete();
+        }
+    }
+
+    private static void write(@NonNull DataOutputStream outputStream, @NonNull String id) throws IOException {
+        byte[] bytes = id.getBytes(UTF_8);
+        if (bytes.length > MAX_ID_BYTES) {
+            throw new IOException("Canonical ID is too long: " + bytes.length);
+        }
+
+        outputStream.writeShort(bytes.length);
+        outputStream.write(bytes);
+    }
+
+    private static void close(@Nullable Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            Logger.debug("CanonicalIdHistory - Failed to close stream.", e);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import android.content.Context;
 import android.content.Intent;
 import android.os.Build;
 import android.os.Bundle;
+import android.os.SystemClock;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.support.v4.app.NotificationManagerCompat;
@@ -21,7 +22,6 @@ import com.urbanairship.actions.Action;
 import com.urbanairship.actions.ActionArguments;
 import com.urbanairship.actions.ActionRunRequest;
 import com.urbanairship.actions.ActionService;
-import com.urbanairship.actions.ActionValue;
 import com.urbanairship.analytics.PushArrivedEvent;
 import com.urbanairship.job.JobDispatcher;
 import com.urbanairship.job.JobInfo;
@@ -31,14 +31,7 @@ import com.urbanairship.util.Checks;
 import com.urbanairship.util.ManifestUtils;
 import com.urbanairship.util.UAStringUtil;
 
-import java.sql.Time;
-import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 
 import static com.urbanairship.push.PushProviderBridge.EXTRA_PROVIDER_CLASS;
 import static com.urbanairship.push.PushProviderBridge.EXTRA_PUSH;
@@ -46,9 +39,19 @@ import static com.urbanairship.push.PushProviderBridge.EXTRA_PUSH;
 
 /**
  * Runnable that processes an incoming push.
+ * <p>
+ * Everything the notification open depends on (received actions, the arrived event, the last
+ * received metadata, legacy in-app messages and the inbox refresh) is recorded before the
+ * notification is posted, so an open can never be handled before the push was. Processing logs
+ * how long it took.
  */
 class IncomingPushRunnable implements Runnable {
 
+    /**
+     * Job extra for the time the push was received, in milliseconds since the epoch.
+     */
+    static final String EXTRA_RECEIVED_TIME = "com.urbanairship.push.EXTRA_RECEIVED_TIME";
+
     private static final long AIRSHIP_WAIT_TIME_MS = 5000; // 5 seconds.
     private static final long LONG_AIRSHIP_WAIT_TIME_MS = 10000; // 10 seconds.
 
@@ -58,6 +61,7 @@ class IncomingPushRunnable implements Runnable {
     private final NotificationManagerCompat notificationManager;
     private boolean isLongRunning;
     private boolean isProcessed;
+    private final long receivedTime;
     private final JobDispatcher jobDispatcher;
 
     /**
@@ -71,12 +75,15 @@ class IncomingPushRunnable implements Runnable {
         this.providerClass = builder.providerClass;
         this.isLongRunning = builder.isLongRunning;
         this.isProcessed = builder.isProcessed;
+        this.receivedTime = builder.receivedTime > 0 ? builder.receivedTime : System.currentTimeMillis();
         this.notificationManager = builder.notificationManager == null ? NotificationManagerCompat.from(context) : builder.notificationManager;
         this.jobDispatcher = builder.jobDispatcher == null ? JobDispatcher.shared(context) : builder.jobDispatcher;
     }
 
     @Override
     public void run() {
+        long startTime = SystemClock.elapsedRealtime();
+
         Autopilot.automaticTakeOff(context);
 
         long airshipWaitTime = isLongRunning ? LONG_AIRSHIP_WAIT_TIME_MS : AIRSHIP_WAIT_TIME_MS;
@@ -87,18 +94,26 @@ class IncomingPushRunnable implements Runnable {
             return;
         }
 
-        if (checkProvider(airship, providerClass)) {
+        long takeOffTime = SystemClock.elapsedRealtime() - startTime;
+
+        if (!checkProvider(airship, providerClass)) {
+            return;
+        }
+
+        if (isProcessed) {
             // If we've already processed the push, proceed to notification display
-            if (isProcessed) {
-                postProcessPush(airship);
-            } else {
-                processPush(airship);
-            }
+            postProcessPush(airship);
+        } else {
+            processPush(airship);
         }
+
+        Logger.debug("IncomingPushRunnable - Finished processing in " + (SystemClock.elapsedRealtime() - startTime)
+                + " ms (takeOff " + takeOffTime + " ms, " + (System.currentTimeMillis() - receivedTime)
+                + " ms since received) for message: " + message.getSendId());
     }
 
     /**
-     * Starts processing the push.
+     * Starts processing the push. Records the push, then posts the notification.
      *
      * @param airship The airship instance.
      */
@@ -143,7 +158,7 @@ class IncomingPushRunnable implements Runnable {
         // Run the push actions
         runActions();
 
-        // Notify components of the push
+        // Notify components of the push before the notification can be opened
         airship.getLegacyInAppMessageManager().onPushReceived(message);
         airship.getAnalytics().addEvent(new PushArrivedEvent(message));
         airship.getPushManager().setLastReceivedMetadata(message.getMetadata());
@@ -301,14 +316,7 @@ class IncomingPushRunnable implements Runnable {
             }
         }
 
-        for (Map.Entry<String, ActionValue> action : message.getActions().entrySet()) {
-
-            ActionRunRequest.createRequest(action.getKey())
-                            .setMetadata(metadata)
-                            .setValue(action.getValue())
-                            .setSituation(Action.SITUATION_PUSH_RECEIVED)
-                            .run();
-        }
+        ActionRunRequest.runBatch(message.getActions(), Action.SITUATION_PUSH_RECEIVED, metadata);
     }
 
     /**
@@ -354,14 +362,19 @@ class IncomingPushRunnable implements Runnable {
             Logger.error("Notification factory requested long running task but the application does not define RECEIVE_BOOT_COMPLETED in the manifest. Notification will be lost if the device reboots before the notification is processed.");
         }
 
+        dispatchJob(PushManagerJobHandler.ACTION_DISPLAY_NOTIFICATION);
+    }
+
+    private void dispatchJob(@NonNull String action) {
         JobInfo jobInfo = JobInfo.newBuilder()
-                                 .setAction(PushManagerJobHandler.ACTION_DISPLAY_NOTIFICATION)
+                                 .setAction(action)
                                  .generateUniqueId(context)
                                  .setAirshipComponent(PushManager.class)
                                  .setPersistent(true)
                                  .setExtras(JsonMap.newBuilder()
                                                    .putOpt(EXTRA_PUSH, message)
                                                    .put(EXTRA_PROVIDER_CLASS, providerClass)
+                                                   .put(EXTRA_RECEIVED_TIME, receivedTime)
                                                    .build())
                                  .build();
 
@@ -377,6 +390,7 @@ class IncomingPushRunnable implements Runnable {
         private String providerClass;
         private boolean isLongRunning;
         private boolean isProcessed;
+        private long receivedTime;
         private NotificationManagerCompat notificationManager;
         private JobDispatcher jobDispatcher;
 
@@ -435,6 +449,17 @@ class IncomingPushRunnable implements Runnable {
             return this;
         }
 
+        /**
+         * Sets the time the push was received. Defaults to the time the runnable is built.
+         *
+         * @param receivedTime The received time in milliseconds.
+         * @return The builder instance.
+         */
+        Builder setReceivedTime(long receivedTime) {
+            this.receivedTime = receivedTime;
+            return this;
+        }
+
         /**
          * Sets the notification manager.
          *
@@ -8,6 +8,7 @@ import android.support.annotation.Nullable;
 import com.urbanairship.PreferenceDataStore;
 import com.urbanairship.json.JsonValue;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -15,19 +16,27 @@ import java.util.Set;
 
 /**
  * Helper class to manage pending tag group mutations.
+ * <p>
+ * Mutations are kept in an append-only table, one row per mutation. Adding, peeking and popping
+ * a mutation only touch the affected rows instead of rewriting the whole list. Collapsing only
+ * runs when mutations were added since the last collapse.
  */
 class PendingTagGroupMutationStore {
 
+    private final TagGroupMutationDataManager dataManager;
     private final PreferenceDataStore dataStore;
     private final String storeKey;
+    private boolean isCollapsed;
 
     /**
      * Default constructor.
      *
-     * @param dataStore The preference data store.
+     * @param dataManager The mutation data manager.
+     * @param dataStore The preference data store. Only used to migrate old mutations.
      * @param storeKey The store key.
      */
-    PendingTagGroupMutationStore(PreferenceDataStore dataStore, String storeKey) {
+    PendingTagGroupMutationStore(TagGroupMutationDataManager dataManager, PreferenceDataStore dataStore, String storeKey) {
+        this.dataManager = dataManager;
         this.dataStore = dataStore;
         this.storeKey = storeKey;
     }
@@ -37,7 +46,8 @@ class PendingTagGroupMutationStore {
      */
     void clear() {
         synchronized (this) {
-            dataStore.remove(storeKey);
+            dataManager.deleteMutations(storeKey);
+            isCollapsed = true;
         }
     }
 
@@ -48,9 +58,9 @@ class PendingTagGroupMutationStore {
      */
     void add(List<TagGroupsMutation> tagGroupsMutations) {
         synchronized (this) {
-            List<TagGroupsMutation> mutations = getMutations();
-            mutations.addAll(tagGroupsMutations);
-            dataStore.put(storeKey, JsonValue.wrapOpt(mutations));
+            if (dataManager.addMutations(storeKey, tagGroupsMutations) && !tagGroupsMutations.isEmpty()) {
+                isCollapsed = false;
+            }
         }
     }
 
@@ -62,14 +72,14 @@ class PendingTagGroupMutationStore {
     @Nullable
     TagGroupsMutation pop() {
         synchronized (this) {
-            List<TagGroupsMutation> mutations = getMutations();
-            if (mutations.isEmpty()) {
+            List<TagGroupMutationDataManager.Entry> entries = dataManager.getEntries(storeKey, 1);
+            if (entries.isEmpty()) {
                 return null;
             }
 
-            TagGroupsMutation mutation = mutations.remove(0);
-            dataStore.put(storeKey, JsonValue.wrapOpt(mutations));
-            return mutation;
+            TagGroupMutationDataManager.Entry entry = entries.get(0);
+            dataManager.deleteEntry(entry.id);
+            return entry.mutation;
         }
     }
 
@@ -81,54 +91,78 @@ class PendingTagGroupMutationStore {
     @Nullable
     TagGroupsMutation peek() {
         synchronized (this) {
-            List<TagGroupsMutation> mutations = getMutations();
-            if (mutations.isEmpty()) {
+            List<TagGroupMutationDataManager.Entry> entries = dataManager.getEntries(storeKey, 1);
+            if (entries.isEmpty()) {
                 return null;
             }
-            return mutations.get(0);
+
+            return entries.get(0).mutation;
         }
     }
 
     /**
-     * Collapses mutations down to a minimum set of mutations.
+     * Collapses mutations down to a minimum set of mutations. Does nothing if no mutations
+     * were added since the last collapse.
      */
     void collapseMutations() {
         synchronized (this) {
-            List<TagGroupsMutation> mutations = getMutations();
-            if (mutations.isEmpty()) {
+            if (isCollapsed) {
+                return;
+            }
+
+            List<TagGroupMutationDataManager.Entry> entries = dataManager.getEntries(storeKey, null);
+            if (entries.isEmpty()) {
+                isCollapsed = true;
+                return;
+            }
+
+            List<TagGroupsMutation> mutations = new ArrayList<>(entries.size());
+            for (TagGroupMutationDataManager.Entry entry : entries) {
+                mutations.add(entry.mutation);
+            }
+
+            List<TagGroupsMutation> collapsed = TagGroupsMutation.collapseMutations(mutations);
+            if (JsonValue.wrapOpt(collapsed).equals(JsonValue.wrapOpt(mutations))) {
+                isCollapsed = true;
                 return;
             }
 
-            mutations = TagGroupsMutation.collapseMutations(mutations);
-            dataStore.put(storeKey, JsonValue.wrapOpt(mutations));
+            long maxId = entries.get(entries.size() - 1).id;
+            isCollapsed = dataManager.replaceMutations(storeKey, maxId, collapsed);
         }
     }
 
     /**
-     * Converts the old tag group store to tag mutations.
+     * Converts the old tag group stores to tag mutations.
      *
      * @param pendingAddTagsKey The old pending addPending tags key.
      * @param pendingRemoveTagsKey The old pending remove tags key.
+     * @param pendingMutationsKey The data store key of the old JSON list of mutations.
      */
-    void migrateTagGroups(String pendingAddTagsKey, String pendingRemoveTagsKey) {
-        JsonValue pendingAddTags = dataStore.getJsonValue(pendingAddTagsKey);
-        JsonValue pendingRemoveTags = dataStore.getJsonValue(pendingRemoveTagsKey);
-
-        if (pendingAddTags.isNull() && pendingRemoveTags.isNull()) {
-            return;
-        }
+    void migrateTagGroups(String pendingAddTagsKey, String pendingRemoveTagsKey, String pendingMutationsKey) {
+        synchronized (this) {
+            JsonValue pendingAddTags = dataStore.getJsonValue(pendingAddTagsKey);
+            JsonValue pendingRemoveTags = dataStore.getJsonValue(pendingRemoveTagsKey);
 
-        Map<String, Set<String>> addTags = TagUtils.convertToTagsMap(pendingAddTags);
-        Map<String, Set<String>> removeTags = TagUtils.convertToTagsMap(pendingRemoveTags);
+            if (!pendingAddTags.isNull() || !pendingRemoveTags.isNull()) {
+                Map<String, Set<String>> addTags = TagUtils.convertToTagsMap(pendingAddTags);
+                Map<String, Set<String>> removeTags = TagUtils.convertToTagsMap(pendingRemoveTags);
 
-        TagGroupsMutation mutation = TagGroupsMutation.newAddRemoveMutation(addTags, removeTags);
-        List<TagGroupsMutation> mutations = Collections.singletonList(mutation);
-        mutations = TagGroupsMutation.collapseMutations(mutations);
+                TagGroupsMutation mutation = TagGroupsMutation.newAddRemoveMutation(addTags, removeTags);
+                List<TagGroupsMutation> mutations = Collections.singletonList(mutation);
+                add(TagGroupsMutation.collapseMutations(mutations));
 
-        dataStore.put(storeKey, JsonValue.wrapOpt(mutations));
+                dataStore.remove(pendingAddTagsKey);
+                dataStore.remove(pendingRemoveTagsKey);
+            }
 
-        dataStore.remove(pendingAddTagsKey);
-        dataStore.remove(pendingRemoveTagsKey);
+            // Mutations used to be stored as a single JSON list in the data store
+            JsonValue storedMutations = dataStore.getJsonValue(pendingMutationsKey);
+            if (!storedMutations.isNull()) {
+                add(TagGroupsMutation.fromJsonList(storedMutations.optList()));
+                dataStore.remove(pendingMutationsKey);
+            }
+        }
     }
 
     /**
@@ -137,6 +171,12 @@ class PendingTagGroupMutationStore {
      * @return A list of all the tag group mutations.
      */
     List<TagGroupsMutation> getMutations() {
-        return TagGroupsMutation.fromJsonList(dataStore.getJsonValue(storeKey).optList());
+        synchronized (this) {
+            List<TagGroupsMutation> mutations = new ArrayList<>();
+            for (TagGroupMutationDataManager.Entry entry : dataManager.getEntries(storeKey, null)) {
+                mutations.add(entry.mutation);
+            }
+            return mutations;
+        }
     }
 }
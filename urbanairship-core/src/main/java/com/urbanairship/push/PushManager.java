@@ -15,6 +15,7 @@ import android.util.Log;
 
 import com.urbanairship.AirshipComponent;
 import com.urbanairship.AirshipConfigOptions;
+import com.urbanairship.AirshipExecutors;
 import com.urbanairship.Logger;
 import com.urbanairship.PreferenceDataStore;
 import com.urbanairship.R;
@@ -22,13 +23,13 @@ import com.urbanairship.UAirship;
 import com.urbanairship.job.JobDispatcher;
 import com.urbanairship.job.JobInfo;
 import com.urbanairship.json.JsonException;
-import com.urbanairship.json.JsonList;
 import com.urbanairship.json.JsonValue;
 import com.urbanairship.push.notifications.DefaultNotificationFactory;
 import com.urbanairship.push.notifications.NotificationActionButtonGroup;
 import com.urbanairship.push.notifications.NotificationFactory;
 import com.urbanairship.util.UAStringUtil;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
@@ -41,7 +42,6 @@ import java.util.Set;
 import java.util.TimeZone;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * This class is the primary interface for customizing the display and behavior
@@ -206,17 +206,27 @@ public class PushManager extends AirshipComponent {
      */
     private static final String LAST_CANONICAL_IDS_KEY = "com.urbanairship.push.LAST_CANONICAL_IDS";
 
+    /**
+     * File name of the canonical ID log.
+     */
+    private static final String CANONICAL_IDS_FILE_NAME = "com.urbanairship.push.canonical_ids";
+
     /**
      * Max amount of canonical IDs to store.
      */
-    private static final int MAX_CANONICAL_IDS = 10;
+    private static final int MAX_CANONICAL_IDS = 100;
 
     /**
      * The default tag group.
      */
     private final String DEFAULT_TAG_GROUP = "device";
 
-    static final ExecutorService PUSH_EXECUTOR = Executors.newCachedThreadPool();
+    /**
+     * Max number of pushes processed at once.
+     */
+    private static final int PUSH_CONCURRENCY = 4;
+
+    static final ExecutorService PUSH_EXECUTOR = AirshipExecutors.newBlockingLane("Push", PUSH_CONCURRENCY);
 
     static final String KEY_PREFIX = "com.urbanairship.push";
     static final String PUSH_ENABLED_KEY = KEY_PREFIX + ".PUSH_ENABLED";
@@ -272,6 +282,8 @@ public class PushManager extends AirshipComponent {
 
 
     private final Object tagLock = new Object();
+    private final Object canonicalIdLock = new Object();
+    private CanonicalIdHistory canonicalIdHistory;
 
 
     /**
@@ -1186,32 +1198,44 @@ public class PushManager extends AirshipComponent {
             return true;
         }
 
-        JsonList jsonList = null;
-        try {
-            jsonList = JsonValue.parseString(preferenceDataStore.getString(LAST_CANONICAL_IDS_KEY, null)).getList();
-        } catch (JsonException e) {
-            Logger.debug("PushJobHandler - Unable to parse canonical Ids.", e);
-        }
-
-        List<JsonValue> canonicalIds = jsonList == null ? new ArrayList<JsonValue>() : jsonList.getList();
+        return getCanonicalIdHistory().add(canonicalId);
+    }
 
-        // Wrap the canonicalId
-        JsonValue id = JsonValue.wrap(canonicalId);
+    /**
+     * Gets the canonical ID history, loading it and migrating any IDs stored in the preferences
+     * on first use.
+     *
+     * @return The canonical ID history.
+     */
+    @NonNull
+    private CanonicalIdHistory getCanonicalIdHistory() {
+        synchronized (canonicalIdLock) {
+            if (canonicalIdHistory != null) {
+                return canonicalIdHistory;
+            }
 
-        // Check if the list contains the canonicalId
-        if (canonicalIds.contains(id)) {
-            return false;
-        }
+            List<String> legacyIds = new ArrayList<>();
+            String legacyValue = preferenceDataStore.getString(LAST_CANONICAL_IDS_KEY, null);
+            if (legacyValue != null) {
+                try {
+                    for (JsonValue value : JsonValue.parseString(legacyValue).optList()) {
+                        if (value.isString()) {
+                            legacyIds.add(value.getString());
+                        }
+                    }
+                } catch (JsonException e) {
+                    Logger.debug("PushManager - Unable to parse canonical Ids.", e);
+                }
+            }
 
-        // Add it
-        canonicalIds.add(id);
-        if (canonicalIds.size() > MAX_CANONICAL_IDS) {
-            canonicalIds = canonicalIds.subList(canonicalIds.size() - MAX_CANONICAL_IDS, canonicalIds.size());
-        }
+            canonicalIdHistory = new CanonicalIdHistory(new File(context.getFilesDir(), CANONICAL_IDS_FILE_NAME), MAX_CANONICAL_IDS);
+            canonicalIdHistory.load(legacyIds);
 
-        // Store the new list
-        preferenceDataStore.put(LAST_CANONICAL_IDS_KEY, JsonValue.wrapOpt(canonicalIds).toString());
+            if (legacyValue != null) {
+                preferenceDataStore.remove(LAST_CANONICAL_IDS_KEY);
+            }
 
-        return true;
+            return canonicalIdHistory;
+        }
     }
 }
@@ -135,6 +135,7 @@ class PushManagerJobHandler {
 
             case ACTION_DISPLAY_NOTIFICATION:
                 return onDisplayNotification(jobInfo);
+
         }
 
         return JobInfo.JOB_FINISHED;
@@ -176,6 +177,7 @@ class PushManagerJobHandler {
                 .setProcessed(true)
                 .setMessage(message)
                 .setProviderClass(providerClass)
+                .setReceivedTime(jobInfo.getExtras().opt(IncomingPushRunnable.EXTRA_RECEIVED_TIME).getLong(0))
                 .build();
 
         pushRunnable.run();
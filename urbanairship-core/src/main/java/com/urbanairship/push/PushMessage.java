@@ -13,6 +13,7 @@ import android.os.Parcelable;
 import android.support.annotation.DrawableRes;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
+import android.support.annotation.RestrictTo;
 
 import com.urbanairship.Logger;
 import com.urbanairship.actions.ActionValue;
@@ -22,12 +23,14 @@ import com.urbanairship.json.JsonMap;
 import com.urbanairship.json.JsonSerializable;
 import com.urbanairship.json.JsonValue;
 import com.urbanairship.richpush.RichPushInbox;
+import com.urbanairship.util.ResourceCache;
 import com.urbanairship.util.UAMathUtil;
 import com.urbanairship.util.UAStringUtil;
 
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 
 /**
@@ -221,6 +224,13 @@ public class PushMessage implements Parcelable, JsonSerializable {
 
     private Uri sound = null;
 
+    /**
+     * Parsed JSON extras, keyed by extra name. Holds either the parsed {@link JsonValue} or the
+     * {@link JsonException} from parsing so each extra is parsed at most once.
+     */
+    private final Map<String, Object> parsedExtras = new ConcurrentHashMap<>();
+    private volatile Map<String, ActionValue> actions;
+
     /**
      * Create a new PushMessage
      *
@@ -393,18 +403,31 @@ public class PushMessage implements Parcelable, JsonSerializable {
      */
     @NonNull
     public Map<String, ActionValue> getActions() {
-        String actionsPayload = data.get(EXTRA_ACTIONS);
+        if (actions == null) {
+            actions = parseActions();
+        }
+
+        return new HashMap<>(actions);
+    }
+
+    /**
+     * Parses the push message's actions.
+     *
+     * @return A map of action name to action value.
+     */
+    @NonNull
+    private Map<String, ActionValue> parseActions() {
         Map<String, ActionValue> actions = new HashMap<>();
 
         try {
-            JsonMap actionsJson = JsonValue.parseString(actionsPayload).getMap();
+            JsonMap actionsJson = getJsonExtra(EXTRA_ACTIONS).getMap();
             if (actionsJson != null) {
                 for (Map.Entry<String, JsonValue> entry : actionsJson) {
                     actions.put(entry.getKey(), new ActionValue(entry.getValue()));
                 }
             }
         } catch (JsonException e) {
-            Logger.error("Unable to parse action payload: " + actionsPayload);
+            Logger.error("Unable to parse action payload: " + data.get(EXTRA_ACTIONS));
             return actions;
         }
 
@@ -417,6 +440,36 @@ public class PushMessage implements Parcelable, JsonSerializable {
         return actions;
     }
 
+    /**
+     * Gets an extra parsed as JSON. Each extra is parsed at most once, later calls return the
+     * same value.
+     *
+     * @param key The extra key.
+     * @return The parsed value, or {@link JsonValue#NULL} if the extra does not exist.
+     * @throws JsonException If the extra is not valid JSON.
+     * @hide
+     */
+    @NonNull
+    @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+    public JsonValue getJsonExtra(@NonNull String key) throws JsonException {
+        Object parsed = parsedExtras.get(key);
+        if (parsed == null) {
+            try {
+                parsed = JsonValue.parseString(data.get(key));
+            } catch (JsonException e) {
+                parsed = e;
+            }
+
+            parsedExtras.put(key, parsed);
+        }
+
+        if (parsed instanceof JsonException) {
+            throw (JsonException) parsed;
+        }
+
+        return (JsonValue) parsed;
+    }
+
     /**
      * Gets the notification actions payload.
      *
@@ -553,7 +606,7 @@ public class PushMessage implements Parcelable, JsonSerializable {
         if (sound == null && data.get(EXTRA_SOUND) != null) {
             String notificationSoundName = data.get(EXTRA_SOUND);
 
-            int id = context.getResources().getIdentifier(notificationSoundName, "raw", context.getPackageName());
+            int id = ResourceCache.getIdentifier(context, notificationSoundName, "raw");
             if (id != 0) {
                 sound = Uri.parse("android.resource://" + context.getPackageName() + "/" + id);
             } else if (!DEFAULT_SOUND_NAME.equals(notificationSoundName)) {
@@ -593,7 +646,7 @@ public class PushMessage implements Parcelable, JsonSerializable {
     public int getIcon(Context context, int defaultIcon) {
         String resourceString = data.get(EXTRA_ICON);
         if (resourceString != null) {
-            int iconId = context.getResources().getIdentifier(resourceString, "drawable", context.getPackageName());
+            int iconId = ResourceCache.getIdentifier(context, resourceString, "drawable");
             if (iconId != 0) {
                 return iconId;
             } else {
@@ -0,0 +1,217 @@
+/* Copyright 2018 Urban Airship and Contributors */
+
+package com.urbanairship.push;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.urbanairship.Logger;
+import com.urbanairship.json.JsonException;
+import com.urbanairship.json.JsonValue;
+import com.urbanairship.util.DataManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link DataManager} for pending tag group mutations. Mutations are stored one per row in an
+ * append-only table, ordered by row ID, so enqueuing and dequeuing a mutation only touches a
+ * single row.
+ */
+class TagGroupMutationDataManager extends DataManager {
+
+    /**
+     * The database version.
+     */
+    private static final int DATABASE_VERSION = 1;
+
+    static final String TABLE_NAME = "mutations";
+    static final String COLUMN_NAME_ID = "id";
+    static final String COLUMN_NAME_STORE = "store";
+    static final String COLUMN_NAME_MUTATION = "mutation";
+
+    private static final String[] COLUMNS = new String[] { COLUMN_NAME_ID, COLUMN_NAME_MUTATION };
+    private static final String STORE_WHERE = COLUMN_NAME_STORE + " = ?";
+    private static final String ORDER_BY = COLUMN_NAME_ID + " ASC";
+    private static final String DELETE_ENTRY_STATEMENT = "DELETE FROM " + TABLE_NAME + " WHERE " + COLUMN_NAME_ID + " = ?";
+
+    /**
+     * Default constructor.
+     *
+     * @param context The app context.
+     * @param appKey The app key.
+     * @param dbName The database name.
+     */
+    TagGroupMutationDataManager(@NonNull Context context, @NonNull String appKey, @NonNull String dbName) {
+        super(context, appKey, dbName, DATABASE_VERSION);
+    }
+
+    @Override
+    protected void onCreate(@NonNull SQLiteDatabase db) {
+        Logger.debug("TagGroupMutationDataManager - Creating database");
+        db.execSQL("CREATE TABLE IF NOT EXISTS " + TABLE_NAME + " ("
+                + COLUMN_NAME_ID + " INTEGER PRIMARY KEY AUTOINCREMENT,"
+                + COLUMN_NAME_STORE + " TEXT NOT NULL,"
+                + COLUMN_NAME_MUTATION + " TEXT NOT NULL"
+                + ");");
+
+        db.execSQL("CREATE INDEX IF NOT EXISTS " + TABLE_NAME + "_" + COLUMN_NAME_STORE + "_index ON "
+                + TABLE_NAME + " (" + COLUMN_NAME_STORE + ", " + COLUMN_NAME_ID + ");");
+    }
+
+    /**
+     * Appends mutations to the end of a store.
+     *
+     * @param store The store name.
+     * @param mutations The mutations.
+     * @return {@code true} if the mutations were saved, otherwise {@code false}.
+     */
+    boolean addMutations(@NonNull final String store, @NonNull final List<TagGroupsMutation> mutations) {
+        if (mutations.isEmpty()) {
+            return true;
+        }
+
+        return runInTransaction("addMutations", new TransactionOperation() {
+            @Override
+            public boolean perform(@NonNull SQLiteDatabase db) {
+                insert(db, store, mutations);
+                return true;
+            }
+        });
+    }
+
+    /**
+     * Replaces the mutations up to and including the given row ID with a new list of mutations.
+     * The new mutations take the place of the old ones at the head of the store.
+     *
+     * @param store The store name.
+     * @param maxId The last row ID that is being replaced.
+     * @param mutations The replacement mutations.
+     * @return {@code true} if the mutations were replaced, otherwise {@code false}.
+     */
+    boolean replaceMutations(@NonNull final String store, final long maxId, @NonNull final List<TagGroupsMutation> mutations) {
+        return runInTransaction("replaceMutations", new TransactionOperation() {
+            @Override
+            public boolean perform(@NonNull SQLiteDatabase db) {
+                // Rows appended after maxId are moved behind the replacements to keep the order
+                List<Entry> trailing = getEntries(db, store, COLUMN_NAME_ID + " > ?", String.valueOf(maxId), null);
+
+                db.delete(TABLE_NAME, STORE_WHERE, new String[] { store });
+                insert(db, store, mutations);
+
+                List<TagGroupsMutation> trailingMutations = new ArrayList<>();
+                for (Entry entry : trailing) {
+                    trailingMutations.add(entry.mutation);
+                }
+                insert(db, store, trailingMutations);
+
+                return true;
+            }
+        });
+    }
+
+    /**
+     * Gets the mutations for a store, in order.
+     *
+     * @param store The store name.
+     * @param limit Max number of mutations to return, or {@code null} for no limit.
+     * @return The list of mutation entries.
+     */
+    @NonNull
+    List<Entry> getEntries(@NonNull String store, @Nullable Integer limit) {
+        // Writable so invalid rows can be dropped while reading
+        SQLiteDatabase db = getWritableDatabase();
+        if (db == null) {
+            Logger.error("TagGroupMutationDataManager - Unable to read mutations.");
+            return Collections.emptyList();
+        }
+
+        try {
+            return getEntries(db, store, null, null, limit == null ? null : String.valueOf(limit));
+        } catch (Exception e) {
+            Logger.error("TagGroupMutationDataManager - Unable to read mutations.", e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Deletes a single mutation.
+     *
+     * @param id The mutation's row ID.
+     * @return {@code true} if the mutation was deleted, otherwise {@code false}.
+     */
+    boolean deleteEntry(long id) {
+        return executeUpdateDelete(DELETE_ENTRY_STATEMENT, id) >= 0;
+    }
+
+    /**
+     * Deletes all the mutations for a store.
+     *
+     * @param store The store name.
+     * @return {@code true} if the mutations were deleted, otherwise {@code false}.
+     */
+    boolean deleteMutations(@NonNull String store) {
+        return delete(TABLE_NAME, STORE_WHERE, new String[] { store }) >= 0;
+    }
+
+    private static void insert(@NonNull SQLiteDatabase db, @NonNull String store, @NonNull List<TagGroupsMutation> mutations) {
+        for (TagGroupsMutation mutation : mutations) {
+            ContentValues values = new ContentValues();
+            values.put(COLUMN_NAME_STORE, store);
+            values.put(COLUMN_NAME_MUTATION, mutation.toJsonValue().toString());
+            db.insertOrThrow(TABLE_NAME, null, values);
+        }
+    }
+
+    @NonNull
+    private static List<Entry> getEntries(@NonNull SQLiteDatabase db, @NonNull String store, @Nullable String extraWhere, @Nullable String extraArg, @Nullable String limit) {
+        String where = STORE_WHERE;
+        String[] args = new String[] { store };
+        if (extraWhere != null) {
+            where = where + " AND " + extraWhere;
+            args = new String[] { store, extraArg };
+        }
+
+        List<Entry> entries = new ArrayList<>();
+        Cursor cursor = db.query(TABLE_NAME, COLUMNS, where, args, null, null, ORDER_BY, limit);
+        if (cursor == null) {
+            return entries;
+        }
+
+        try {
+            while (cursor.moveToNext()) {
+                long id = cursor.getLong(0);
+                try {
+                    TagGroupsMutation mutation = TagGroupsMutation.fromJsonValue(JsonValue.parseString(cursor.getString(1)));
+                    entries.add(new Entry(id, mutation));
+                } catch (JsonException e) {
+                    Logger.error("TagGroupMutationDataManager - Dropping invalid mutation " + id, e);
+                    db.delete(TABLE_NAME, COLUMN_NAME_ID + " = ?", new String[] { String.valueOf(id) });
+                }
+            }
+        } finally {
+            cursor.close();
+        }
+
+        return entries;
+    }
+
+    /**
+     * A stored mutation.
+     */
+    static class Entry {
+
+        final long id;
+        final TagGroupsMutation mutation;
+
+        Entry(long id, @NonNull TagGroupsMutation mutation) {
+            this.id = id;
+            this.mutation = mutation;
+        }
+    }
+}
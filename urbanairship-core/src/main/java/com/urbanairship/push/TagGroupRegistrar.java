@@ -2,6 +2,7 @@
 
 package com.urbanairship.push;
 
+import android.content.Context;
 import android.support.annotation.IntDef;
 import android.support.annotation.NonNull;
 import android.support.annotation.RestrictTo;
@@ -57,6 +58,11 @@ public class TagGroupRegistrar {
     private static final String NAMED_USER_PENDING_ADD_TAG_GROUPS_KEY = "com.urbanairship.nameduser.PENDING_ADD_TAG_GROUPS_KEY";
     private static final String NAMED_USER_PENDING_REMOVE_TAG_GROUPS_KEY = "com.urbanairship.nameduser.PENDING_REMOVE_TAG_GROUPS_KEY";
 
+    /**
+     * Database name for the pending tag group mutations.
+     */
+    private static final String DATABASE_NAME = "ua_tag_group_mutations.db";
+
     /**
      * Named user type.
      */
@@ -80,14 +86,21 @@ public class TagGroupRegistrar {
     /**
      * Default constructor.
      *
+     * @param context The application context.
      * @param platform The platform.
      * @param configOptions The config options.
      * @param dataStore The data store.
      */
-    public TagGroupRegistrar(@UAirship.Platform int platform, @NonNull AirshipConfigOptions configOptions, @NonNull PreferenceDataStore dataStore) {
+    public TagGroupRegistrar(@NonNull Context context, @UAirship.Platform int platform, @NonNull AirshipConfigOptions configOptions, @NonNull PreferenceDataStore dataStore) {
         this(new TagGroupApiClient(platform, configOptions),
-                new PendingTagGroupMutationStore(dataStore, NAMED_USER_PENDING_TAG_GROUP_MUTATIONS_KEY),
-                new PendingTagGroupMutationStore(dataStore, CHANNEL_PENDING_TAG_GROUP_MUTATIONS_KEY));
+                new TagGroupMutationDataManager(context, configOptions.getAppKey(), DATABASE_NAME),
+                dataStore);
+    }
+
+    private TagGroupRegistrar(@NonNull TagGroupApiClient client, @NonNull TagGroupMutationDataManager dataManager, @NonNull PreferenceDataStore dataStore) {
+        this(client,
+                new PendingTagGroupMutationStore(dataManager, dataStore, CHANNEL_PENDING_TAG_GROUP_MUTATIONS_KEY),
+                new PendingTagGroupMutationStore(dataManager, dataStore, NAMED_USER_PENDING_TAG_GROUP_MUTATIONS_KEY));
     }
 
     @VisibleForTesting
@@ -128,7 +141,9 @@ public class TagGroupRegistrar {
         PendingTagGroupMutationStore mutationStore = getMutationStore(type);
 
         while (true) {
-            // Collapse mutations before we try to send any updates
+            // Collapse mutations before we try to send any updates. The pending mutations collapse
+            // into at most one set request and one add/remove request. This is a no-op unless
+            // mutations were added since the last collapse.
             mutationStore.collapseMutations();
 
             TagGroupsMutation mutation = mutationStore.peek();
@@ -188,8 +203,10 @@ public class TagGroupRegistrar {
      * Performs any data store migrations.
      */
     public void migrateKeys() {
-        channelStore.migrateTagGroups(CHANNEL_PENDING_ADD_TAG_GROUPS_KEY, CHANNEL_PENDING_REMOVE_TAG_GROUPS_KEY);
-        namedUserStore.migrateTagGroups(NAMED_USER_PENDING_ADD_TAG_GROUPS_KEY, NAMED_USER_PENDING_REMOVE_TAG_GROUPS_KEY);
+        // The data store lists were written with the keys swapped: channel mutations were saved
+        // under the named user key and named user mutations under the channel key.
+        channelStore.migrateTagGroups(CHANNEL_PENDING_ADD_TAG_GROUPS_KEY, CHANNEL_PENDING_REMOVE_TAG_GROUPS_KEY, NAMED_USER_PENDING_TAG_GROUP_MUTATIONS_KEY);
+        namedUserStore.migrateTagGroups(NAMED_USER_PENDING_ADD_TAG_GROUPS_KEY, NAMED_USER_PENDING_REMOVE_TAG_GROUPS_KEY, CHANNEL_PENDING_TAG_GROUP_MUTATIONS_KEY);
     }
 
     /**
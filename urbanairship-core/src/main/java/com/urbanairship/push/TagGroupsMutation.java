@@ -150,7 +150,8 @@ public class TagGroupsMutation implements JsonSerializable {
      * @param mutations List of mutations to collapse.
      * @return A new list of collapsed mutations.
      */
-    static List<TagGroupsMutation> collapseMutations(List<TagGroupsMutation> mutations) {
+    @NonNull
+    public static List<TagGroupsMutation> collapseMutations(@Nullable List<TagGroupsMutation> mutations) {
         if (mutations == null || mutations.isEmpty()) {
             return Collections.emptyList();
         }
@@ -373,7 +374,7 @@ public class TagGroupsMutation implements JsonSerializable {
         // Set tags
         if (setTags != null) {
             for (Map.Entry<String, Set<String>> entry : setTags.entrySet()) {
-                tagGroups.put(entry.getKey(), entry.getValue());
+                tagGroups.put(entry.getKey(), new HashSet<>(entry.getValue()));
             }
         }
     }
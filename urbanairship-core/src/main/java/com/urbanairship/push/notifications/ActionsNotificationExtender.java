@@ -6,8 +6,12 @@ import android.content.Context;
 import android.support.annotation.NonNull;
 import android.support.v4.app.NotificationCompat;
 
+import com.urbanairship.Logger;
 import com.urbanairship.UAirship;
+import com.urbanairship.json.JsonException;
+import com.urbanairship.json.JsonMap;
 import com.urbanairship.push.PushMessage;
+import com.urbanairship.util.UAStringUtil;
 
 /**
  * Notification builder extender to add UA notification action buttons to a
@@ -39,7 +43,16 @@ public class ActionsNotificationExtender implements NotificationCompat.Extender
             return builder;
         }
 
-        for (NotificationCompat.Action action : actionGroup.createAndroidActions(context, message, notificationId, message.getInteractiveActionsPayload())) {
+        JsonMap actionsJson = null;
+        if (!UAStringUtil.isEmpty(message.getInteractiveActionsPayload())) {
+            try {
+                actionsJson = message.getJsonExtra(PushMessage.EXTRA_INTERACTIVE_ACTIONS).optMap();
+            } catch (JsonException e) {
+                Logger.error("Failed to parse notification actions payload: " + message.getInteractiveActionsPayload(), e);
+            }
+        }
+
+        for (NotificationCompat.Action action : actionGroup.createAndroidActions(context, message, notificationId, actionsJson)) {
             builder.addAction(action);
         }
 
@@ -49,8 +49,6 @@ public class NotificationActionButtonGroup {
      */
     @NonNull
     List<NotificationCompat.Action> createAndroidActions(Context context, PushMessage message, int notificationId, String actionsPayload) {
-        final List<NotificationCompat.Action> androidActions = new ArrayList<>();
-
         JsonMap notificationActionMap = null;
         if (!UAStringUtil.isEmpty(actionsPayload)) {
             // Run UA actions for the notification action
@@ -61,6 +59,21 @@ public class NotificationActionButtonGroup {
             }
         }
 
+        return createAndroidActions(context, message, notificationId, notificationActionMap);
+    }
+
+    /**
+     * Creates a list of Android notification actions.
+     *
+     * @param context The application context.
+     * @param message The push message.
+     * @param notificationId The notification ID.
+     * @param notificationActionMap The parsed actions payload, or {@code null} if not available.
+     * @return List of Android notification actions.
+     */
+    List<NotificationCompat.Action> createAndroidActions(Context context, PushMessage message, int notificationId, JsonMap notificationActionMap) {
+        final List<NotificationCompat.Action> androidActions = new ArrayList<>();
+
         for (NotificationActionButton action : getNotificationActionButtons()) {
             String actions = notificationActionMap == null ? null : notificationActionMap.opt(action.getId()).toString();
             NotificationCompat.Action androidAction = action.createAndroidNotificationAction(context, actions, message, notificationId);
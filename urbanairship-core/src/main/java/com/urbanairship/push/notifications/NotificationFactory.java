@@ -6,7 +6,6 @@ import android.app.Notification;
 import android.app.NotificationChannel;
 import android.app.NotificationManager;
 import android.content.Context;
-import android.graphics.BitmapFactory;
 import android.net.Uri;
 import android.os.Build;
 import android.support.annotation.ColorInt;
@@ -18,17 +17,18 @@ import android.support.annotation.RequiresApi;
 import android.support.annotation.StringRes;
 import android.support.v4.app.NotificationCompat;
 
+import com.urbanairship.AirshipExecutors;
 import com.urbanairship.AirshipReceiver;
 import com.urbanairship.Logger;
 import com.urbanairship.R;
 import com.urbanairship.push.PushMessage;
 import com.urbanairship.util.NotificationIdGenerator;
+import com.urbanairship.util.ResourceCache;
 import com.urbanairship.util.UAStringUtil;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 
 /**
@@ -42,7 +42,7 @@ public class NotificationFactory {
 
     public static final String DEFAULT_NOTIFICATION_CHANNEL = "com.urbanairship.default";
 
-    public static final ExecutorService EXECUTOR = Executors.newCachedThreadPool();
+    public static final ExecutorService EXECUTOR = AirshipExecutors.newLane("NotificationFactory", 2);
 
     private int titleId;
     private int smallIconId;
@@ -466,7 +466,7 @@ public class NotificationFactory {
 
 
         if (getLargeIcon() != 0) {
-            builder.setLargeIcon(BitmapFactory.decodeResource(getContext().getResources(), getLargeIcon()));
+            builder.setLargeIcon(ResourceCache.getBitmap(getContext(), getLargeIcon()));
         }
 
         if (message.getSummary() != null) {
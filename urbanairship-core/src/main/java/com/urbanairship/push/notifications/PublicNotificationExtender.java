@@ -3,7 +3,6 @@
 package com.urbanairship.push.notifications;
 
 import android.content.Context;
-import android.graphics.BitmapFactory;
 import android.support.annotation.ColorInt;
 import android.support.annotation.DrawableRes;
 import android.support.annotation.NonNull;
@@ -12,8 +11,8 @@ import android.support.v4.app.NotificationCompat;
 import com.urbanairship.Logger;
 import com.urbanairship.json.JsonException;
 import com.urbanairship.json.JsonMap;
-import com.urbanairship.json.JsonValue;
 import com.urbanairship.push.PushMessage;
+import com.urbanairship.util.ResourceCache;
 import com.urbanairship.util.UAStringUtil;
 
 /**
@@ -84,7 +83,7 @@ public class PublicNotificationExtender implements NotificationCompat.Extender {
         }
 
         try {
-            JsonMap jsonMap = JsonValue.parseString(message.getPublicNotificationPayload()).optMap();
+            JsonMap jsonMap = message.getJsonExtra(PushMessage.EXTRA_PUBLIC_NOTIFICATION).optMap();
 
             NotificationCompat.Builder publicBuilder = new NotificationCompat.Builder(context)
                     .setContentTitle(jsonMap.opt(TITLE_KEY).getString(""))
@@ -94,7 +93,7 @@ public class PublicNotificationExtender implements NotificationCompat.Extender {
                     .setSmallIcon(smallIconId);
 
             if (largeIconId != 0) {
-                publicBuilder.setLargeIcon(BitmapFactory.decodeResource(context.getResources(), largeIconId));
+                publicBuilder.setLargeIcon(ResourceCache.getBitmap(context, largeIconId));
             }
 
             if (jsonMap.containsKey(SUMMARY_KEY)) {
@@ -92,14 +92,13 @@ public class StyleNotificationExtender implements NotificationCompat.Extender {
      * @return {@code true} if the style was applied, otherwise {@code false}.
      */
     private boolean applyStyle(@NonNull NotificationCompat.Builder builder) {
-        String stylePayload = message.getStylePayload();
-        if (stylePayload == null) {
+        if (message.getStylePayload() == null) {
             return false;
         }
 
         JsonMap styleJson;
         try {
-            styleJson = JsonValue.parseString(stylePayload).optMap();
+            styleJson = message.getJsonExtra(PushMessage.EXTRA_STYLE).optMap();
         } catch (JsonException e) {
             Logger.error("Failed to parse notification style payload.", e);
             return false;
@@ -58,14 +58,13 @@ public class WearableNotificationExtender implements NotificationCompat.Extender
 
     @Override
     public NotificationCompat.Builder extend(NotificationCompat.Builder builder) {
-        String wearablePayload = message.getWearablePayload();
-        if (wearablePayload == null) {
+        if (message.getWearablePayload() == null) {
             return builder;
         }
 
         JsonMap wearableJson;
         try {
-            wearableJson = JsonValue.parseString(wearablePayload).optMap();
+            wearableJson = message.getJsonExtra(PushMessage.EXTRA_WEARABLE).optMap();
         } catch (JsonException e) {
             Logger.error("Failed to parse wearable payload.", e);
             return builder;
@@ -9,6 +9,7 @@ import com.urbanairship.Predicate;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -152,17 +153,35 @@ public class Observable<T> {
     }
 
     /**
-     * Maps values in an Observable stream to new values
+     * Maps values in an Observable stream to new values.
+     * <p>
+     * The mapping is applied directly to the upstream observer without creating intermediate
+     * Observables per value.
      *
      * @param func The map function
      * @param <R> The type under observation of the result Observable.
      * @return A mapped Observable.
      */
     public <R> Observable<R> map(final Function<T, R> func) {
-        return flatMap(new Function<T, Observable<R>>() {
+        return create(new Function<Observer<R>, Subscription>() {
             @Override
-            public Observable<R> apply(T value) {
-                return just(func.apply(value));
+            public Subscription apply(final Observer<R> observer) {
+                return subscribe(new Observer<T>() {
+                    @Override
+                    public void onNext(T value) {
+                        observer.onNext(func.apply(value));
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        observer.onCompleted();
+                    }
+
+                    @Override
+                    public void onError(Exception e) {
+                        observer.onError(e);
+                    }
+                });
             }
         });
     }
@@ -174,35 +193,377 @@ public class Observable<T> {
      * @return A filtered Observable.
      */
     public Observable<T> filter(final Predicate<T> pred) {
-        return flatMap(new Function<T, Observable<T>>() {
+        return create(new Function<Observer<T>, Subscription>() {
             @Override
-            public Observable<T> apply(T value) {
-                if (pred.apply(value)) {
-                    return just(value);
-                } else {
-                    return empty();
-                }
+            public Subscription apply(final Observer<T> observer) {
+                return subscribe(new Observer<T>() {
+                    @Override
+                    public void onNext(T value) {
+                        if (pred.apply(value)) {
+                            observer.onNext(value);
+                        }
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        observer.onCompleted();
+                    }
+
+                    @Override
+                    public void onError(Exception e) {
+                        observer.onError(e);
+                    }
+                });
             }
         });
     }
 
     /**
      * Transforms an Observable stream to only deliver callbacks if a new value is distinct from the previous one.
+     * <p>
+     * The previous value is tracked per subscription.
      *
      * @return A transformed Observable.
      */
     public Observable<T> distinctUntilChanged() {
-        final Holder<T> lastValue = new Holder<>();
-        return bind(new Function<T, Observable<T>>() {
+        return create(new Function<Observer<T>, Subscription>() {
             @Override
-            public Observable<T> apply(T value) {
-                if (lastValue.getValue() != null && value.equals(lastValue.getValue())) {
-                    return empty();
-                }
+            public Subscription apply(final Observer<T> observer) {
+                final Holder<T> lastValue = new Holder<>();
+                return subscribe(new Observer<T>() {
+                    @Override
+                    public void onNext(T value) {
+                        synchronized (lastValue) {
+                            if (lastValue.getValue() != null && lastValue.getValue().equals(value)) {
+                                return;
+                            }
+
+                            lastValue.setValue(value);
+                        }
+
+                        observer.onNext(value);
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        observer.onCompleted();
+                    }
+
+                    @Override
+                    public void onError(Exception e) {
+                        observer.onError(e);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Collects values into lists of the given size. Any remaining values are delivered as
+     * a smaller list when the source completes.
+     *
+     * @param count The number of values per list.
+     * @return A buffered Observable.
+     */
+    public Observable<List<T>> buffer(final int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Count must be greater than 0");
+        }
+
+        return create(new Function<Observer<List<T>>, Subscription>() {
+            @Override
+            public Subscription apply(final Observer<List<T>> observer) {
+                final Holder<List<T>> buffer = new Holder<List<T>>(new ArrayList<T>(count));
+                return subscribe(new Observer<T>() {
+                    @Override
+                    public void onNext(T value) {
+                        List<T> values = null;
+                        synchronized (buffer) {
+                            buffer.getValue().add(value);
+                            if (buffer.getValue().size() >= count) {
+                                values = buffer.getValue();
+                                buffer.setValue(new ArrayList<T>(count));
+                            }
+                        }
+
+                        if (values != null) {
+                            observer.onNext(values);
+                        }
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        List<T> values;
+                        synchronized (buffer) {
+                            values = buffer.getValue();
+                            buffer.setValue(new ArrayList<T>());
+                        }
+
+                        if (!values.isEmpty()) {
+                            observer.onNext(values);
+                        }
+                        observer.onCompleted();
+                    }
+
+                    @Override
+                    public void onError(Exception e) {
+                        observer.onError(e);
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Collects values into lists over a time window. The window opens with the first value
+     * received and the collected values are delivered on the scheduler once it closes.
+     *
+     * @param timeMs The window length in milliseconds.
+     * @param scheduler The scheduler.
+     * @return A buffered Observable.
+     */
+    public Observable<List<T>> buffer(final long timeMs, final Scheduler scheduler) {
+        return create(new Function<Observer<List<T>>, Subscription>() {
+            @Override
+            public Subscription apply(final Observer<List<T>> observer) {
+                final CompoundSubscription compoundSubscription = new CompoundSubscription();
+                final SerialSubscription scheduledSubscription = new SerialSubscription();
+                final Holder<List<T>> buffer = new Holder<List<T>>(new ArrayList<T>());
+
+                final Runnable flush = new Runnable() {
+                    @Override
+                    public void run() {
+                        List<T> values;
+                        synchronized (buffer) {
+                            values = buffer.getValue();
+                            buffer.setValue(new ArrayList<T>());
+                        }
+
+                        if (!values.isEmpty() && !compoundSubscription.isCancelled()) {
+                            observer.onNext(values);
+                        }
+                    }
+                };
+
+                compoundSubscription.add(scheduledSubscription);
+                compoundSubscription.add(subscribe(new Observer<T>() {
+                    @Override
+                    public void onNext(T value) {
+                        synchronized (buffer) {
+                            buffer.getValue().add(value);
+                            if (buffer.getValue().size() == 1) {
+                                scheduledSubscription.setSubscription(scheduler.schedule(flush, timeMs));
+                            }
+                        }
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        scheduledSubscription.setSubscription(scheduler.schedule(new Runnable() {
+                            @Override
+                            public void run() {
+                                flush.run();
+                                if (!compoundSubscription.isCancelled()) {
+                                    observer.onCompleted();
+                                }
+                            }
+                        }));
+                    }
 
-                lastValue.setValue(value);
+                    @Override
+                    public void onError(final Exception e) {
+                        scheduledSubscription.setSubscription(scheduler.schedule(new Runnable() {
+                            @Override
+                            public void run() {
+                                if (!compoundSubscription.isCancelled()) {
+                                    observer.onError(e);
+                                }
+                            }
+                        }));
+                    }
+                }));
 
-                return just(value);
+                return compoundSubscription;
+            }
+        });
+    }
+
+    /**
+     * Only delivers a value once the given quiet period has passed without another value being
+     * received. Values are delivered on the scheduler. A pending value is delivered before
+     * the stream completes.
+     *
+     * @param timeMs The quiet period in milliseconds.
+     * @param scheduler The scheduler.
+     * @return A debounced Observable.
+     */
+    public Observable<T> debounce(final long timeMs, final Scheduler scheduler) {
+        return create(new Function<Observer<T>, Subscription>() {
+            @Override
+            public Subscription apply(final Observer<T> observer) {
+                final CompoundSubscription compoundSubscription = new CompoundSubscription();
+                final SerialSubscription scheduledSubscription = new SerialSubscription();
+                final Holder<T> latest = new Holder<>();
+                final AtomicInteger generation = new AtomicInteger(0);
+
+                compoundSubscription.add(scheduledSubscription);
+                compoundSubscription.add(subscribe(new Observer<T>() {
+                    @Override
+                    public void onNext(T value) {
+                        synchronized (latest) {
+                            latest.setValue(value);
+                            final int current = generation.incrementAndGet();
+
+                            // Earlier emits see a newer generation and drop themselves
+                            scheduledSubscription.setSubscription(scheduler.schedule(new Runnable() {
+                                @Override
+                                public void run() {
+                                    emitLatest(current);
+                                }
+                            }, timeMs));
+                        }
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        final int current = generation.get();
+                        scheduledSubscription.setSubscription(scheduler.schedule(new Runnable() {
+                            @Override
+                            public void run() {
+                                emitLatest(current);
+                                if (!compoundSubscription.isCancelled()) {
+                                    observer.onCompleted();
+                                }
+                            }
+                        }));
+                    }
+
+                    @Override
+                    public void onError(final Exception e) {
+                        scheduledSubscription.setSubscription(scheduler.schedule(new Runnable() {
+                            @Override
+                            public void run() {
+                                if (!compoundSubscription.isCancelled()) {
+                                    observer.onError(e);
+                                }
+                            }
+                        }));
+                    }
+
+                    private void emitLatest(int expectedGeneration) {
+                        T value;
+                        synchronized (latest) {
+                            if (generation.get() != expectedGeneration || !latest.isSet()) {
+                                return;
+                            }
+
+                            value = latest.getValue();
+                            latest.clear();
+                        }
+
+                        if (!compoundSubscription.isCancelled()) {
+                            observer.onNext(value);
+                        }
+                    }
+                }));
+
+                return compoundSubscription;
+            }
+        });
+    }
+
+    /**
+     * Delivers at most one value per time window. The first value opens a window and is
+     * delivered right away, the latest value received during the window is delivered when the
+     * window closes. All values are delivered on the scheduler.
+     *
+     * @param timeMs The window length in milliseconds.
+     * @param scheduler The scheduler.
+     * @return A throttled Observable.
+     */
+    public Observable<T> throttleLatest(final long timeMs, final Scheduler scheduler) {
+        return create(new Function<Observer<T>, Subscription>() {
+            @Override
+            public Subscription apply(final Observer<T> observer) {
+                final CompoundSubscription compoundSubscription = new CompoundSubscription();
+                final SerialSubscription scheduledSubscription = new SerialSubscription();
+                final Holder<T> latest = new Holder<>();
+                final AtomicBoolean windowOpen = new AtomicBoolean(false);
+
+                final Runnable emit = new Runnable() {
+                    @Override
+                    public void run() {
+                        T value;
+                        synchronized (latest) {
+                            if (!latest.isSet()) {
+                                windowOpen.set(false);
+                                return;
+                            }
+
+                            value = latest.getValue();
+                            latest.clear();
+
+                            // Keep the window open for any values received after this one
+                            scheduledSubscription.setSubscription(scheduler.schedule(this, timeMs));
+                        }
+
+                        if (!compoundSubscription.isCancelled()) {
+                            observer.onNext(value);
+                        }
+                    }
+                };
+
+                compoundSubscription.add(scheduledSubscription);
+                compoundSubscription.add(subscribe(new Observer<T>() {
+                    @Override
+                    public void onNext(T value) {
+                        synchronized (latest) {
+                            latest.setValue(value);
+                            if (!windowOpen.getAndSet(true)) {
+                                scheduledSubscription.setSubscription(scheduler.schedule(emit));
+                            }
+                        }
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        scheduledSubscription.setSubscription(scheduler.schedule(new Runnable() {
+                            @Override
+                            public void run() {
+                                T value;
+                                boolean pending;
+                                synchronized (latest) {
+                                    pending = latest.isSet();
+                                    value = latest.getValue();
+                                    latest.clear();
+                                }
+
+                                if (compoundSubscription.isCancelled()) {
+                                    return;
+                                }
+
+                                if (pending) {
+                                    observer.onNext(value);
+                                }
+                                observer.onCompleted();
+                            }
+                        }));
+                    }
+
+                    @Override
+                    public void onError(final Exception e) {
+                        scheduledSubscription.setSubscription(scheduler.schedule(new Runnable() {
+                            @Override
+                            public void run() {
+                                if (!compoundSubscription.isCancelled()) {
+                                    observer.onError(e);
+                                }
+                            }
+                        }));
+                    }
+                }));
+
+                return compoundSubscription;
             }
         });
     }
@@ -622,15 +983,19 @@ public class Observable<T> {
      */
     private static class Holder<T> {
         private T value;
+        private boolean set;
 
         Holder() {};
 
         Holder(T initial) {
             this.value = initial;
+            this.set = true;
         }
 
         T getValue() { return value; };
-        void setValue(T v) { value = v; };
+        void setValue(T v) { value = v; set = true; };
+        boolean isSet() { return set; };
+        void clear() { value = null; set = false; };
     }
 
     /**
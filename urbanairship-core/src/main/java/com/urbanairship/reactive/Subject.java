@@ -4,10 +4,13 @@ package com.urbanairship.reactive;
 
 import android.support.annotation.RestrictTo;
 
-import java.util.ArrayList;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Subject implementation. A Subject is both an Observer and an Observable.
+ * <p>
+ * Observers are stored in a copy-on-write list, so emissions iterate a stable snapshot
+ * without locking or copying. Subscribing and unsubscribing pay the copy instead.
  *
  * @param <T> The type under observation.
  * @hide
@@ -15,15 +18,15 @@ import java.util.ArrayList;
 @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
 public class Subject<T> extends Observable<T> implements Observer<T> {
 
-    private ArrayList<Observer<T>> observers;
-    private boolean completed = false;
-    private Exception error;
+    private final CopyOnWriteArrayList<Observer<T>> observers;
+    private volatile boolean completed = false;
+    private volatile Exception error;
 
     /**
      * Subject constructor.
      */
     Subject() {
-        this.observers = new ArrayList<>();
+        this.observers = new CopyOnWriteArrayList<>();
     }
 
     /**
@@ -41,7 +44,7 @@ public class Subject<T> extends Observable<T> implements Observer<T> {
      *
      * @return {@code true} if an error has been observed, {@code false} otherwise.
      */
-    synchronized boolean hasError() {
+    boolean hasError() {
         return error != null;
     }
 
@@ -50,7 +53,7 @@ public class Subject<T> extends Observable<T> implements Observer<T> {
      *
      * @return {@code true} if the subject is completed, {@code false} otherwise.
      */
-    synchronized boolean isCompleted() {
+    boolean isCompleted() {
         return completed;
     }
 
@@ -59,48 +62,51 @@ public class Subject<T> extends Observable<T> implements Observer<T> {
      *
      * @return {@code true} if the subject has any subscribed observers, {@code false} otherwise.
      */
-    synchronized boolean hasObservers() {
-        return this.observers.size() > 0;
+    boolean hasObservers() {
+        return !this.observers.isEmpty();
     }
 
     @Override
-    synchronized
     public void onNext(T value) {
-        for (Observer<T> observer : new ArrayList<>(observers)) {
+        for (Observer<T> observer : observers) {
             observer.onNext(value);
         }
     }
 
     @Override
-    synchronized
     public void onCompleted() {
-        completed = true;
-        for (Observer<T> observer : new ArrayList<>(observers)) {
+        synchronized (this) {
+            completed = true;
+        }
+
+        for (Observer<T> observer : observers) {
             observer.onCompleted();
         }
     }
 
     @Override
-    synchronized
     public void onError(Exception e) {
-        error = e;
-        for (Observer<T> observer : new ArrayList<>(observers)) {
+        synchronized (this) {
+            error = e;
+        }
+
+        for (Observer<T> observer : observers) {
             observer.onError(e);
         }
     }
 
     @Override
-    synchronized
     public Subscription subscribe(final Observer<T> observer) {
-        if (!isCompleted() && !hasError()) {
-            observers.add(observer);
+        synchronized (this) {
+            if (!isCompleted() && !hasError()) {
+                observers.add(observer);
+            }
         }
+
         return Subscription.create(new Runnable() {
             @Override
             public void run() {
-                if (hasObservers()) {
-                    observers.remove(observer);
-                }
+                observers.remove(observer);
             }
         });
     }
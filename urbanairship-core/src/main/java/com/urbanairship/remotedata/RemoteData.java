@@ -48,6 +48,11 @@ public class RemoteData extends AirshipComponent {
      */
     private static final String DATABASE_NAME = "ua_remotedata.db";
 
+    /**
+     * Quiet period used to coalesce bursts of refresh responses into a single update.
+     */
+    private static final long UPDATE_DEBOUNCE_MS = 200;
+
     /**
      * The key for getting and setting the last modified timestamp from the preference datastore.
      */
@@ -239,7 +244,7 @@ public class RemoteData extends AirshipComponent {
      * @return An Observable of RemoteDataPayload.
      */
     public Observable<Collection<RemoteDataPayload>> payloadsForTypes(@NonNull final Collection<String> types) {
-        return Observable.concat(cachedPayloads(types), payloadUpdates)
+        return Observable.concat(cachedPayloads(types), debouncedPayloadUpdates())
                          .map(new Function<Set<RemoteDataPayload>, Map<String, Collection<RemoteDataPayload>>>() {
                              @Override
                              public Map<String, Collection<RemoteDataPayload>> apply(Set<RemoteDataPayload> payloads) {
@@ -335,6 +340,21 @@ public class RemoteData extends AirshipComponent {
         });
     }
 
+    /**
+     * Produces an Observable of payload updates that only emits the latest update of a burst.
+     * Updates are delivered on the background thread.
+     *
+     * @return An Observable of RemoteDataPayload sets.
+     */
+    private Observable<Set<RemoteDataPayload>> debouncedPayloadUpdates() {
+        return Observable.defer(new Supplier<Observable<Set<RemoteDataPayload>>>() {
+            @Override
+            public Observable<Set<RemoteDataPayload>> apply() {
+                return payloadUpdates.debounce(UPDATE_DEBOUNCE_MS, Schedulers.looper(backgroundHandler.getLooper()));
+            }
+        });
+    }
+
     @WorkerThread
     private void overwriteCachedData(final Set<RemoteDataPayload> newPayloads) {
         // Clear the cache
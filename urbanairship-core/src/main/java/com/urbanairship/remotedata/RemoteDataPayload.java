@@ -6,6 +6,7 @@ import android.support.annotation.NonNull;
 import android.support.annotation.RestrictTo;
 
 import com.urbanairship.Logger;
+import com.urbanairship.json.JsonCompactor;
 import com.urbanairship.json.JsonException;
 import com.urbanairship.json.JsonList;
 import com.urbanairship.json.JsonMap;
@@ -39,7 +40,7 @@ public class RemoteDataPayload {
     public RemoteDataPayload(String type, long timestamp, JsonMap data) {
         this.type = type;
         this.timestamp = timestamp;
-        this.data = data;
+        this.data = data == null ? null : JsonCompactor.compact(data.toJsonValue()).optMap();
     }
 
     /**
@@ -51,7 +52,8 @@ public class RemoteDataPayload {
     RemoteDataPayload(RemoteDataPayloadEntry entry) throws JsonException {
         this.type = entry.type;
         this.timestamp = entry.timestamp;
-        this.data = JsonValue.parseString(entry.data).getMap();
+        JsonMap data = JsonValue.parseString(entry.data).getMap();
+        this.data = data == null ? null : JsonCompactor.compact(data.toJsonValue()).optMap();
     }
 
     /**
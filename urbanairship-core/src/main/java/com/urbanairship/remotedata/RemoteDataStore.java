@@ -11,7 +11,6 @@ import android.support.annotation.RestrictTo;
 import com.urbanairship.Logger;
 import com.urbanairship.json.JsonException;
 import com.urbanairship.util.DataManager;
-import com.urbanairship.util.UAStringUtil;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -61,31 +60,30 @@ public class RemoteDataStore extends DataManager {
      * @param payloads The payloads.
      * @return A boolean indicating success.
      */
-    public boolean savePayloads(@NonNull Set<RemoteDataPayload> payloads) {
+    public boolean savePayloads(@NonNull final Set<RemoteDataPayload> payloads) {
         if (payloads.isEmpty()) {
             return true;
         }
 
-        final SQLiteDatabase db = getWritableDatabase();
-        if (db == null) {
-            Logger.error("RemoteDataStore - Unable to save remote data payloads.");
-            return false;
-        }
-
-        db.beginTransaction();
-
-        for (RemoteDataPayload payload : payloads) {
-            RemoteDataPayloadEntry entry = new RemoteDataPayloadEntry(payload);
-            if (!entry.save(db)) {
-                db.endTransaction();
-                return false;
+        boolean success = runInTransaction("savePayloads", new TransactionOperation() {
+            @Override
+            public boolean perform(@NonNull SQLiteDatabase db) {
+                for (RemoteDataPayload payload : payloads) {
+                    RemoteDataPayloadEntry entry = new RemoteDataPayloadEntry(payload);
+                    if (!entry.save(db)) {
+                        return false;
+                    }
+                }
+
+                return true;
             }
-        }
+        });
 
-        db.setTransactionSuccessful();
-        db.endTransaction();
+        if (!success) {
+            Logger.error("RemoteDataStore - Unable to save remote data payloads.");
+        }
 
-        return true;
+        return success;
     }
 
     public boolean savePayload(@NonNull RemoteDataPayload payload) {
@@ -121,7 +119,7 @@ public class RemoteDataStore extends DataManager {
             cursor = this.query(RemoteDataPayloadEntry.TABLE_NAME, null,
                     null, null, null);
         } else {
-            String where = RemoteDataPayloadEntry.COLUMN_NAME_TYPE + " IN ( " + UAStringUtil.repeat("?", types.size(), ", ") + " )";
+            String where = RemoteDataPayloadEntry.COLUMN_NAME_TYPE + " IN ( " + placeholders(types.size()) + " )";
 
             cursor = this.query(RemoteDataPayloadEntry.TABLE_NAME, null,
                     where, types.toArray(new String[types.size()]), null);
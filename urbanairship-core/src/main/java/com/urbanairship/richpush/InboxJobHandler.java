@@ -16,11 +16,16 @@ import com.urbanairship.json.JsonException;
 import com.urbanairship.json.JsonList;
 import com.urbanairship.json.JsonMap;
 import com.urbanairship.json.JsonValue;
+import com.urbanairship.util.FileUtils;
 import com.urbanairship.util.UAStringUtil;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.net.URLConnection;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -28,6 +33,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Job handler for {@link RichPushInbox} component.
@@ -44,6 +51,11 @@ class InboxJobHandler {
      */
     static final String ACTION_SYNC_MESSAGE_STATE = "ACTION_SYNC_MESSAGE_STATE";
 
+    /**
+     * Starts the service to prefetch the message bodies of unread messages.
+     */
+    static final String ACTION_PREFETCH_MESSAGE_BODIES = "ACTION_PREFETCH_MESSAGE_BODIES";
+
     /**
      * Starts the service in order to update just the {@link RichPushUser} itself.
      */
@@ -76,6 +88,20 @@ class InboxJobHandler {
     private static final String PAYLOAD_ANDROID_CHANNELS_KEY = "android_channels";
     private static final String PAYLOAD_ADD_KEY = "add";
 
+    private static final String DEFAULT_MIME_TYPE = "text/html";
+    private static final String DEFAULT_ENCODING = "UTF-8";
+    private static final int MAX_RESOURCES_PER_MESSAGE = 20;
+
+    /**
+     * Matches src and href attributes.
+     */
+    private static final Pattern RESOURCE_PATTERN = Pattern.compile("(?:src|href)\\s*=\\s*[\"']([^\"']+)[\"']", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * Matches static resource paths.
+     */
+    private static final Pattern STATIC_RESOURCE_PATTERN = Pattern.compile(".*\\.(png|jpe?g|gif|webp|svg|css|js|woff2?|ttf)$", Pattern.CASE_INSENSITIVE);
+
     private final RichPushResolver resolver;
     private final String hostUrl;
     private final RichPushUser user;
@@ -118,6 +144,10 @@ class InboxJobHandler {
             case ACTION_SYNC_MESSAGE_STATE:
                 onSyncMessages();
                 break;
+
+            case ACTION_PREFETCH_MESSAGE_BODIES:
+                onPrefetchMessageBodies();
+                break;
         }
 
         return JobInfo.JOB_FINISHED;
@@ -136,6 +166,10 @@ class InboxJobHandler {
             airship.getInbox().onUpdateMessagesFinished(success);
             this.syncReadMessageState();
             this.syncDeletedMessageState();
+
+            if (success && airship.getInbox().isMessageBodyPrefetchEnabled()) {
+                airship.getInbox().dispatchMessageBodyPrefetch();
+            }
         }
     }
 
@@ -232,6 +266,123 @@ class InboxJobHandler {
     }
 
 
+    /**
+     * Downloads the bodies of unread messages and their static resources into the
+     * {@link MessageBodyCache}, and drops cached bodies of messages that are no longer in the inbox.
+     */
+    private void onPrefetchMessageBodies() {
+        if (!RichPushUser.isCreated() || !airship.getInbox().isMessageBodyPrefetchEnabled()) {
+            return;
+        }
+
+        MessageBodyCache cache = airship.getInbox().getMessageBodyCache();
+
+        for (RichPushMessage message : airship.getInbox().getUnreadMessages()) {
+            String bodyUrl = message.getMessageBodyUrl();
+            if (bodyUrl == null || cache.contains(bodyUrl)) {
+                continue;
+            }
+
+            try {
+                prefetchMessageBody(cache, message);
+            } catch (IOException e) {
+                Logger.debug("InboxJobHandler - Failed to prefetch message " + message.getMessageId(), e);
+            }
+        }
+
+        cache.retain(airship.getInbox().getMessageIds());
+        Logger.verbose("InboxJobHandler - Message body cache size: " + cache.getSizeBytes() + " bytes");
+    }
+
+    /**
+     * Downloads a message body and its static resources into the cache.
+     *
+     * @param cache The message body cache.
+     * @param message The message.
+     * @throws IOException If the body could not be cached.
+     */
+    private void prefetchMessageBody(@NonNull MessageBodyCache cache, @NonNull RichPushMessage message) throws IOException {
+        URL bodyUrl = new URL(message.getMessageBodyUrl());
+        Response response = requestFactory.createRequest("GET", bodyUrl)
+                                          .setCredentials(user.getId(), user.getPassword())
+                                          .execute();
+
+        if (response == null || response.getStatus() != HttpURLConnection.HTTP_OK || response.getResponseBody() == null) {
+            Logger.debug("InboxJobHandler - Unable to prefetch message " + message.getMessageId() + ": " + response);
+            return;
+        }
+
+        // The body is decoded as a string by the request, cache it as UTF-8
+        String mimeType = DEFAULT_MIME_TYPE;
+        String contentType = response.getResponseHeader("Content-Type");
+        if (!UAStringUtil.isEmpty(contentType)) {
+            mimeType = contentType.split(";")[0].trim();
+        }
+
+        String body = response.getResponseBody();
+        File bodyFile = cache.createTempFile();
+        FileOutputStream outputStream = new FileOutputStream(bodyFile);
+        try {
+            outputStream.write(body.getBytes(DEFAULT_ENCODING));
+        } finally {
+            outputStream.close();
+        }
+
+        cache.put(bodyUrl.toString(), mimeType, DEFAULT_ENCODING, message.getMessageId(), bodyFile);
+
+        for (URL resourceUrl : findStaticResources(bodyUrl, body)) {
+            // Shared with a message that is already cached
+            if (cache.addMessageId(resourceUrl.toString(), message.getMessageId())) {
+                continue;
+            }
+
+            File resourceFile = cache.createTempFile();
+            try {
+                FileUtils.DownloadResult result = FileUtils.downloadFile(resourceUrl, resourceFile);
+                if (result.isSuccess) {
+                    String resourceMimeType = URLConnection.guessContentTypeFromName(resourceUrl.getPath());
+                    if (resourceMimeType == null) {
+                        resourceMimeType = "application/octet-stream";
+                    }
+
+                    cache.put(resourceUrl.toString(), resourceMimeType, null, message.getMessageId(), resourceFile);
+                }
+            } catch (IOException e) {
+                Logger.debug("InboxJobHandler - Failed to prefetch resource " + resourceUrl, e);
+            } finally {
+                // No-op if the file was moved into the cache
+                resourceFile.delete();
+            }
+        }
+    }
+
+    /**
+     * Finds static resources (images, style sheets, scripts and fonts) referenced by a message body.
+     *
+     * @param baseUrl The message body URL.
+     * @param body The message body.
+     * @return The resource URLs.
+     */
+    @NonNull
+    private static Set<URL> findStaticResources(@NonNull URL baseUrl, @NonNull String body) {
+        Set<URL> urls = new HashSet<>();
+
+        Matcher matcher = RESOURCE_PATTERN.matcher(body);
+        while (matcher.find() && urls.size() < MAX_RESOURCES_PER_MESSAGE) {
+            try {
+                URL url = new URL(baseUrl, matcher.group(1));
+                String protocol = url.getProtocol();
+                if (("http".equals(protocol) || "https".equals(protocol)) && STATIC_RESOURCE_PATTERN.matcher(url.getPath()).matches()) {
+                    urls.add(url);
+                }
+            } catch (MalformedURLException e) {
+                Logger.verbose("InboxJobHandler - Ignoring invalid resource URL: " + matcher.group(1));
+            }
+        }
+
+        return urls;
+    }
+
     /**
      * Update the Rich Push Inbox.
      *
@@ -0,0 +1,549 @@
+/* Copyright 2018 Urban Airship and Contributors */
+
+package com.urbanairship.richpush;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.RestrictTo;
+import android.support.annotation.WorkerThread;
+import android.webkit.WebResourceResponse;
+
+import com.urbanairship.Logger;
+import com.urbanairship.json.JsonException;
+import com.urbanairship.json.JsonList;
+import com.urbanairship.json.JsonMap;
+import com.urbanairship.json.JsonValue;
+import com.urbanairship.util.FileUtils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size bounded, content addressed disk cache for prefetched Message Center message bodies and
+ * their static resources.
+ * <p>
+ * Each file is stored under the SHA-256 of its content, so a resource shared by several messages is
+ * only stored once. An index maps URLs to files and is kept in least recently used order. Each URL
+ * tracks the messages that reference it and is kept until none of them are left. When the cache
+ * grows past its max size the least recently used URLs are evicted.
+ *
+ * @hide
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+public class MessageBodyCache {
+
+    /**
+     * Default max size of the cache in bytes.
+     */
+    static final long DEFAULT_MAX_SIZE_BYTES = 10 * 1024 * 1024; // 10 MB
+
+    private static final String INDEX_FILE = "index.json";
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final String URL_KEY = "url";
+    private static final String HASH_KEY = "hash";
+    private static final String MIME_TYPE_KEY = "mime_type";
+    private static final String ENCODING_KEY = "encoding";
+    private static final String SIZE_KEY = "size";
+    private static final String MESSAGE_IDS_KEY = "message_ids";
+
+    private final File directory;
+    private final long maxSizeBytes;
+
+    // Access ordered, eldest entry is the least recently used
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Number of URLs that reference each content file
+    private final Map<String, Integer> hashReferences = new HashMap<>();
+    private long sizeBytes;
+    private boolean isLoaded;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+
+    /**
+     * Default constructor.
+     *
+     * @param directory The cache directory.
+     * @param maxSizeBytes The max size of the cache in bytes.
+     */
+    MessageBodyCache(@NonNull File directory, long maxSizeBytes) {
+        this.directory = directory;
+        this.maxSizeBytes = maxSizeBytes;
+    }
+
+    /**
+     * Checks if a URL is cached.
+     *
+     * @param url The URL.
+     * @return {@code true} if the URL is cached, otherwise {@code false}.
+     */
+    @WorkerThread
+    public synchronized boolean contains(@NonNull String url) {
+        load();
+        return entries.containsKey(url);
+    }
+
+    /**
+     * Adds a message to the messages that reference a cached URL.
+     *
+     * @param url The URL.
+     * @param messageId The message ID.
+     * @return {@code true} if the URL is cached, otherwise {@code false}.
+     */
+    @WorkerThread
+    public synchronized boolean addMessageId(@NonNull String url, @NonNull String messageId) {
+        load();
+
+        Entry entry = entries.get(url);
+        if (entry == null) {
+            return false;
+        }
+
+        if (entry.messageIds.add(messageId)) {
+            saveIndex();
+        }
+
+        return true;
+    }
+
+    /**
+     * Gets a cached response.
+     *
+     * @param url The URL.
+     * @param countMiss {@code true} to count a miss towards the hit ratio if the URL is not cached.
+     * @return The cached response, or {@code null} if the URL is not cached.
+     */
+    @WorkerThread
+    @Nullable
+    public WebResourceResponse get(@NonNull String url, boolean countMiss) {
+        Entry entry;
+        File file;
+
+        synchronized (this) {
+            load();
+            entry = entries.get(url);
+            if (entry == null) {
+                if (countMiss) {
+                    missCount.incrementAndGet();
+                }
+                return null;
+            }
+
+            file = new File(directory, entry.hash);
+        }
+
+        InputStream inputStream;
+        try {
+            inputStream = new FileInputStream(file);
+        } catch (FileNotFoundException e) {
+            Logger.debug("MessageBodyCache - Cached file missing for " + url);
+            remove(url);
+            if (countMiss) {
+                missCount.incrementAndGet();
+            }
+            return null;
+        }
+
+        hitCount.incrementAndGet();
+        bytesSaved.addAndGet(entry.size);
+        return new WebResourceResponse(entry.mimeType, entry.encoding, inputStream);
+    }
+
+    /**
+     * Creates a temp file in the cache directory to download into before calling
+     * {@link #put(String, String, String, String, File)}.
+     *
+     * @return The temp file.
+     * @throws IOException If the file could not be created.
+     */
+    @WorkerThread
+    @NonNull
+    public synchronized File createTempFile() throws IOException {
+        load();
+
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Unable to create cache directory");
+        }
+
+        return File.createTempFile("download", ".tmp", directory);
+    }
+
+    /**
+     * Adds a downloaded file to the cache. The file is moved into the cache, or deleted if the
+     * cache already has a file with the same content.
+     *
+     * @param url The URL the file was downloaded from.
+     * @param mimeType The mime type.
+     * @param encoding The encoding, or {@code null} for binary content.
+     * @param messageId The ID of the message that references the URL.
+     * @param file A file created with {@link #createTempFile()}.
+     * @throws IOException If the file could not be moved into the cache.
+     */
+    @WorkerThread
+    public synchronized void put(@NonNull String url, @NonNull String mimeType, @Nullable String encoding,
+                                 @NonNull String messageId, @NonNull File file) throws IOException {
+        load();
+
+        String hash = hash(file);
+        File target = new File(directory, hash);
+        if (target.exists()) {
+            // Content is already cached for another URL
+            file.delete();
+        } else if (!file.renameTo(target)) {
+            file.delete();
+            throw new IOException("Unable to move file into cache: " + target);
+        }
+
+        Entry entry = new Entry(hash, mimeType, encoding, target.length(), Collections.singleton(messageId));
+        Entry previous = entries.put(url, entry);
+        addReference(entry);
+
+        if (previous != null) {
+            entry.messageIds.addAll(previous.messageIds);
+            releaseReference(previous);
+        }
+
+        trim();
+        saveIndex();
+    }
+
+    /**
+     * Drops the messages that are not in the given list, and removes every URL that is no longer
+     * referenced by any message.
+     *
+     * @param messageIds The IDs of the messages to keep.
+     */
+    @WorkerThread
+    public synchronized void retain(@NonNull Collection<String> messageIds) {
+        load();
+
+        boolean changed = false;
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (!entry.messageIds.retainAll(messageIds)) {
+                continue;
+            }
+
+            changed = true;
+            if (entry.messageIds.isEmpty()) {
+                iterator.remove();
+                releaseReference(entry);
+            }
+        }
+
+        if (changed) {
+            saveIndex();
+        }
+    }
+
+    /**
+     * Removes a URL from the cache.
+     *
+     * @param url The URL.
+     */
+    @WorkerThread
+    public synchronized void remove(@NonNull String url) {
+        load();
+
+        Entry entry = entries.remove(url);
+        if (entry != null) {
+            releaseReference(entry);
+            saveIndex();
+        }
+    }
+
+    /**
+     * Deletes everything in the cache.
+     */
+    @WorkerThread
+    public synchronized void clear() {
+        entries.clear();
+        hashReferences.clear();
+        sizeBytes = 0;
+        isLoaded = true;
+        FileUtils.deleteRecursively(directory);
+    }
+
+    /**
+     * Gets the size of the cached files. Content shared by several URLs is only counted once.
+     *
+     * @return The cache size in bytes.
+     */
+    @WorkerThread
+    public synchronized long getSizeBytes() {
+        load();
+        return sizeBytes;
+    }
+
+    /**
+     * Gets the number of requests served from the cache.
+     *
+     * @return The hit count.
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Gets the number of message requests that were not in the cache.
+     *
+     * @return The miss count.
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Gets the ratio of message requests served from the cache.
+     *
+     * @return The hit ratio between 0 and 1.
+     */
+    public float getHitRatio() {
+        long hits = hitCount.get();
+        long total = hits + missCount.get();
+        return total == 0 ? 0 : (float) hits / total;
+    }
+
+    /**
+     * Gets the number of bytes served from the cache instead of the network.
+     *
+     * @return The bytes saved.
+     */
+    public long getBytesSaved() {
+        return bytesSaved.get();
+    }
+
+    /**
+     * Evicts the least recently used URLs until the cache fits its max size.
+     */
+    private void trim() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (sizeBytes > maxSizeBytes && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            iterator.remove();
+            releaseReference(entry);
+        }
+    }
+
+    /**
+     * Adds a reference to the entry's content file. The file size is only counted for the first
+     * reference.
+     *
+     * @param entry The entry that was added to the index.
+     */
+    private void addReference(@NonNull Entry entry) {
+        Integer count = hashReferences.get(entry.hash);
+        if (count == null) {
+            hashReferences.put(entry.hash, 1);
+            sizeBytes += entry.size;
+        } else {
+            hashReferences.put(entry.hash, count + 1);
+        }
+    }
+
+    /**
+     * Releases a reference to the entry's content file. The file is deleted and its size is
+     * subtracted once the last reference is released.
+     *
+     * @param entry The entry that was removed from the index.
+     */
+    private void releaseReference(@NonNull Entry entry) {
+        Integer count = hashReferences.get(entry.hash);
+        if (count != null && count > 1) {
+            hashReferences.put(entry.hash, count - 1);
+            return;
+        }
+
+        hashReferences.remove(entry.hash);
+        sizeBytes -= entry.size;
+        new File(directory, entry.hash).delete();
+    }
+
+    /**
+     * Loads the index from disk.
+     */
+    private void load() {
+        if (isLoaded) {
+            return;
+        }
+
+        isLoaded = true;
+
+        // Drop downloads that were interrupted
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (file.getName().endsWith(".tmp")) {
+                    file.delete();
+                }
+            }
+        }
+
+        File indexFile = new File(directory, INDEX_FILE);
+        if (!indexFile.exists()) {
+            return;
+        }
+
+        try {
+            JsonList index = JsonValue.parseString(new String(readFile(indexFile), "UTF-8")).optList();
+            for (JsonValue value : index) {
+                JsonMap map = value.optMap();
+                String url = map.opt(URL_KEY).getString();
+                String hash = map.opt(HASH_KEY).getString();
+                String mimeType = map.opt(MIME_TYPE_KEY).getString();
+
+                Set<String> messageIds = new HashSet<>();
+                for (JsonValue messageId : map.opt(MESSAGE_IDS_KEY).optList()) {
+                    if (messageId.isString()) {
+                        messageIds.add(messageId.getString());
+                    }
+                }
+
+                if (url == null || hash == null || mimeType == null || messageIds.isEmpty() || !new File(directory, hash).exists()) {
+                    continue;
+                }
+
+                Entry entry = new Entry(hash, mimeType, map.opt(ENCODING_KEY).getString(), map.opt(SIZE_KEY).getLong(0), messageIds);
+                entries.put(url, entry);
+                addReference(entry);
+            }
+        } catch (IOException | JsonException e) {
+            Logger.error("MessageBodyCache - Unable to read index, clearing cache.", e);
+            clear();
+        }
+    }
+
+    /**
+     * Writes the index to disk in least recently used order.
+     */
+    private void saveIndex() {
+        List<JsonValue> index = new ArrayList<>(entries.size());
+        for (Map.Entry<String, Entry> mapEntry : entries.entrySet()) {
+            Entry entry = mapEntry.getValue();
+            index.add(JsonMap.newBuilder()
+                             .put(URL_KEY, mapEntry.getKey())
+                             .put(HASH_KEY, entry.hash)
+                             .put(MIME_TYPE_KEY, entry.mimeType)
+                             .putOpt(ENCODING_KEY, entry.encoding)
+                             .put(SIZE_KEY, entry.size)
+                             .putOpt(MESSAGE_IDS_KEY, entry.messageIds)
+                             .build()
+                             .toJsonValue());
+        }
+
+        OutputStream outputStream = null;
+        try {
+            File temp = createTempFile();
+            outputStream = new FileOutputStream(temp);
+            outputStream.write(JsonValue.wrapOpt(index).toString().getBytes("UTF-8"));
+            outputStream.close();
+            outputStream = null;
+
+            if (!temp.renameTo(new File(directory, INDEX_FILE))) {
+                temp.delete();
+                Logger.error("MessageBodyCache - Unable to save index.");
+            }
+        } catch (IOException e) {
+            Logger.error("MessageBodyCache - Unable to save index.", e);
+        } finally {
+            closeQuietly(outputStream);
+        }
+    }
+
+    @NonNull
+    private static String hash(@NonNull File file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("SHA-256 is not available", e);
+        }
+
+        InputStream inputStream = new FileInputStream(file);
+        try {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int bytesRead;
+            while ((bytesRead = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, bytesRead);
+            }
+        } finally {
+            closeQuietly(inputStream);
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (byte b : digest.digest()) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    @NonNull
+    private static byte[] readFile(@NonNull File file) throws IOException {
+        InputStream inputStream = new FileInputStream(file);
+        try {
+            byte[] bytes = new byte[(int) file.length()];
+            int offset = 0;
+            int bytesRead;
+            while (offset < bytes.length && (bytesRead = inputStream.read(bytes, offset, bytes.length - offset)) != -1) {
+                offset += bytesRead;
+            }
+            return bytes;
+        } finally {
+            closeQuietly(inputStream);
+        }
+    }
+
+    private static void closeQuietly(@Nullable Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            Logger.debug("MessageBodyCache - Failed to close stream.", e);
+        }
+    }
+
+    /**
+     * Cached URL.
+     */
+    private static class Entry {
+
+        final String hash;
+        final String mimeType;
+        final String encoding;
+        final long size;
+        final Set<String> messageIds;
+
+        Entry(@NonNull String hash, @NonNull String mimeType, @Nullable String encoding, long size, @NonNull Collection<String> messageIds) {
+            this.hash = hash;
+            this.mimeType = mimeType;
+            this.encoding = encoding;
+            this.size = size;
+            this.messageIds = new HashSet<>(messageIds);
+        }
+    }
+}
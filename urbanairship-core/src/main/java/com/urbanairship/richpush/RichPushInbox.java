@@ -15,6 +15,7 @@ import android.support.annotation.WorkerThread;
 
 import com.urbanairship.ActivityMonitor;
 import com.urbanairship.AirshipComponent;
+import com.urbanairship.AirshipExecutors;
 import com.urbanairship.Cancelable;
 import com.urbanairship.CancelableOperation;
 import com.urbanairship.PreferenceDataStore;
@@ -27,6 +28,7 @@ import com.urbanairship.messagecenter.MessageActivity;
 import com.urbanairship.messagecenter.MessageCenterActivity;
 import com.urbanairship.util.UAStringUtil;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -38,7 +40,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 
 
 /**
@@ -108,6 +109,9 @@ public class RichPushInbox extends AirshipComponent {
      */
     public static final String MESSAGE_DATA_SCHEME = "message";
 
+    private static final String MESSAGE_BODY_PREFETCH_ENABLED_KEY = "com.urbanairship.richpush.MESSAGE_BODY_PREFETCH_ENABLED";
+    private static final String MESSAGE_BODY_CACHE_DIRECTORY = "com.urbanairship.richpush.message_bodies";
+
     private static final SentAtRichPushMessageComparator MESSAGE_COMPARATOR = new SentAtRichPushMessageComparator();
 
     private final static Object inboxLock = new Object();
@@ -120,6 +124,7 @@ public class RichPushInbox extends AirshipComponent {
     private final RichPushResolver richPushResolver;
     private final RichPushUser user;
     private final Executor executor;
+    private final Executor prefetchExecutor = AirshipExecutors.newSerialExecutor("RichPushInbox.Prefetch");
     private final Context context;
     private final Handler handler = new Handler(Looper.getMainLooper());
     private final PreferenceDataStore dataStore;
@@ -129,6 +134,7 @@ public class RichPushInbox extends AirshipComponent {
 
     private boolean isFetchingMessages = false;
     private InboxJobHandler inboxJobHandler;
+    private MessageBodyCache messageBodyCache;
 
 
     private final List<PendingFetchMessagesCallback> pendingFetchCallbacks = new ArrayList<>();
@@ -142,7 +148,7 @@ public class RichPushInbox extends AirshipComponent {
      */
     public RichPushInbox(Context context, PreferenceDataStore dataStore, ActivityMonitor activityMonitor) {
         this(context, dataStore, JobDispatcher.shared(context), new RichPushUser(dataStore, JobDispatcher.shared(context)),
-                new RichPushResolver(context), Executors.newSingleThreadExecutor(), activityMonitor);
+                new RichPushResolver(context), AirshipExecutors.newSerialExecutor("RichPushInbox"), activityMonitor);
     }
 
     /**
@@ -222,6 +228,21 @@ public class RichPushInbox extends AirshipComponent {
         return inboxJobHandler.performJob(jobInfo);
     }
 
+    /**
+     * @hide
+     */
+    @NonNull
+    @Override
+    @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+    public Executor getJobExecutor(JobInfo jobInfo) {
+        // Downloads can take a while, keep them from holding up inbox syncs
+        if (InboxJobHandler.ACTION_PREFETCH_MESSAGE_BODIES.equals(jobInfo.getAction())) {
+            return prefetchExecutor;
+        }
+
+        return super.getJobExecutor(jobInfo);
+    }
+
     @Override
     protected void tearDown() {
         activityMonitor.removeListener(listener);
@@ -236,6 +257,66 @@ public class RichPushInbox extends AirshipComponent {
         return user;
     }
 
+    /**
+     * Enables or disables prefetching message bodies. When enabled, the bodies of unread messages
+     * and their static resources are downloaded after the inbox is refreshed, so messages open
+     * without waiting on the network and can be viewed offline. Disabled by default.
+     *
+     * @param enabled {@code true} to prefetch message bodies, otherwise {@code false}.
+     */
+    public void setMessageBodyPrefetchEnabled(boolean enabled) {
+        dataStore.put(MESSAGE_BODY_PREFETCH_ENABLED_KEY, enabled);
+
+        if (!enabled) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    getMessageBodyCache().clear();
+                }
+            });
+        }
+    }
+
+    /**
+     * Checks if message bodies are prefetched.
+     *
+     * @return {@code true} if message bodies are prefetched, otherwise {@code false}.
+     */
+    public boolean isMessageBodyPrefetchEnabled() {
+        return dataStore.getBoolean(MESSAGE_BODY_PREFETCH_ENABLED_KEY, false);
+    }
+
+    /**
+     * Dispatches a job to prefetch the message bodies of unread messages.
+     */
+    void dispatchMessageBodyPrefetch() {
+        JobInfo jobInfo = JobInfo.newBuilder()
+                                 .setAction(InboxJobHandler.ACTION_PREFETCH_MESSAGE_BODIES)
+                                 .setId(JobInfo.RICH_PUSH_PREFETCH_MESSAGE_BODIES)
+                                 .setNetworkAccessRequired(true)
+                                 .setAirshipComponent(RichPushInbox.class)
+                                 .build();
+
+        jobDispatcher.dispatch(jobInfo);
+    }
+
+    /**
+     * Gets the prefetched message body cache.
+     *
+     * @return The message body cache.
+     * @hide
+     */
+    @NonNull
+    @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+    public synchronized MessageBodyCache getMessageBodyCache() {
+        if (messageBodyCache == null) {
+            File directory = new File(context.getCacheDir(), MESSAGE_BODY_CACHE_DIRECTORY);
+            messageBodyCache = new MessageBodyCache(directory, MessageBodyCache.DEFAULT_MAX_SIZE_BYTES);
+        }
+
+        return messageBodyCache;
+    }
+
     /**
      * Starts an activity that can display the Message Center. An implicit intent with the intent
      * action {@code com.urbanairship.VIEW_RICH_PUSH_INBOX} will be attempted first. If the intent
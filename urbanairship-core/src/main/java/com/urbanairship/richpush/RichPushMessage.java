@@ -7,6 +7,7 @@ import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
 import com.urbanairship.UAirship;
+import com.urbanairship.json.JsonCompactor;
 import com.urbanairship.json.JsonMap;
 import com.urbanairship.json.JsonValue;
 import com.urbanairship.util.DateUtils;
@@ -59,6 +60,9 @@ public class RichPushMessage implements Comparable<RichPushMessage> {
      * @return A RichPushMessage instance, or {@code null} if the message payload is invalid.
      */
     static RichPushMessage create(JsonValue messagePayload, boolean unreadClient, boolean deleted) {
+        // Messages stay in memory for as long as they are in the inbox
+        messagePayload = JsonCompactor.compact(messagePayload);
+
         JsonMap messageMap = messagePayload.getMap();
         if (messageMap == null) {
             return null;
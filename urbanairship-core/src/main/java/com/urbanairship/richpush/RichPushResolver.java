@@ -172,8 +172,7 @@ class RichPushResolver extends UrbanAirshipResolver {
      * @return Count of messages that were deleted.
      */
     int deleteMessages(@NonNull Set<String> messageIds) {
-        String query = RichPushTable.COLUMN_NAME_MESSAGE_ID + " IN ( " + UAStringUtil.repeat("?", messageIds.size(), ", ") + " )";
-        return this.delete(this.uri,query, messageIds.toArray(new String[messageIds.size()]));
+        return this.deleteIn(this.uri, RichPushTable.COLUMN_NAME_MESSAGE_ID, messageIds);
     }
 
 
@@ -227,10 +226,7 @@ class RichPushResolver extends UrbanAirshipResolver {
      * @return Count of messages that where updated.
      */
     private int updateMessages(@NonNull Set<String> messageIds, @NonNull ContentValues values) {
-        return this.update(this.uri,
-                values,
-                RichPushTable.COLUMN_NAME_MESSAGE_ID + " IN ( " + UAStringUtil.repeat("?", messageIds.size(), ", ") + " )",
-                messageIds.toArray(new String[messageIds.size()]));
+        return this.updateIn(this.uri, values, RichPushTable.COLUMN_NAME_MESSAGE_ID, messageIds);
     }
 
 
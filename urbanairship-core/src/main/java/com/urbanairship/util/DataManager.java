@@ -9,21 +9,32 @@ import android.database.Cursor;
 import android.database.SQLException;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteException;
+import android.database.sqlite.SQLiteDoneException;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
 import android.os.Build;
 import android.os.SystemClock;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
+import android.support.annotation.RestrictTo;
+import android.util.LruCache;
 
 import com.urbanairship.Logger;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * An abstract class to manage a SQLiteDatabase.
+ * <p>
+ * Databases are opened with write-ahead logging so reads are not blocked by writes. Subclasses can
+ * run hot statements through a cache of compiled {@link SQLiteStatement}s, run batches inside a
+ * single transaction, and every operation is timed.
  */
 public abstract class DataManager {
     private static final int MAX_ATTEMPTS = 3;
@@ -31,6 +42,117 @@ public abstract class DataManager {
 
     private static final String DATABASE_DIRECTORY_NAME = "com.urbanairship.databases";
 
+    /**
+     * Maximum SQL argument count.
+     *
+     * @hide
+     */
+    @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+    public static final int MAX_ARG_COUNT = 999;
+
+    /**
+     * Max number of cached compiled statements per database.
+     */
+    private static final int STATEMENT_CACHE_SIZE = 32;
+
+    /**
+     * Max number of distinct operations that are timed, to bound memory for generated SQL.
+     */
+    private static final int MAX_TIMED_OPERATIONS = 100;
+
+    /**
+     * Operations slower than this are logged.
+     */
+    private static final long SLOW_OPERATION_MS = 100;
+
+    private static final String OTHER_OPERATIONS = "other";
+
+    private static final LruCache<Integer, String> placeholderCache = new LruCache<>(16);
+
+    private final Map<String, QueryTiming> timings = new HashMap<>();
+
+    private SQLiteDatabase statementDatabase;
+    private final LruCache<String, SQLiteStatement> statements = new LruCache<String, SQLiteStatement>(STATEMENT_CACHE_SIZE) {
+        @Override
+        protected void entryRemoved(boolean evicted, String key, SQLiteStatement oldValue, SQLiteStatement newValue) {
+            // Statements removed to be used are not closed
+            if (evicted) {
+                oldValue.close();
+            }
+        }
+    };
+
+    /**
+     * Operation that runs inside a transaction.
+     */
+    protected interface TransactionOperation {
+
+        /**
+         * Performs the operation.
+         *
+         * @param db The database.
+         * @return {@code true} to commit the transaction, {@code false} to roll it back.
+         */
+        boolean perform(@NonNull SQLiteDatabase db);
+    }
+
+    /**
+     * Timing for a database operation.
+     *
+     * @hide
+     */
+    @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+    public static class QueryTiming {
+
+        private long count;
+        private long totalTimeMs;
+        private long maxTimeMs;
+
+        private QueryTiming() {}
+
+        private QueryTiming(@NonNull QueryTiming timing) {
+            this.count = timing.count;
+            this.totalTimeMs = timing.totalTimeMs;
+            this.maxTimeMs = timing.maxTimeMs;
+        }
+
+        /**
+         * Gets the number of times the operation ran.
+         *
+         * @return The count.
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Gets the total time spent on the operation.
+         *
+         * @return The total time in milliseconds.
+         */
+        public long getTotalTimeMs() {
+            return totalTimeMs;
+        }
+
+        /**
+         * Gets the longest time the operation took.
+         *
+         * @return The max time in milliseconds.
+         */
+        public long getMaxTimeMs() {
+            return maxTimeMs;
+        }
+
+        /**
+         * Gets the average time the operation took.
+         *
+         * @return The average time in milliseconds.
+         */
+        public long getAverageTimeMs() {
+            return count == 0 ? 0 : totalTimeMs / count;
+        }
+    }
+
     /**
      * Default Constructor for DataManager
      * @param context The context used for opening and creating databases
@@ -73,6 +195,8 @@ public abstract class DataManager {
 
             }
         };
+
+        openHelper.setWriteAheadLoggingEnabled(true);
     }
 
     /**
@@ -183,17 +307,66 @@ public abstract class DataManager {
             return -1;
         }
 
-        for (int i = 0; i < MAX_ATTEMPTS; i++) {
-            try {
-                return db.delete(table, selection, selectionArgs);
-            } catch (Exception ex) {
-                Logger.error("Unable to delete item from a database", ex);
+        long startTime = SystemClock.elapsedRealtime();
+        try {
+            for (int i = 0; i < MAX_ATTEMPTS; i++) {
+                try {
+                    return db.delete(table, selection, selectionArgs);
+                } catch (Exception ex) {
+                    Logger.error("Unable to delete item from a database", ex);
+                }
             }
+        } finally {
+            recordTiming("delete " + table, startTime);
         }
 
         return -1;
     }
 
+    /**
+     * Deletes every row where a column matches one of the given values. The values are deleted in
+     * chunks that fit the SQL argument limit, inside a single transaction.
+     *
+     * @param table Table to delete the rows from
+     * @param column The column to match.
+     * @param values The values to match.
+     * @return number of rows deleted, or -1 if an error occurred
+     */
+    public int deleteIn(@NonNull final String table, @NonNull final String column, @NonNull Collection<String> values) {
+        if (values.isEmpty()) {
+            return 0;
+        }
+
+        final List<String> valueList = new ArrayList<>(values);
+        final int[] deleted = new int[1];
+
+        boolean success = runInTransaction("deleteIn " + table, new TransactionOperation() {
+            @Override
+            public boolean perform(@NonNull SQLiteDatabase db) {
+                for (int start = 0; start < valueList.size(); start += MAX_ARG_COUNT) {
+                    List<String> chunk = valueList.subList(start, Math.min(start + MAX_ARG_COUNT, valueList.size()));
+                    String sql = "DELETE FROM " + table + " WHERE " + column + " IN (" + placeholders(chunk.size()) + ")";
+
+                    // Chunk SQL varies with the chunk size, so compile it without the statement
+                    // cache to avoid evicting the hot statements
+                    long startTime = SystemClock.elapsedRealtime();
+                    SQLiteStatement statement = db.compileStatement(sql);
+                    try {
+                        bindArgs(statement, chunk.toArray());
+                        deleted[0] += statement.executeUpdateDelete();
+                    } finally {
+                        statement.close();
+                        recordTiming("deleteIn " + table, startTime);
+                    }
+                }
+
+                return true;
+            }
+        });
+
+        return success ? deleted[0] : -1;
+    }
+
     /**
      * Inserts several items into the database
      *
@@ -201,28 +374,22 @@ public abstract class DataManager {
      * @param values An array of values to insert into the database
      * @return A list of the values inserted into the database
      */
-    public List<ContentValues> bulkInsert(@NonNull String table, @NonNull ContentValues[] values) {
-        SQLiteDatabase db = getWritableDatabase();
-        List<ContentValues> inserted = new ArrayList<>();
-        if (db == null) {
-            return inserted;
-        }
+    public List<ContentValues> bulkInsert(@NonNull final String table, @NonNull final ContentValues[] values) {
+        final List<ContentValues> inserted = new ArrayList<>();
 
-        db.beginTransaction();
-        for (ContentValues value : values) {
-            try {
-                db.replaceOrThrow(table, null, value);
-            } catch (Exception ex) {
-                Logger.error("Unable to insert into database", ex);
-                db.endTransaction();
-                return Collections.emptyList();
-            }
-        }
+        boolean success = runInTransaction("bulkInsert " + table, new TransactionOperation() {
+            @Override
+            public boolean perform(@NonNull SQLiteDatabase db) {
+                for (ContentValues value : values) {
+                    db.replaceOrThrow(table, null, value);
+                    inserted.add(value);
+                }
 
-        db.setTransactionSuccessful();
-        db.endTransaction();
+                return true;
+            }
+        });
 
-        return inserted;
+        return success ? inserted : Collections.<ContentValues>emptyList();
     }
 
     /**
@@ -238,12 +405,17 @@ public abstract class DataManager {
             return -1;
         }
 
-        for (int i = 0; i < MAX_ATTEMPTS; i++) {
-            try {
-                return getWritableDatabase().replaceOrThrow(table, null, values);
-            } catch (Exception ex) {
-                Logger.error("Unable to insert into database", ex);
+        long startTime = SystemClock.elapsedRealtime();
+        try {
+            for (int i = 0; i < MAX_ATTEMPTS; i++) {
+                try {
+                    return db.replaceOrThrow(table, null, values);
+                } catch (Exception ex) {
+                    Logger.error("Unable to insert into database", ex);
+                }
             }
+        } finally {
+            recordTiming("insert " + table, startTime);
         }
 
         return -1;
@@ -265,12 +437,17 @@ public abstract class DataManager {
             return -1;
         }
 
-        for (int i = 0; i < MAX_ATTEMPTS; i++) {
-            try {
-                return db.update(table, values, selection, selectionArgs);
-            } catch (SQLException e) {
-                Logger.error("Update Failed", e);
+        long startTime = SystemClock.elapsedRealtime();
+        try {
+            for (int i = 0; i < MAX_ATTEMPTS; i++) {
+                try {
+                    return db.update(table, values, selection, selectionArgs);
+                } catch (SQLException e) {
+                    Logger.error("Update Failed", e);
+                }
             }
+        } finally {
+            recordTiming("update " + table, startTime);
         }
 
         return -1;
@@ -296,13 +473,18 @@ public abstract class DataManager {
             return null;
         }
 
-        for (int i = 0; i < MAX_ATTEMPTS; i++) {
-            try {
-                return db.query(table, columns, selection,
-                        selectionArgs, null, null, sortOrder, limit);
-            } catch (SQLException e) {
-                Logger.error("Query Failed", e);
+        long startTime = SystemClock.elapsedRealtime();
+        try {
+            for (int i = 0; i < MAX_ATTEMPTS; i++) {
+                try {
+                    return runQuery(db.query(table, columns, selection,
+                            selectionArgs, null, null, sortOrder, limit));
+                } catch (SQLException e) {
+                    Logger.error("Query Failed", e);
+                }
             }
+        } finally {
+            recordTiming("query " + table, startTime);
         }
 
         return null;
@@ -321,21 +503,319 @@ public abstract class DataManager {
             return null;
         }
 
-        for (int i = 0; i < 3; i++) {
-            try {
-                return db.rawQuery(query, selectionArgs);
-            } catch (SQLException e) {
-                Logger.error("Query failed", e);
+        long startTime = SystemClock.elapsedRealtime();
+        try {
+            for (int i = 0; i < MAX_ATTEMPTS; i++) {
+                try {
+                    return runQuery(db.rawQuery(query, selectionArgs));
+                } catch (SQLException e) {
+                    Logger.error("Query failed", e);
+                }
             }
+        } finally {
+            recordTiming(query, startTime);
         }
 
         return null;
     }
 
+    /**
+     * Runs a statement that inserts a row using a cached compiled statement.
+     *
+     * @param sql The SQL statement.
+     * @param args The statement arguments.
+     * @return The row ID of the inserted row, or -1 if an error occurred.
+     */
+    protected long executeInsert(@NonNull String sql, @Nullable Object... args) {
+        SQLiteDatabase db = getWritableDatabase();
+        if (db == null) {
+            return -1;
+        }
+
+        long startTime = SystemClock.elapsedRealtime();
+        SQLiteStatement statement = null;
+        try {
+            statement = acquireStatement(db, sql);
+            bindArgs(statement, args);
+            return statement.executeInsert();
+        } catch (SQLException e) {
+            Logger.error("DataManager - Insert failed: " + sql, e);
+            return -1;
+        } finally {
+            releaseStatement(db, sql, statement);
+            recordTiming(sql, startTime);
+        }
+    }
+
+    /**
+     * Runs an UPDATE or DELETE statement using a cached compiled statement.
+     *
+     * @param sql The SQL statement.
+     * @param args The statement arguments.
+     * @return The number of rows affected, or -1 if an error occurred.
+     */
+    protected int executeUpdateDelete(@NonNull String sql, @Nullable Object... args) {
+        SQLiteDatabase db = getWritableDatabase();
+        if (db == null) {
+            return -1;
+        }
+
+        long startTime = SystemClock.elapsedRealtime();
+        SQLiteStatement statement = null;
+        try {
+            statement = acquireStatement(db, sql);
+            bindArgs(statement, args);
+            return statement.executeUpdateDelete();
+        } catch (SQLException e) {
+            Logger.error("DataManager - Update failed: " + sql, e);
+            return -1;
+        } finally {
+            releaseStatement(db, sql, statement);
+            recordTiming(sql, startTime);
+        }
+    }
+
+    /**
+     * Runs a query that returns a single number using a cached compiled statement.
+     *
+     * @param sql The SQL query.
+     * @param defaultValue Value returned if the query returns no rows or an error occurred.
+     * @param args The query arguments.
+     * @return The value of the first column of the first row, or the default value.
+     */
+    protected long queryForLong(@NonNull String sql, long defaultValue, @Nullable Object... args) {
+        SQLiteDatabase db = getReadableDatabase();
+        if (db == null) {
+            return defaultValue;
+        }
+
+        long startTime = SystemClock.elapsedRealtime();
+        SQLiteStatement statement = null;
+        try {
+            statement = acquireStatement(db, sql);
+            bindArgs(statement, args);
+            return statement.simpleQueryForLong();
+        } catch (SQLiteDoneException e) {
+            return defaultValue;
+        } catch (SQLException e) {
+            Logger.error("DataManager - Query failed: " + sql, e);
+            return defaultValue;
+        } finally {
+            releaseStatement(db, sql, statement);
+            recordTiming(sql, startTime);
+        }
+    }
+
+    /**
+     * Runs an operation inside a transaction. The transaction is committed if the operation
+     * returns {@code true}, and rolled back if it returns {@code false} or throws.
+     *
+     * @param name The operation name, used for timing and logging.
+     * @param operation The operation.
+     * @return {@code true} if the transaction was committed, otherwise {@code false}.
+     */
+    protected boolean runInTransaction(@NonNull String name, @NonNull TransactionOperation operation) {
+        SQLiteDatabase db = getWritableDatabase();
+        if (db == null) {
+            Logger.error("DataManager - Unable to open database for " + name);
+            return false;
+        }
+
+        long startTime = SystemClock.elapsedRealtime();
+
+        // Non exclusive so readers are not blocked in write-ahead logging mode
+        db.beginTransactionNonExclusive();
+        try {
+            if (!operation.perform(db)) {
+                return false;
+            }
+
+            db.setTransactionSuccessful();
+            return true;
+        } catch (Exception e) {
+            Logger.error("DataManager - Transaction failed: " + name, e);
+            return false;
+        } finally {
+            db.endTransaction();
+            recordTiming("transaction " + name, startTime);
+        }
+    }
+
+    /**
+     * Gets a comma separated list of {@code ?} placeholders for an {@code IN} clause.
+     *
+     * @param count The number of placeholders.
+     * @return The placeholders.
+     * @hide
+     */
+    @NonNull
+    @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+    public static String placeholders(int count) {
+        String result = placeholderCache.get(count);
+        if (result == null) {
+            result = UAStringUtil.repeat("?", count, ", ");
+            placeholderCache.put(count, result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Gets the timings for the operations run on this database. Operations are keyed by the
+     * operation and table for generic operations, or by the SQL for raw queries and compiled
+     * statements.
+     *
+     * @return A snapshot of the operation timings.
+     * @hide
+     */
+    @NonNull
+    @RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+    public Map<String, QueryTiming> getQueryTimings() {
+        Map<String, QueryTiming> snapshot = new HashMap<>();
+        synchronized (timings) {
+            for (Map.Entry<String, QueryTiming> entry : timings.entrySet()) {
+                snapshot.put(entry.getKey(), new QueryTiming(entry.getValue()));
+            }
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Runs a query. Cursors are lazy, so the query runs here instead of when it is first read to
+     * include it in the timing.
+     *
+     * @param cursor The cursor.
+     * @return The cursor.
+     */
+    private static Cursor runQuery(Cursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+
+        try {
+            cursor.getCount();
+        } catch (SQLException e) {
+            cursor.close();
+            throw e;
+        }
+
+        return cursor;
+    }
+
+    /**
+     * Takes a compiled statement from the cache, or compiles a new one. Statements are not shared
+     * while in use, so no lock is held while the statement runs.
+     *
+     * @param db The database.
+     * @param sql The SQL statement.
+     * @return The compiled statement.
+     */
+    @NonNull
+    private SQLiteStatement acquireStatement(@NonNull SQLiteDatabase db, @NonNull String sql) {
+        SQLiteStatement statement;
+        synchronized (statements) {
+            if (statementDatabase != db) {
+                statements.evictAll();
+                statementDatabase = db;
+            }
+
+            statement = statements.remove(sql);
+        }
+
+        if (statement == null) {
+            statement = db.compileStatement(sql);
+        }
+
+        return statement;
+    }
+
+    /**
+     * Returns a compiled statement to the cache.
+     *
+     * @param db The database the statement was compiled for.
+     * @param sql The SQL statement.
+     * @param statement The statement, or {@code null} if it failed to compile.
+     */
+    private void releaseStatement(@NonNull SQLiteDatabase db, @NonNull String sql, @Nullable SQLiteStatement statement) {
+        if (statement == null) {
+            return;
+        }
+
+        statement.clearBindings();
+
+        synchronized (statements) {
+            if (statementDatabase == db && statements.get(sql) == null) {
+                statements.put(sql, statement);
+                return;
+            }
+        }
+
+        statement.close();
+    }
+
+    private static void bindArgs(@NonNull SQLiteStatement statement, @Nullable Object[] args) {
+        statement.clearBindings();
+        if (args == null) {
+            return;
+        }
+
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            int index = i + 1;
+
+            if (arg == null) {
+                statement.bindNull(index);
+            } else if (arg instanceof byte[]) {
+                statement.bindBlob(index, (byte[]) arg);
+            } else if (arg instanceof Double || arg instanceof Float) {
+                statement.bindDouble(index, ((Number) arg).doubleValue());
+            } else if (arg instanceof Number) {
+                statement.bindLong(index, ((Number) arg).longValue());
+            } else if (arg instanceof Boolean) {
+                statement.bindLong(index, (Boolean) arg ? 1 : 0);
+            } else {
+                statement.bindString(index, arg.toString());
+            }
+        }
+    }
+
+    private void recordTiming(@NonNull String operation, long startTime) {
+        long duration = SystemClock.elapsedRealtime() - startTime;
+
+        synchronized (timings) {
+            QueryTiming timing = timings.get(operation);
+            if (timing == null) {
+                if (timings.size() >= MAX_TIMED_OPERATIONS) {
+                    operation = OTHER_OPERATIONS;
+                    timing = timings.get(operation);
+                }
+
+                if (timing == null) {
+                    timing = new QueryTiming();
+                    timings.put(operation, timing);
+                }
+            }
+
+            timing.count++;
+            timing.totalTimeMs += duration;
+            timing.maxTimeMs = Math.max(timing.maxTimeMs, duration);
+        }
+
+        if (duration >= SLOW_OPERATION_MS) {
+            Logger.debug("DataManager - Slow database operation (" + duration + " ms): " + operation);
+        }
+    }
+
     /**
      * Closes the connection to the database
      */
     public void close() {
+        synchronized (statements) {
+            statements.evictAll();
+            statementDatabase = null;
+        }
+
         try {
             openHelper.close();
         } catch (Exception ex) {
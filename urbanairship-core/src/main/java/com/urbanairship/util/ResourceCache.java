@@ -0,0 +1,79 @@
+/* Copyright 2018 Urban Airship and Contributors */
+
+package com.urbanairship.util;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.support.annotation.DrawableRes;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.RestrictTo;
+import android.util.LruCache;
+
+/**
+ * Process wide cache for resources looked up while building notifications.
+ * <p>
+ * Resource identifiers can not change while the process is alive, so named lookups are cached,
+ * including misses. The names come from push payloads, so identifiers are kept in an LRU cache
+ * like the decoded bitmaps.
+ *
+ * @hide
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+public class ResourceCache {
+
+    private static final int MAX_BITMAPS = 4;
+    private static final int MAX_IDENTIFIERS = 64;
+
+    private static final LruCache<String, Integer> identifiers = new LruCache<>(MAX_IDENTIFIERS);
+    private static final LruCache<Integer, Bitmap> bitmaps = new LruCache<>(MAX_BITMAPS);
+
+    /**
+     * Gets a resource identifier from the application's package.
+     *
+     * @param context The application context.
+     * @param name The resource name.
+     * @param type The resource type.
+     * @return The resource identifier, or {@code 0} if the resource does not exist.
+     */
+    public static int getIdentifier(@NonNull Context context, @NonNull String name, @NonNull String type) {
+        String key = type + "/" + name;
+
+        Integer id = identifiers.get(key);
+        if (id == null) {
+            id = context.getResources().getIdentifier(name, type, context.getPackageName());
+            identifiers.put(key, id);
+        }
+
+        return id;
+    }
+
+    /**
+     * Gets a decoded bitmap for a drawable resource.
+     *
+     * @param context The application context.
+     * @param resourceId The drawable resource ID.
+     * @return The bitmap, or {@code null} if the resource could not be decoded.
+     */
+    @Nullable
+    public static Bitmap getBitmap(@NonNull Context context, @DrawableRes int resourceId) {
+        Bitmap bitmap = bitmaps.get(resourceId);
+        if (bitmap == null) {
+            bitmap = BitmapFactory.decodeResource(context.getResources(), resourceId);
+            if (bitmap != null) {
+                bitmaps.put(resourceId, bitmap);
+            }
+        }
+
+        return bitmap;
+    }
+
+    /**
+     * Clears the cache.
+     */
+    public static void clear() {
+        identifiers.evictAll();
+        bitmaps.evictAll();
+    }
+}
@@ -7,6 +7,7 @@ import android.annotation.TargetApi;
 import android.content.Context;
 import android.content.pm.ApplicationInfo;
 import android.content.res.TypedArray;
+import android.graphics.Color;
 import android.net.Uri;
 import android.os.Build;
 import android.util.AttributeSet;
@@ -294,6 +295,34 @@ public class UAWebView extends WebView {
         }
     }
 
+    /**
+     * Resets the web view before it is reused. Clears the auth credentials, clients, layer type,
+     * background and alpha, and replaces the page with a blank page to drop any JavaScript state.
+     *
+     * @param blankUrl The blank page URL.
+     */
+    void reset(String blankUrl) {
+        stopLoading();
+
+        if (currentClientAuthRequestUrl != null && getWebViewClientCompat() instanceof UAWebViewClient) {
+            ((UAWebViewClient) getWebViewClientCompat()).removeAuthRequestCredentials(currentClientAuthRequestUrl);
+        }
+        currentClientAuthRequestUrl = null;
+        currentMessage = null;
+
+        this.webViewClient = null;
+        super.setWebViewClient(new WebViewClient());
+        setWebChromeClient(null);
+
+        setLayerType(LAYER_TYPE_NONE, null);
+        setBackgroundColor(Color.WHITE);
+        setAlpha(1);
+
+        super.loadUrl(blankUrl);
+        clearHistory();
+        onPause();
+    }
+
     /**
      * Gets the web view client.
      *
@@ -9,9 +9,10 @@ import android.net.Uri;
 import android.os.AsyncTask;
 import android.os.Build;
 import android.os.Bundle;
+import android.os.SystemClock;
 import android.support.annotation.CallSuper;
 import android.support.annotation.NonNull;
-import android.text.TextUtils;
+import android.support.annotation.VisibleForTesting;
 import android.view.KeyEvent;
 import android.webkit.HttpAuthHandler;
 import android.webkit.WebResourceRequest;
@@ -19,6 +20,7 @@ import android.webkit.WebResourceResponse;
 import android.webkit.WebView;
 import android.webkit.WebViewClient;
 
+import com.urbanairship.AirshipExecutors;
 import com.urbanairship.Logger;
 import com.urbanairship.R;
 import com.urbanairship.UAirship;
@@ -42,12 +44,14 @@ import java.io.InputStream;
 import java.lang.ref.WeakReference;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.TimeZone;
 import java.util.WeakHashMap;
+import java.util.concurrent.Executor;
 
 /**
  * <p>
@@ -123,10 +127,15 @@ public class UAWebViewClient extends WebViewClient {
     private ActionCompletionCallback actionCompletionCallback;
     private final ActionRunRequestFactory actionRunRequestFactory;
 
+    private static final Executor bridgeLoader = AirshipExecutors.newSerialExecutor("UAWebViewClient");
     private static SimpleDateFormat dateFormatter;
-    private static String nativeBridge;
+    private static volatile String nativeBridge;
+
+    // Per process part of the JS bridge that precedes the per page getters
+    private static String jsBridgePrefix;
 
     private final Map<WebView, InjectJsBridgeTask> injectJsBridgeTaskMap = new WeakHashMap<>();
+    private final Map<WebView, Long> pageStartTimes = new WeakHashMap<>();
 
     /**
      * Default constructor.
@@ -175,11 +184,13 @@ public class UAWebViewClient extends WebViewClient {
     }
 
     /**
-     * Intercepts the favicon request and returns a null favicon
+     * Intercepts the favicon request and returns a null favicon, and serves prefetched message
+     * content from the message body cache.
      *
      * @param webView The web view.
      * @param url The url being loaded.
-     * @return The null favicon image embedded in a WebResourceResponse or null if the url does not contain a favicon.
+     * @return The null favicon image or cached content embedded in a WebResourceResponse, or null if
+     * the url should be loaded from the network.
      */
     @Override
     public WebResourceResponse shouldInterceptRequest(WebView webView, String url) {
@@ -187,15 +198,17 @@ public class UAWebViewClient extends WebViewClient {
             return new WebResourceResponse("image/png", null, null);
         }
 
-        return null;
+        return getCachedResponse(webView, url);
     }
 
     /**
-     * Intercepts the favicon request and returns null favicon
+     * Intercepts the favicon request and returns null favicon, and serves prefetched message
+     * content from the message body cache.
      *
      * @param webView The web view.
      * @param request The WebResourceRequest being loaded.
-     * @return The tiny favicon image embedded in a WebResourceResponse or null if the url does not contain a favicon.
+     * @return The tiny favicon image or cached content embedded in a WebResourceResponse, or null if
+     * the request should be loaded from the network.
      */
     @Override
     @SuppressLint("NewApi")
@@ -205,7 +218,27 @@ public class UAWebViewClient extends WebViewClient {
             return new WebResourceResponse("image/png", null, null);
         }
 
-        return null;
+        if (!"GET".equalsIgnoreCase(request.getMethod())) {
+            return null;
+        }
+
+        return getCachedResponse(webView, request.getUrl().toString());
+    }
+
+    /**
+     * Gets a prefetched response from the message body cache.
+     *
+     * @param webView The web view.
+     * @param url The url being loaded.
+     * @return The cached response, or null if message bodies are not prefetched or the url is not cached.
+     */
+    private WebResourceResponse getCachedResponse(WebView webView, String url) {
+        if (!UAirship.isFlying() || !UAirship.shared().getInbox().isMessageBodyPrefetchEnabled()) {
+            return null;
+        }
+
+        // Only count misses for message content to keep the hit ratio meaningful
+        return UAirship.shared().getInbox().getMessageBodyCache().get(url, getMessage(webView) != null);
     }
 
 
@@ -470,6 +503,14 @@ public class UAWebViewClient extends WebViewClient {
         }
 
         Logger.info("Loading UrbanAirship Javascript interface.");
+
+        // Once the native bridge is loaded the bridge is cheap to build, so inject it right away
+        String bridge = nativeBridge;
+        if (bridge != null) {
+            injectJsBridge(view, createJsBridge(view, bridge));
+            return;
+        }
+
         InjectJsBridgeTask task = new InjectJsBridgeTask(view.getContext(), view);
         injectJsBridgeTaskMap.put(view, task);
         task.executeOnExecutor(AsyncTask.THREAD_POOL_EXECUTOR);
@@ -482,6 +523,23 @@ public class UAWebViewClient extends WebViewClient {
         if (task != null) {
             task.cancel(true);
         }
+
+        if (view == null) {
+            return;
+        }
+
+        pageStartTimes.put(view, SystemClock.elapsedRealtime());
+
+        // Load the native bridge while the page loads
+        if (nativeBridge == null) {
+            final Context context = view.getContext().getApplicationContext();
+            bridgeLoader.execute(new Runnable() {
+                @Override
+                public void run() {
+                    loadNativeBridge(context);
+                }
+            });
+        }
     }
 
     /**
@@ -524,13 +582,133 @@ public class UAWebViewClient extends WebViewClient {
         authRequestCredentials.remove(expectedAuthHost);
     }
 
-    private String createGetter(String functionName, String value) {
-        value = (value == null) ? "null" : JSONObject.quote(value);
-        return String.format(Locale.US, "_UAirship.%s = function(){return %s;};", functionName, value);
+    /**
+     * Builds the JS bridge for a web view.
+     *
+     * @param webView The web view.
+     * @param nativeBridge The native bridge script.
+     * @return The JS bridge.
+     */
+    private String createJsBridge(@NonNull WebView webView, @NonNull String nativeBridge) {
+        RichPushMessage message = getMessage(webView);
+
+        StringBuilder sb = new StringBuilder(nativeBridge.length() + 1024)
+                .append(getJsBridgePrefix());
+
+        appendGetter(sb, "getMessageId", (message != null) ? message.getMessageId() : null);
+        appendGetter(sb, "getMessageTitle", (message != null) ? message.getTitle() : null);
+        appendGetter(sb, "getMessageSentDate", (message != null) ? formatDate(message.getSentDate()) : null);
+        appendGetter(sb, "getMessageSentDateMS", (message != null) ? message.getSentDateMS() : -1);
+        appendGetter(sb, "getUserId", UAirship.shared().getInbox().getUser().getId());
+        appendGetter(sb, "getChannelId", UAirship.shared().getPushManager().getChannelId());
+        appendGetter(sb, "getNamedUser", UAirship.shared().getNamedUser().getId());
+
+        return sb.append(nativeBridge).toString();
     }
 
-    private String createGetter(String functionName, long value) {
-        return String.format(Locale.US, "_UAirship.%s = function(){return %d;};", functionName, value);
+    /**
+     * Injects the JS bridge into a web view.
+     *
+     * @param webView The web view.
+     * @param jsBridge The JS bridge.
+     */
+    @SuppressLint("NewApi")
+    private void injectJsBridge(@NonNull WebView webView, @NonNull String jsBridge) {
+        if (Build.VERSION.SDK_INT >= 19) {
+            webView.evaluateJavascript(jsBridge, null);
+        } else {
+            webView.loadUrl("javascript:" + jsBridge);
+        }
+
+        Long pageStartTime = pageStartTimes.remove(webView);
+        if (pageStartTime != null) {
+            Logger.verbose("UAWebViewClient - JS bridge ready " + (SystemClock.elapsedRealtime() - pageStartTime) + "ms after the page started.");
+        }
+    }
+
+    /**
+     * Gets the part of the JS bridge that does not change between pages.
+     *
+     * @return The JS bridge prefix.
+     */
+    private static synchronized String getJsBridgePrefix() {
+        if (jsBridgePrefix == null) {
+            /*
+             * The native bridge will prototype _UAirship, so inject any additional
+             * functionality under _UAirship and the final UAirship object will have
+             * access to it.
+             */
+            StringBuilder sb = new StringBuilder().append("var _UAirship = {};");
+            appendGetter(sb, "getDeviceModel", Build.MODEL);
+            appendGetter(sb, "getAppKey", UAirship.shared().getAirshipConfigOptions().getAppKey());
+            jsBridgePrefix = sb.toString();
+        }
+
+        return jsBridgePrefix;
+    }
+
+    /**
+     * Loads the native bridge from resources, once per process.
+     *
+     * @param context The application context.
+     * @return The native bridge, or an empty string if it failed to load.
+     */
+    @NonNull
+    @VisibleForTesting
+    static synchronized String loadNativeBridge(@NonNull Context context) {
+        if (nativeBridge != null) {
+            return nativeBridge;
+        }
+
+        InputStream input = context.getResources().openRawResource(R.raw.ua_native_bridge);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        try {
+            byte[] buffer = new byte[1024];
+            int length;
+
+            while ((length = input.read(buffer)) != -1) {
+                outputStream.write(buffer, 0, length);
+            }
+
+            nativeBridge = outputStream.toString();
+            return nativeBridge;
+        } catch (IOException e) {
+            Logger.error("Failed to read native bridge.");
+            return "";
+        } finally {
+            try {
+                input.close();
+                outputStream.close();
+            } catch (Exception e) {
+                Logger.debug("Failed to close streams", e);
+            }
+        }
+    }
+
+    private static synchronized String formatDate(@NonNull Date date) {
+        if (dateFormatter == null) {
+            dateFormatter = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSSZ", Locale.US);
+            dateFormatter.setTimeZone(TimeZone.getTimeZone("UTC"));
+        }
+
+        return dateFormatter.format(date);
+    }
+
+    private static void appendGetter(@NonNull StringBuilder sb, @NonNull String functionName, String value) {
+        sb.append("_UAirship.")
+          .append(functionName)
+          .append(" = function(){return ")
+          .append((value == null) ? "null" : JSONObject.quote(value))
+          .append(";};");
+    }
+
+    private static void appendGetter(@NonNull StringBuilder sb, @NonNull String functionName, long value) {
+        sb.append("_UAirship.")
+          .append(functionName)
+          .append(" = function(){return ")
+          .append(value)
+          .append(";};");
     }
 
     /**
@@ -581,88 +759,18 @@ public class UAWebViewClient extends WebViewClient {
                 return null;
             }
 
-            RichPushMessage message = getMessage(webView);
-
-            if (dateFormatter == null) {
-                dateFormatter = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSSZ", Locale.US);
-                dateFormatter.setTimeZone(TimeZone.getTimeZone("UTC"));
-            }
-
-            /*
-             * The native bridge will prototype _UAirship, so inject any additional
-             * functionality under _UAirship and the final UAirship object will have
-             * access to it.
-             */
-            StringBuilder sb = new StringBuilder().append("var _UAirship = {};");
-
-            // Getters
-            sb.append(createGetter("getDeviceModel", Build.MODEL))
-              .append(createGetter("getMessageId", (message != null) ? message.getMessageId() : null))
-              .append(createGetter("getMessageTitle", (message != null) ? message.getTitle() : null))
-              .append(createGetter("getMessageSentDate", (message != null) ? dateFormatter.format(message.getSentDate()) : null))
-              .append(createGetter("getMessageSentDateMS", (message != null) ? message.getSentDateMS() : -1))
-              .append(createGetter("getUserId", UAirship.shared().getInbox().getUser().getId()))
-              .append(createGetter("getChannelId", UAirship.shared().getPushManager().getChannelId()))
-              .append(createGetter("getAppKey", UAirship.shared().getAirshipConfigOptions().getAppKey()))
-              .append(createGetter("getNamedUser", UAirship.shared().getNamedUser().getId()));
-
-
-            if (TextUtils.isEmpty(nativeBridge)) {
-                try {
-                    nativeBridge = readNativeBridge();
-                } catch (IOException e) {
-                    Logger.error("Failed to read native bridge.");
-                }
-            }
-
-            sb.append(nativeBridge);
-
-            return sb.toString();
+            return createJsBridge(webView, loadNativeBridge(context));
         }
 
         @Override
         protected void onPostExecute(String jsBridge) {
             WebView webView = webViewWeakReference.get();
-            if (webView == null) {
+            if (webView == null || jsBridge == null) {
                 return;
             }
 
             injectJsBridgeTaskMap.remove(webView);
-
-            if (Build.VERSION.SDK_INT >= 19) {
-                webView.evaluateJavascript(jsBridge, null);
-            } else {
-                webView.loadUrl("javascript:" + jsBridge);
-            }
-        }
-
-        /**
-         * Helper method to read the native bridge from resources.
-         *
-         * @return The native bridge.
-         * @throws IOException
-         */
-        private String readNativeBridge() throws IOException {
-            InputStream input = context.getResources().openRawResource(R.raw.ua_native_bridge);
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-
-            try {
-                byte[] buffer = new byte[1024];
-                int length;
-
-                while ((length = input.read(buffer)) != -1) {
-                    outputStream.write(buffer, 0, length);
-                }
-
-                return outputStream.toString();
-            } finally {
-                try {
-                    input.close();
-                    outputStream.close();
-                } catch (Exception e) {
-                    Logger.debug("Failed to close streams", e);
-                }
-            }
+            injectJsBridge(webView, jsBridge);
         }
     }
 }
@@ -0,0 +1,247 @@
+/* Copyright 2018 Urban Airship and Contributors */
+
+package com.urbanairship.widget;
+
+import android.content.Context;
+import android.content.MutableContextWrapper;
+import android.content.res.TypedArray;
+import android.graphics.drawable.Drawable;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.support.annotation.MainThread;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.RestrictTo;
+import android.support.annotation.StyleRes;
+import android.support.annotation.VisibleForTesting;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+import android.view.ViewStub;
+
+import com.urbanairship.Logger;
+import com.urbanairship.UAirship;
+
+import java.util.ArrayDeque;
+
+/**
+ * Size bounded pool of {@link UAWebView}s.
+ * <p>
+ * Creating the first web view in a process loads the WebView provider, which can take hundreds of
+ * milliseconds on the main thread. The pool creates its web views while the main thread is idle,
+ * so HTML in-app messages and landing pages can show content sooner. Pooled
+ * web views are created with a {@link MutableContextWrapper} that points to the application context
+ * while pooled and to the activity while in use.
+ * <p>
+ * All methods must be called on the main thread, except {@link #warmUp()}.
+ *
+ * @hide
+ */
+@RestrictTo(RestrictTo.Scope.LIBRARY_GROUP)
+public class WebViewPool {
+
+    /**
+     * Max number of pooled web views. Each web view holds on to a renderer, so keep it small.
+     */
+    private static final int MAX_SIZE = 1;
+
+    private static final String BLANK_PAGE = "about:blank";
+
+    /**
+     * Style attributes applied to pooled web views. Must stay sorted for obtainStyledAttributes.
+     */
+    private static final int[] STYLE_ATTRIBUTES = new int[] {
+            android.R.attr.background,
+            android.R.attr.padding,
+            android.R.attr.paddingLeft,
+            android.R.attr.paddingTop,
+            android.R.attr.paddingRight,
+            android.R.attr.paddingBottom
+    };
+
+    private static WebViewPool shared;
+
+    private final int maxSize;
+    private final ArrayDeque<UAWebView> webViews = new ArrayDeque<>();
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private boolean warmUpScheduled;
+
+    /**
+     * Gets the shared web view pool.
+     *
+     * @return The shared web view pool.
+     */
+    @NonNull
+    public static synchronized WebViewPool shared() {
+        if (shared == null) {
+            shared = new WebViewPool(MAX_SIZE);
+        }
+
+        return shared;
+    }
+
+    /**
+     * Default constructor.
+     *
+     * @param maxSize The max number of pooled web views.
+     */
+    @VisibleForTesting
+    WebViewPool(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Fills the pool the next time the main thread is idle. Safe to call from any thread.
+     */
+    public void warmUp() {
+        synchronized (this) {
+            if (warmUpScheduled) {
+                return;
+            }
+            warmUpScheduled = true;
+        }
+
+        handler.post(new Runnable() {
+            @Override
+            public void run() {
+                Looper.myQueue().addIdleHandler(new MessageQueue.IdleHandler() {
+                    @Override
+                    public boolean queueIdle() {
+                        synchronized (WebViewPool.this) {
+                            warmUpScheduled = false;
+                        }
+
+                        fill();
+                        return false;
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Creates web views until the pool is full.
+     */
+    @VisibleForTesting
+    @MainThread
+    void fill() {
+        while (webViews.size() < maxSize) {
+            long start = System.nanoTime();
+
+            UAWebView webView;
+            try {
+                webView = new UAWebView(new MutableContextWrapper(UAirship.getApplicationContext()));
+            } catch (Exception e) {
+                // The WebView provider can be missing or updating
+                Logger.error("WebViewPool - Unable to create web view.", e);
+                return;
+            }
+
+            Logger.verbose("WebViewPool - Created web view in " + (System.nanoTime() - start) / 1000000 + " ms");
+            webViews.add(webView);
+        }
+    }
+
+    /**
+     * Gets a pooled web view.
+     *
+     * @param context The context the web view will be used in, usually an activity.
+     * @return A pooled web view, or {@code null} if the pool is empty.
+     */
+    @MainThread
+    @Nullable
+    public UAWebView acquire(@NonNull Context context) {
+        UAWebView webView = webViews.poll();
+        if (webView == null) {
+            return null;
+        }
+
+        ((MutableContextWrapper) webView.getContext()).setBaseContext(context);
+        return webView;
+    }
+
+    /**
+     * Inflates a web view stub, using a pooled web view if one is available. A pooled web view takes
+     * the place of the stub with the stub's inflated ID and layout params, and the background and
+     * padding from the given style. The stub's layout is only inflated if the pool is empty, so no
+     * web view is created just to be thrown away.
+     *
+     * @param stub The stub. Its layout must be a {@link UAWebView}.
+     * @param style The style of the web view in the stub's layout.
+     * @return The web view.
+     */
+    @MainThread
+    @NonNull
+    public UAWebView inflate(@NonNull ViewStub stub, @StyleRes int style) {
+        ViewParent parent = stub.getParent();
+        UAWebView pooled = parent instanceof ViewGroup ? acquire(stub.getContext()) : null;
+        if (pooled == null) {
+            return (UAWebView) stub.inflate();
+        }
+
+        TypedArray attributes = stub.getContext().obtainStyledAttributes(style, STYLE_ATTRIBUTES);
+        Drawable background = attributes.getDrawable(0);
+        int padding = attributes.getDimensionPixelSize(1, 0);
+        pooled.setPadding(attributes.getDimensionPixelSize(2, padding),
+                attributes.getDimensionPixelSize(3, padding),
+                attributes.getDimensionPixelSize(4, padding),
+                attributes.getDimensionPixelSize(5, padding));
+        attributes.recycle();
+
+        if (background != null) {
+            pooled.setBackground(background);
+        }
+
+        pooled.setId(stub.getInflatedId());
+
+        ViewGroup group = (ViewGroup) parent;
+        int index = group.indexOfChild(stub);
+        group.removeViewInLayout(stub);
+
+        ViewGroup.LayoutParams layoutParams = stub.getLayoutParams();
+        if (layoutParams != null) {
+            group.addView(pooled, index, layoutParams);
+        } else {
+            group.addView(pooled, index);
+        }
+
+        return pooled;
+    }
+
+    /**
+     * Returns a web view to the pool. The web view is removed from its parent and reset so no
+     * page, history, JavaScript state, clients or credentials carry over to the next use. Web views
+     * that were not created by the pool, or that do not fit, are destroyed.
+     *
+     * @param webView The web view.
+     */
+    @MainThread
+    public void release(@NonNull UAWebView webView) {
+        if (webView.getParent() instanceof ViewGroup) {
+            ((ViewGroup) webView.getParent()).removeView(webView);
+        }
+
+        if (!(webView.getContext() instanceof MutableContextWrapper) || webViews.size() >= maxSize) {
+            webView.destroy();
+            return;
+        }
+
+        // Drop the activity so the pool does not leak it
+        ((MutableContextWrapper) webView.getContext()).setBaseContext(UAirship.getApplicationContext());
+        webView.reset(BLANK_PAGE);
+
+        if (!webViews.contains(webView)) {
+            webViews.add(webView);
+        }
+    }
+
+    /**
+     * Gets the number of pooled web views.
+     *
+     * @return The pool size.
+     */
+    @MainThread
+    public int size() {
+        return webViews.size();
+    }
+}
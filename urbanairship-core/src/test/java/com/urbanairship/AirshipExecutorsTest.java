@@ -0,0 +1,153 @@
+/* Copyright 2018 Urban Airship and Contributors */
+
+package com.urbanairship;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+
+public class AirshipExecutorsTest extends BaseTestCase {
+
+    /**
+     * Test serial lanes run tasks one at a time in submission order.
+     */
+    @Test
+    public void testSerialExecutor() throws InterruptedException {
+        ExecutorService executor = AirshipExecutors.newSerialExecutor("test");
+
+        final List<Integer> results = Collections.synchronizedList(new ArrayList<Integer>());
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        for (int i = 0; i < 20; i++) {
+            final int value = i;
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    maxRunning.set(Math.max(maxRunning.get(), running.incrementAndGet()));
+                    results.add(value);
+                    running.decrementAndGet();
+                }
+            });
+        }
+
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(20, results.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, results.get(i).intValue());
+        }
+        assertEquals(1, maxRunning.get());
+    }
+
+    /**
+     * Test lanes never run more than their max concurrency.
+     */
+    @Test
+    public void testLaneConcurrency() throws InterruptedException {
+        ExecutorService executor = AirshipExecutors.newLane("test", 2);
+
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(2);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        for (int i = 0; i < 6; i++) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    synchronized (maxRunning) {
+                        maxRunning.set(Math.max(maxRunning.get(), running.incrementAndGet()));
+                    }
+                    started.countDown();
+
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+
+                    running.decrementAndGet();
+                }
+            });
+        }
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(4, ((AirshipExecutors.Lane) executor).getQueueDepth());
+
+        release.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(2, maxRunning.get());
+        assertTrue(AirshipExecutors.getStartedTaskCount() >= 6);
+    }
+
+    /**
+     * Test the pool thread count can be capped.
+     */
+    @Test
+    public void testSetMaxThreadCount() {
+        int original = AirshipExecutors.getMaxThreadCount();
+
+        AirshipExecutors.setMaxThreadCount(2);
+        assertEquals(2, AirshipExecutors.getMaxThreadCount());
+
+        AirshipExecutors.setMaxThreadCount(original);
+        assertEquals(original, AirshipExecutors.getMaxThreadCount());
+    }
+
+    /**
+     * Test blocking lanes run on their own threads, so tasks waiting on shared pool work finish
+     * even when the waiters outnumber the pool threads.
+     */
+    @Test
+    public void testBlockingLane() throws InterruptedException {
+        int originalMaxThreads = AirshipExecutors.getMaxThreadCount();
+        AirshipExecutors.setMaxThreadCount(1);
+
+        try {
+            final ExecutorService sharedLane = AirshipExecutors.newLane("shared", 4);
+            ExecutorService blockingLane = AirshipExecutors.newBlockingLane("blocking", 4);
+            final CountDownLatch finished = new CountDownLatch(8);
+
+            for (int i = 0; i < 8; i++) {
+                blockingLane.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        // Same wait as ActionRunRequest#runSync
+                        final Semaphore semaphore = new Semaphore(0);
+                        sharedLane.execute(new Runnable() {
+                            @Override
+                            public void run() {
+                                semaphore.release();
+                            }
+                        });
+
+                        try {
+                            semaphore.acquire();
+                            finished.countDown();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                });
+            }
+
+            assertTrue(finished.await(5, TimeUnit.SECONDS));
+        } finally {
+            AirshipExecutors.setMaxThreadCount(originalMaxThreads);
+        }
+    }
+}
@@ -84,7 +84,7 @@ public class TestApplication extends Application implements TestLifecycleApplica
                         .build())
                 .build();
 
-        TagGroupRegistrar tagGroupRegistrar = new TagGroupRegistrar(UAirship.ANDROID_PLATFORM, airshipConfigOptions, preferenceDataStore);
+        TagGroupRegistrar tagGroupRegistrar = new TagGroupRegistrar(this, UAirship.ANDROID_PLATFORM, airshipConfigOptions, preferenceDataStore);
 
         UAirship.sharedAirship.applicationMetrics = new ApplicationMetrics(this, preferenceDataStore, ActivityMonitor.shared(getApplicationContext()));
         UAirship.sharedAirship.inbox = new RichPushInbox(this, preferenceDataStore, ActivityMonitor.shared(getApplicationContext()));
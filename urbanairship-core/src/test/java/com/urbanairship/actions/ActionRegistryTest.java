@@ -299,6 +299,19 @@ public class ActionRegistryTest extends BaseTestCase {
                 entry.getActionForSituation(Action.SITUATION_MANUAL_INVOCATION), defaultAction);
     }
 
+    /**
+     * Test registering an action class with a predicate creates the action once.
+     */
+    @Test
+    public void testRegisterActionClassWithPredicate() {
+        ActionRegistry.Predicate predicate = mock(ActionRegistry.Predicate.class);
+        ActionRegistry.Entry entry = registry.registerAction(TestAction.class, predicate, "action");
+
+        assertEquals(predicate, entry.getPredicate());
+        assertTrue(entry.getDefaultAction() instanceof TestAction);
+        assertTrue(entry.getDefaultAction() == entry.getActionForSituation(Action.SITUATION_PUSH_OPENED));
+    }
+
     /**
      * Validates an entry
      *
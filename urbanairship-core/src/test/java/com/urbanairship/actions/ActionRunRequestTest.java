@@ -7,6 +7,7 @@ import android.os.Looper;
 import android.support.annotation.NonNull;
 
 import com.urbanairship.BaseTestCase;
+import com.urbanairship.UAirship;
 
 import org.junit.After;
 import org.junit.Before;
@@ -16,6 +17,10 @@ import org.junit.rules.ExpectedException;
 import org.robolectric.Shadows;
 import org.robolectric.shadows.ShadowLooper;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -48,7 +53,7 @@ public class ActionRunRequestTest extends BaseTestCase {
 
     @After
     public void cleanup() {
-        ActionRunRequest.executor = Executors.newCachedThreadPool();
+        ActionRunRequest.executor = ActionScheduler.shared();
     }
 
     /**
@@ -284,6 +289,47 @@ public class ActionRunRequestTest extends BaseTestCase {
         assertTrue("Callback on finish is not being called", callback.onFinishCalled);
     }
 
+    /**
+     * Test running a map of actions as a batch.
+     */
+    @Test
+    public void testRunBatch() throws ActionValueException {
+        TestAction first = new TestAction();
+        TestAction second = new TestAction();
+        UAirship.shared().getActionRegistry().registerAction(first, "first");
+        UAirship.shared().getActionRegistry().registerAction(second, "second");
+
+        final List<Runnable> tasks = new ArrayList<>();
+        ActionRunRequest.executor = new Executor() {
+            @Override
+            public void execute(@NonNull Runnable command) {
+                tasks.add(command);
+            }
+        };
+
+        Map<String, ActionValue> actions = new HashMap<>();
+        actions.put("first", ActionValue.wrap("one"));
+        actions.put("second", ActionValue.wrap("two"));
+
+        Bundle metadata = new Bundle();
+        metadata.putString("so", "meta");
+
+        ActionRunRequest.runBatch(actions, Action.SITUATION_PUSH_RECEIVED, metadata);
+
+        // Both actions are submitted as a single task
+        assertEquals(1, tasks.size());
+        tasks.get(0).run();
+
+        assertTrue(first.performCalled);
+        assertEquals("one", first.runArgs.getValue().getString());
+        assertEquals(Action.SITUATION_PUSH_RECEIVED, first.runArgs.getSituation());
+        assertEquals("meta", first.runArgs.getMetadata().getString("so"));
+
+        assertTrue(second.performCalled);
+        assertEquals("two", second.runArgs.getValue().getString());
+        assertEquals("second", second.runArgs.getMetadata().getString(ActionArguments.REGISTRY_ACTION_NAME_METADATA));
+    }
+
     /**
      * Test setting metadata will be combined with the registry name.
      */
@@ -0,0 +1,102 @@
+/* Copyright 2018 Urban Airship and Contributors */
+
+package com.urbanairship.actions;
+
+import android.support.annotation.NonNull;
+
+import com.urbanairship.BaseTestCase;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static junit.framework.Assert.assertEquals;
+
+public class ActionSchedulerTest extends BaseTestCase {
+
+    private List<Runnable> started;
+    private List<String> finished;
+    private ActionScheduler scheduler;
+
+    @Before
+    public void setup() {
+        started = new ArrayList<>();
+        finished = new ArrayList<>();
+
+        scheduler = new ActionScheduler(new Executor() {
+            @Override
+            public void execute(@NonNull Runnable command) {
+                started.add(command);
+            }
+        }, 2, 1);
+    }
+
+    /**
+     * Test user initiated actions are not blocked by background actions.
+     */
+    @Test
+    public void testPriority() {
+        scheduler.execute(task("received 1"), Action.SITUATION_PUSH_RECEIVED);
+        scheduler.execute(task("received 2"), Action.SITUATION_PUSH_RECEIVED);
+        scheduler.execute(task("automation"), Action.SITUATION_AUTOMATION);
+        scheduler.execute(task("opened"), Action.SITUATION_PUSH_OPENED);
+
+        // One background slot, and the user initiated action gets the other
+        assertEquals(2, started.size());
+        assertEquals(2, scheduler.getRunningCount());
+        assertEquals(2, scheduler.getQueueDepth());
+
+        runStarted();
+        assertEquals(Arrays.asList("received 1", "opened", "received 2", "automation"), finished);
+        assertEquals(0, scheduler.getQueueDepth());
+        assertEquals(0, scheduler.getRunningCount());
+        assertEquals(4, scheduler.getCompletedCount());
+    }
+
+    /**
+     * Test per situation concurrency limits.
+     */
+    @Test
+    public void testSituationConcurrency() {
+        scheduler = new ActionScheduler(new Executor() {
+            @Override
+            public void execute(@NonNull Runnable command) {
+                started.add(command);
+            }
+        }, 4, 3);
+        scheduler.setSituationConcurrency(Action.SITUATION_AUTOMATION, 1);
+
+        scheduler.execute(task("automation 1"), Action.SITUATION_AUTOMATION);
+        scheduler.execute(task("automation 2"), Action.SITUATION_AUTOMATION);
+        scheduler.execute(task("received"), Action.SITUATION_PUSH_RECEIVED);
+
+        assertEquals(2, started.size());
+        assertEquals(1, scheduler.getQueueDepth());
+
+        started.remove(0).run();
+        assertEquals(2, started.size());
+        assertEquals(0, scheduler.getQueueDepth());
+
+        runStarted();
+        assertEquals(Arrays.asList("automation 1", "received", "automation 2"), finished);
+    }
+
+    private void runStarted() {
+        while (!started.isEmpty()) {
+            started.remove(0).run();
+        }
+    }
+
+    private Runnable task(final String name) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                finished.add(name);
+            }
+        };
+    }
+}
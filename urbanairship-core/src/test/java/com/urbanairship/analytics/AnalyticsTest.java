@@ -17,8 +17,10 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentMatcher;
 import org.mockito.Mockito;
+import org.robolectric.shadows.ShadowLooper;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -142,6 +144,57 @@ public class AnalyticsTest extends BaseTestCase {
         verify(mockEventManager).addEvent(event, analytics.getSessionId());
     }
 
+    /**
+     * Test rolled up events are recorded as a summary when the app backgrounds.
+     */
+    @Test
+    public void testEventRollup() {
+        analytics.addEventRollup(EventRollup.newBuilder("cool").build());
+
+        CustomEvent event = CustomEvent.newBuilder("cool").setEventValue(2).build();
+        analytics.addEvent(event);
+        analytics.addEvent(event);
+
+        verify(mockEventManager, never()).addEvent(event, analytics.getSessionId());
+
+        analytics.onBackground(System.currentTimeMillis());
+
+        verify(mockEventManager).addEvent(Mockito.argThat(new ArgumentMatcher<Event>() {
+            @Override
+            public boolean matches(Event argument) {
+                if (!(argument instanceof CustomEvent)) {
+                    return false;
+                }
+
+                CustomEvent summary = (CustomEvent) argument;
+                return "cool".equals(summary.getEventName())
+                        && summary.getEventValue().intValue() == 4
+                        && Long.valueOf(2).equals(summary.getProperties().get(EventAggregator.COUNT_PROPERTY));
+            }
+        }), Mockito.anyString());
+    }
+
+    /**
+     * Test rollup windows are recorded when they end, without waiting for another event.
+     */
+    @Test
+    public void testEventRollupFlushedOnSchedule() throws InterruptedException {
+        analytics.addEventRollup(EventRollup.newBuilder("cool").setWindow(1, TimeUnit.MILLISECONDS).build());
+        analytics.addEvent(CustomEvent.newBuilder("cool").build());
+        verify(mockEventManager, never()).addEvent(Mockito.any(Event.class), Mockito.anyString());
+
+        Thread.sleep(5);
+        ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+
+        verify(mockEventManager).addEvent(Mockito.argThat(new ArgumentMatcher<Event>() {
+            @Override
+            public boolean matches(Event argument) {
+                return argument instanceof CustomEvent
+                        && Long.valueOf(1).equals(((CustomEvent) argument).getProperties().get(EventAggregator.COUNT_PROPERTY));
+            }
+        }), Mockito.anyString());
+    }
+
     /**
      * Test adding an event when analytics is disabled through airship config.
      */
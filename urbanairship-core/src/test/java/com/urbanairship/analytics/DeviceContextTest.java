@@ -0,0 +1,52 @@
+/* Copyright 2018 Urban Airship and Contributors */
+
+package com.urbanairship.analytics;
+
+import android.content.Context;
+import android.content.Intent;
+import android.net.ConnectivityManager;
+import android.net.NetworkInfo;
+
+import com.urbanairship.BaseTestCase;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.shadows.ShadowNetworkInfo;
+
+import static org.junit.Assert.assertEquals;
+import static org.robolectric.Shadows.shadowOf;
+
+public class DeviceContextTest extends BaseTestCase {
+
+    private ConnectivityManager connectivityManager;
+    private DeviceContext deviceContext;
+
+    @Before
+    public void setup() {
+        connectivityManager = (ConnectivityManager) RuntimeEnvironment.application.getSystemService(Context.CONNECTIVITY_SERVICE);
+        setActiveNetwork(ConnectivityManager.TYPE_WIFI);
+
+        deviceContext = DeviceContext.shared(RuntimeEnvironment.application);
+        deviceContext.invalidate();
+    }
+
+    /**
+     * Test the connection type is cached until a connectivity change is broadcast.
+     */
+    @Test
+    public void testConnectivityChange() {
+        assertEquals("wifi", deviceContext.getConnectionType());
+
+        setActiveNetwork(ConnectivityManager.TYPE_MOBILE);
+        assertEquals("wifi", deviceContext.getConnectionType());
+
+        RuntimeEnvironment.application.sendBroadcast(new Intent(ConnectivityManager.CONNECTIVITY_ACTION));
+        assertEquals("cell", deviceContext.getConnectionType());
+    }
+
+    private void setActiveNetwork(int type) {
+        NetworkInfo networkInfo = ShadowNetworkInfo.newInstance(NetworkInfo.DetailedState.CONNECTED, type, 0, true, true);
+        shadowOf(connectivityManager).setActiveNetworkInfo(networkInfo);
+    }
+}
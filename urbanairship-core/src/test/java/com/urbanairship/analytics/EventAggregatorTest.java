@@ -0,0 +1,145 @@
+/* Copyright 2018 Urban Airship and Contributors */
+
+package com.urbanairship.analytics;
+
+import com.urbanairship.BaseTestCase;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class EventAggregatorTest extends BaseTestCase {
+
+    private EventAggregator aggregator;
+
+    @Before
+    public void setup() {
+        aggregator = new EventAggregator();
+        aggregator.addRollup(EventRollup.newBuilder("purchase")
+                                        .setWindow(10, TimeUnit.SECONDS)
+                                        .setHistogramBounds(1, 10)
+                                        .build(), 0);
+    }
+
+    /**
+     * Test events without a rollup are recorded as is.
+     */
+    @Test
+    public void testOfferUnknownEvent() {
+        EventAggregator.Result result = aggregator.offer(CustomEvent.newBuilder("other").build(), 0);
+        assertTrue(result.record);
+        assertTrue(result.summaries.isEmpty());
+    }
+
+    /**
+     * Test the window summary.
+     */
+    @Test
+    public void testSummary() {
+        assertFalse(aggregator.offer(CustomEvent.newBuilder("purchase").setEventValue(1).build(), 1000).record);
+        assertFalse(aggregator.offer(CustomEvent.newBuilder("purchase").setEventValue(5).build(), 2000).record);
+        assertFalse(aggregator.offer(CustomEvent.newBuilder("purchase").setEventValue(20).build(), 3000).record);
+
+        List<CustomEvent> summaries = aggregator.flush(4000);
+        assertEquals(1, summaries.size());
+
+        CustomEvent summary = summaries.get(0);
+        assertEquals("purchase", summary.getEventName());
+        assertEquals(26, summary.getEventValue().intValue());
+        assertEquals(3L, summary.getProperties().get(EventAggregator.COUNT_PROPERTY));
+        assertEquals(1.0, summary.getProperties().get(EventAggregator.MIN_PROPERTY));
+        assertEquals(20.0, summary.getProperties().get(EventAggregator.MAX_PROPERTY));
+        assertEquals(1000L, summary.getProperties().get(EventAggregator.WINDOW_START_PROPERTY));
+        assertEquals(4000L, summary.getProperties().get(EventAggregator.WINDOW_END_PROPERTY));
+        assertEquals(Arrays.asList("1.0:1", "10.0:1", "+Inf:1"), summary.getProperties().get(EventAggregator.HISTOGRAM_PROPERTY));
+        assertTrue(summary.isValid());
+
+        // Window is reset
+        assertTrue(aggregator.flush(5000).isEmpty());
+    }
+
+    /**
+     * Test an expired window is closed by the next event.
+     */
+    @Test
+    public void testWindowExpires() {
+        aggregator.offer(CustomEvent.newBuilder("purchase").build(), 0);
+        aggregator.offer(CustomEvent.newBuilder("purchase").build(), 9999);
+
+        EventAggregator.Result result = aggregator.offer(CustomEvent.newBuilder("purchase").build(), 10000);
+        assertFalse(result.record);
+        assertEquals(1, result.summaries.size());
+        assertEquals(2L, result.summaries.get(0).getProperties().get(EventAggregator.COUNT_PROPERTY));
+
+        // Events without values do not set a sum
+        assertNull(result.summaries.get(0).getEventValue());
+
+        List<CustomEvent> summaries = aggregator.flush(10000);
+        assertEquals(1L, summaries.get(0).getProperties().get(EventAggregator.COUNT_PROPERTY));
+    }
+
+    /**
+     * Test every Nth event is sampled.
+     */
+    @Test
+    public void testSampleInterval() {
+        aggregator.addRollup(EventRollup.newBuilder("view").setSampleInterval(3).build(), 0);
+
+        int recorded = 0;
+        for (int i = 0; i < 9; i++) {
+            if (aggregator.offer(CustomEvent.newBuilder("view").build(), i).record) {
+                recorded++;
+            }
+        }
+
+        assertEquals(3, recorded);
+
+        CustomEvent summary = aggregator.removeRollup("view", 10);
+        assertEquals(9L, summary.getProperties().get(EventAggregator.COUNT_PROPERTY));
+        assertEquals(3, summary.getProperties().get(EventAggregator.SAMPLE_INTERVAL_PROPERTY));
+
+        // Removed rollups no longer absorb events
+        assertTrue(aggregator.offer(CustomEvent.newBuilder("view").build(), 11).record);
+    }
+
+    /**
+     * Test only windows that ended are flushed on schedule.
+     */
+    @Test
+    public void testFlushExpired() {
+        aggregator.addRollup(EventRollup.newBuilder("view").setWindow(5, TimeUnit.SECONDS).build(), 0);
+        assertEquals(-1, aggregator.getNextExpiration());
+
+        aggregator.offer(CustomEvent.newBuilder("purchase").build(), 1000);
+        aggregator.offer(CustomEvent.newBuilder("view").build(), 2000);
+        assertEquals(7000, aggregator.getNextExpiration());
+
+        assertTrue(aggregator.flushExpired(6999).isEmpty());
+
+        List<CustomEvent> summaries = aggregator.flushExpired(7000);
+        assertEquals(1, summaries.size());
+        assertEquals("view", summaries.get(0).getEventName());
+        assertEquals(11000, aggregator.getNextExpiration());
+
+        summaries = aggregator.flushExpired(11000);
+        assertEquals(1, summaries.size());
+        assertEquals("purchase", summaries.get(0).getEventName());
+        assertEquals(-1, aggregator.getNextExpiration());
+    }
+
+    /**
+     * Test histogram bounds must be ascending.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidHistogramBounds() {
+        EventRollup.newBuilder("purchase").setHistogramBounds(10, 1).build();
+    }
+}
@@ -32,6 +32,24 @@ public class EventTest extends BaseTestCase {
         assertEquals(body.get(Event.DATA_KEY).optMap().get("some key").getString(), "some value");
     }
 
+    @Test
+    public void testCreateEventPayloadOverridesSessionId() throws JsonException {
+        Event sessionEvent = new BasicEvent() {
+            @Override
+            protected JsonMap getEventData() {
+                return JsonMap.newBuilder()
+                              .put(Event.SESSION_ID_KEY, "old session id")
+                              .put("some key", "some value")
+                              .build();
+            }
+        };
+
+        JsonMap data = JsonValue.parseString(sessionEvent.createEventPayload("session id")).optMap().opt(Event.DATA_KEY).optMap();
+        assertEquals(2, data.size());
+        assertEquals("session id", data.opt(Event.SESSION_ID_KEY).getString());
+        assertEquals("some value", data.opt("some key").getString());
+    }
+
     //a simple extension of the abstract Event class so
     //we can verify the essential JSON representation shared
     //by all derived events
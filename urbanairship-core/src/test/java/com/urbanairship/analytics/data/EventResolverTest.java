@@ -9,6 +9,7 @@ import com.urbanairship.json.JsonMap;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.Mockito;
 import org.robolectric.RuntimeEnvironment;
 
 import java.util.Arrays;
@@ -19,6 +20,7 @@ import java.util.UUID;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
 
 public class EventResolverTest extends BaseTestCase {
 
@@ -45,6 +47,20 @@ public class EventResolverTest extends BaseTestCase {
         Assert.assertEquals(event.createEventPayload("session id"), eventData.get("some-id"));
     }
 
+    /**
+     * Test events whose payload could not be created are skipped.
+     */
+    @Test
+    public void testInsertEventNullPayload() {
+        Event event = Mockito.mock(Event.class);
+        when(event.getType()).thenReturn("test");
+        when(event.getEventId()).thenReturn("some-id");
+        when(event.createEventPayload("session id")).thenReturn(null);
+
+        eventResolver.insertEvent(event, "session id");
+        assertEquals(0, eventResolver.getEventCount());
+    }
+
     /**
      * Test trimming the database deletes the oldest sessions until its under the specified size.
      */
@@ -8,6 +8,7 @@ import com.urbanairship.json.JsonException;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -84,6 +85,37 @@ public class TagSelectorTest extends BaseTestCase {
         assertTrue(selector.apply(tags, tagGroups));
     }
 
+    @Test
+    public void testLargeSelector() {
+        List<TagSelector> orSelectors = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            orSelectors.add(TagSelector.tag("tag-" + i));
+        }
+
+        TagSelector selector = TagSelector.and(
+                TagSelector.or(orSelectors),
+                TagSelector.not(TagSelector.or(TagSelector.tag("excluded"), TagSelector.tag("excluded", "some-group"))));
+
+        List<String> tags = new ArrayList<>();
+        tags.add("tag-99");
+        tags.add("not-referenced");
+
+        Map<String, Set<String>> tagGroups = new HashMap<>();
+        tagGroups.put("other-group", tagSet("excluded"));
+        assertTrue(selector.apply(tags, tagGroups));
+
+        tagGroups.put("some-group", tagSet("excluded"));
+        assertFalse(selector.apply(tags, tagGroups));
+
+        tagGroups.clear();
+        tags.add("excluded");
+        assertFalse(selector.apply(tags, tagGroups));
+
+        tags.clear();
+        tags.add("tag-100");
+        assertFalse(selector.apply(tags, tagGroups));
+    }
+
     @Test
     public void testContainsTagGroups() throws JsonException {
         TagSelector selector = TagSelector.or(
@@ -130,4 +162,26 @@ public class TagSelectorTest extends BaseTestCase {
         assertTrue(tagGroups.get("some-other-group").contains("some-other-tag"));
         assertTrue(tagGroups.get("some-other-group").contains("not-tag"));
     }
-}
\ No newline at end of file
+
+    /**
+     * Test the same tag name is matched separately as a device tag and in each group, and a tag
+     * that is repeated in the selector is evaluated consistently.
+     */
+    @Test
+    public void testSameTagInDeviceTagsAndGroups() {
+        TagSelector selector = TagSelector.and(
+                TagSelector.tag("tag"),
+                TagSelector.tag("tag", "group"),
+                TagSelector.not(TagSelector.tag("tag", "other-group")),
+                TagSelector.or(TagSelector.tag("tag"), TagSelector.tag("missing")));
+
+        Map<String, Set<String>> tagGroups = new HashMap<>();
+        tagGroups.put("group", Collections.singleton("tag"));
+
+        assertTrue(selector.apply(Collections.singleton("tag"), tagGroups));
+        assertFalse(selector.apply(Collections.<String>emptySet(), tagGroups));
+
+        tagGroups.put("other-group", Collections.singleton("tag"));
+        assertFalse(selector.apply(Collections.singleton("tag"), tagGroups));
+    }
+}
@@ -23,6 +23,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 import static com.urbanairship.iam.tags.TestUtils.tagSet;
 import static junit.framework.Assert.assertEquals;
@@ -149,6 +150,47 @@ public class TagGroupHistorianTest extends BaseTestCase {
         assertTrue(historyTags.contains("three"));
     }
 
+    /**
+     * Test records older than the max record age are dropped.
+     */
+    @Test
+    public void testMaxRecordAge() {
+        historian.setMaxRecordAge(10, TimeUnit.MILLISECONDS);
+
+        listener.onMutationUploaded(TagGroupsMutation.newAddTagsMutation("history-group", tagSet("one")));
+        clock.currentTimeMillis += 5;
+        listener.onMutationUploaded(TagGroupsMutation.newAddTagsMutation("history-group", tagSet("two")));
+
+        // Expire the first record
+        clock.currentTimeMillis += 6;
+
+        Map<String, Set<String>> tags = new HashMap<>();
+        historian.applyLocalData(tags, 0);
+        assertEquals(tagSet("two"), tags.get("history-group"));
+
+        // Verify the expired record was removed from the data store
+        PreferenceDataStore dataStore = TestApplication.getApplication().preferenceDataStore;
+        assertEquals(1, dataStore.getJsonValue(TagGroupHistorian.RECORDS_KEY).optList().size());
+    }
+
+    /**
+     * Test applying local data multiple times does not modify the recorded mutations.
+     */
+    @Test
+    public void applyLocalDataRepeated() {
+        listener.onMutationUploaded(TagGroupsMutation.newSetTagsMutation("history-group", tagSet("one")));
+        pendingChannelMutations.add(TagGroupsMutation.newAddTagsMutation("history-group", tagSet("two")));
+
+        Map<String, Set<String>> tags = new HashMap<>();
+        historian.applyLocalData(tags, 0);
+        assertEquals(tagSet("one", "two"), tags.get("history-group"));
+
+        pendingChannelMutations.clear();
+
+        tags = new HashMap<>();
+        historian.applyLocalData(tags, 0);
+        assertEquals(tagSet("one"), tags.get("history-group"));
+    }
 
     @Test
     public void testNullRecord() {
@@ -20,6 +20,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import static com.urbanairship.iam.tags.TestUtils.tagSet;
@@ -439,6 +440,57 @@ public class TagGroupManagerTest extends BaseTestCase {
         verifyZeroInteractions(mockClient);
     }
 
+    /**
+     * Test concurrent callers share a single refresh.
+     */
+    @Test
+    public void getTagsConcurrentRefresh() throws Exception {
+        final CountDownLatch lookupStarted = new CountDownLatch(1);
+        final CountDownLatch releaseLookup = new CountDownLatch(1);
+
+        when(mockClient.lookupTagGroups(channelId, UAirship.ANDROID_PLATFORM, getExpectedClientRequestTags(), null))
+                .thenAnswer(new Answer<TagGroupResponse>() {
+                    @Override
+                    public TagGroupResponse answer(InvocationOnMock invocation) throws Throwable {
+                        lookupStarted.countDown();
+                        releaseLookup.await(5, TimeUnit.SECONDS);
+                        return new TagGroupResponse(200, clientResponseTags, "lastModifiedTime");
+                    }
+                });
+
+        final TagGroupResult[] results = new TagGroupResult[2];
+        Thread first = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                results[0] = manager.getTags(requestTags);
+            }
+        });
+
+        Thread second = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                results[1] = manager.getTags(requestTags);
+            }
+        });
+
+        first.start();
+        assertTrue(lookupStarted.await(5, TimeUnit.SECONDS));
+
+        second.start();
+        while (second.getState() != Thread.State.BLOCKED && second.isAlive()) {
+            Thread.sleep(5);
+        }
+
+        releaseLookup.countDown();
+        first.join(5000);
+        second.join(5000);
+
+        verify(mockClient, times(1)).lookupTagGroups(channelId, UAirship.ANDROID_PLATFORM, getExpectedClientRequestTags(), null);
+        assertTrue(results[0].success);
+        assertTrue(results[1].success);
+        assertEquals(results[0].tagGroups, results[1].tagGroups);
+    }
+
     private Map<String, Set<String>> getExpectedClientRequestTags() {
         return TagGroupUtils.union(callbackResponseTags, requestTags);
     }
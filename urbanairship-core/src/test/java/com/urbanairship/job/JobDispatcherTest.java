@@ -16,8 +16,13 @@ import com.urbanairship.push.PushManager;
 import org.junit.Before;
 import org.junit.Test;
 import org.robolectric.shadows.ShadowApplication;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.List;
 
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertNull;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -73,6 +78,10 @@ public class JobDispatcherTest extends BaseTestCase {
         activityMonitor.startActivity();
         dispatcher.dispatch(jobInfo);
 
+        // Jobs are started after the coalesce window
+        assertNull(ShadowApplication.getInstance().peekNextStartedService());
+        ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+
         Intent intent = ShadowApplication.getInstance().getNextStartedService();
 
         Intent expectedIntent = AirshipService.createIntent(context, jobInfo, null);
@@ -81,6 +90,66 @@ public class JobDispatcherTest extends BaseTestCase {
         assertBundlesEquals(expectedIntent.getExtras(), intent.getExtras());
     }
 
+    @Test
+    public void testDispatchImmediatelyCoalesces() {
+        activityMonitor.startActivity();
+
+        int dispatchCount = JobMetrics.shared().getStats(jobInfo.getId()).getDispatchCount();
+        int coalescedCount = JobMetrics.shared().getStats(jobInfo.getId()).getCoalescedCount();
+
+        dispatcher.dispatch(jobInfo);
+        dispatcher.dispatch(jobInfo);
+        ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+
+        Intent intent = ShadowApplication.getInstance().getNextStartedService();
+        assertNotNull(intent.getBundleExtra(AirshipService.EXTRA_JOB_INFO_BUNDLE));
+        assertNull(ShadowApplication.getInstance().getNextStartedService());
+
+        assertEquals(dispatchCount + 2, JobMetrics.shared().getStats(jobInfo.getId()).getDispatchCount());
+        assertEquals(coalescedCount + 1, JobMetrics.shared().getStats(jobInfo.getId()).getCoalescedCount());
+    }
+
+    @Test
+    public void testDispatchGeneratedIdStartsImmediately() {
+        activityMonitor.startActivity();
+
+        JobInfo pushJobInfo = JobInfo.newBuilder()
+                                     .setAction("push_action")
+                                     .generateUniqueId(context)
+                                     .setAirshipComponent(PushManager.class)
+                                     .build();
+
+        dispatcher.dispatch(pushJobInfo);
+
+        // Started without waiting for the coalesce window
+        Intent intent = ShadowApplication.getInstance().getNextStartedService();
+        assertNotNull(intent);
+        assertEquals(pushJobInfo, JobInfo.fromBundle(intent.getBundleExtra(AirshipService.EXTRA_JOB_INFO_BUNDLE)));
+    }
+
+    @Test
+    public void testDispatchImmediatelyBatch() {
+        activityMonitor.startActivity();
+
+        JobInfo otherJobInfo = JobInfo.newBuilder()
+                                      .setAction("other_action")
+                                      .setId(JobInfo.CHANNEL_UPDATE_REGISTRATION)
+                                      .setAirshipComponent(PushManager.class)
+                                      .build();
+
+        dispatcher.dispatch(jobInfo);
+        dispatcher.dispatch(otherJobInfo);
+        ShadowLooper.runUiThreadTasksIncludingDelayedTasks();
+
+        Intent intent = ShadowApplication.getInstance().getNextStartedService();
+        assertNull(ShadowApplication.getInstance().getNextStartedService());
+
+        List<Bundle> bundles = intent.getParcelableArrayListExtra(AirshipService.EXTRA_JOB_INFO_BUNDLES);
+        assertEquals(2, bundles.size());
+        assertEquals(jobInfo, JobInfo.fromBundle(bundles.get(0)));
+        assertEquals(otherJobInfo, JobInfo.fromBundle(bundles.get(1)));
+    }
+
     @Test
     public void testDispatchFallback() throws SchedulerException {
         doThrow(new SchedulerException("test"))
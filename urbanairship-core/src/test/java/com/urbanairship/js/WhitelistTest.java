@@ -453,6 +453,20 @@ public class WhitelistTest extends BaseTestCase {
             }
         }
     }
-}
-
 
+    /**
+     * Test cached decisions are discarded when an entry is added.
+     */
+    @Test
+    public void testAddEntryAfterCachedDecision() {
+        assertFalse(whitelist.isWhitelisted("https://sub.urbanairship.com/page.html", Whitelist.SCOPE_JAVASCRIPT_INTERFACE));
+        assertFalse(whitelist.isWhitelisted("https://sub.urbanairship.com/page.html", Whitelist.SCOPE_JAVASCRIPT_INTERFACE));
+
+        whitelist.addEntry("https://*.urbanairship.com/*.html", Whitelist.SCOPE_JAVASCRIPT_INTERFACE);
+        assertTrue(whitelist.isWhitelisted("https://sub.urbanairship.com/page.html", Whitelist.SCOPE_JAVASCRIPT_INTERFACE));
+        assertTrue(whitelist.isWhitelisted("https://sub.urbanairship.com/page.html", Whitelist.SCOPE_JAVASCRIPT_INTERFACE));
+        assertFalse(whitelist.isWhitelisted("https://sub.urbanairship.com/page.html", Whitelist.SCOPE_OPEN_URL));
+        assertFalse(whitelist.isWhitelisted("https://sub.urbanairship.com/page.htm", Whitelist.SCOPE_JAVASCRIPT_INTERFACE));
+        assertFalse(whitelist.isWhitelisted("https://urbanairship.com.evil.com/page.html", Whitelist.SCOPE_JAVASCRIPT_INTERFACE));
+    }
+}
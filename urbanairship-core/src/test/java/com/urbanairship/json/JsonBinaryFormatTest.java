@@ -0,0 +1,87 @@
+/* Copyright 2018 Urban Airship and Contributors */
+
+package com.urbanairship.json;
+
+import android.os.Parcel;
+
+import com.urbanairship.BaseTestCase;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertTrue;
+
+public class JsonBinaryFormatTest extends BaseTestCase {
+
+    private JsonValue value;
+
+    @Before
+    public void setup() {
+        JsonList list = new JsonList(Arrays.asList(JsonValue.wrap("one"), JsonValue.NULL, JsonValue.wrap(2)));
+
+        value = JsonMap.newBuilder()
+                       .put("string", "value")
+                       .put("empty string", "")
+                       .put("unicode", "café ☃")
+                       .put("true", true)
+                       .put("false", false)
+                       .put("int", Integer.MIN_VALUE)
+                       .put("long", Long.MAX_VALUE)
+                       .put("double", 1.5)
+                       .put("list", list)
+                       .put("empty map", JsonMap.EMPTY_MAP)
+                       .put("nested", JsonMap.newBuilder().put("list", list).build())
+                       .build()
+                       .toJsonValue();
+    }
+
+    /**
+     * Test a parcel round trip keeps nested values and exact number types.
+     */
+    @Test
+    public void testParcel() throws JsonException {
+        Parcel parcel = Parcel.obtain();
+        JsonBinaryFormat.write(value, parcel);
+        parcel.setDataPosition(0);
+
+        JsonValue fromParcel = JsonBinaryFormat.read(parcel);
+        parcel.recycle();
+
+        assertEquals(value, fromParcel);
+        assertTrue(fromParcel.optMap().opt("int").getValue() instanceof Integer);
+        assertTrue(fromParcel.optMap().opt("long").getValue() instanceof Long);
+        assertTrue(fromParcel.optMap().opt("double").getValue() instanceof Double);
+    }
+
+    /**
+     * Test a byte array round trip.
+     */
+    @Test
+    public void testBytes() throws JsonException {
+        assertEquals(value, JsonBinaryFormat.fromBytes(JsonBinaryFormat.toBytes(value)));
+        assertEquals(JsonValue.NULL, JsonBinaryFormat.fromBytes(JsonBinaryFormat.toBytes(JsonValue.NULL)));
+        assertEquals(JsonValue.wrap("value"), JsonBinaryFormat.fromBytes(JsonBinaryFormat.toBytes(JsonValue.wrap("value"))));
+    }
+
+    /**
+     * Test truncated bytes throw a JsonException.
+     */
+    @Test(expected = JsonException.class)
+    public void testTruncatedBytes() throws JsonException {
+        byte[] bytes = JsonBinaryFormat.toBytes(value);
+        JsonBinaryFormat.fromBytes(Arrays.copyOf(bytes, bytes.length - 1));
+    }
+
+    /**
+     * Test an unknown version throws a JsonException.
+     */
+    @Test(expected = JsonException.class)
+    public void testUnknownVersion() throws JsonException {
+        byte[] bytes = JsonBinaryFormat.toBytes(value);
+        bytes[3] = (byte) (JsonBinaryFormat.VERSION + 1);
+        JsonBinaryFormat.fromBytes(bytes);
+    }
+}
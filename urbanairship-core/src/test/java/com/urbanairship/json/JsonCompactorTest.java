@@ -0,0 +1,107 @@
+/* Copyright 2018 Urban Airship and Contributors */
+
+package com.urbanairship.json;
+
+import com.urbanairship.BaseTestCase;
+
+import org.junit.Test;
+
+import java.util.Map;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNotSame;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+
+public class JsonCompactorTest extends BaseTestCase {
+
+    private static final String MESSAGE = "{\"message_id\": \"%s\", \"title\": \"Title\", \"unread\": true, " +
+            "\"extra\": {\"some-key\": \"some-value\", \"count\": 1, \"ratio\": 1.5}, \"icons\": [\"one\", \"two\"]}";
+
+    /**
+     * Test compacted values are equal to the original and support lookups.
+     */
+    @Test
+    public void testCompactEquals() throws JsonException {
+        JsonValue original = JsonValue.parseString(String.format(MESSAGE, "one"));
+        JsonValue compacted = JsonCompactor.compact(original);
+
+        assertEquals(original, compacted);
+        assertEquals(original.hashCode(), compacted.hashCode());
+        assertEquals(compacted, original);
+
+        JsonMap map = compacted.optMap();
+        assertEquals("one", map.opt("message_id").getString());
+        assertEquals(1, map.opt("extra").optMap().opt("count").getInt(0));
+        assertTrue(map.opt("extra").optMap().opt("count").isInteger());
+        assertTrue(map.opt("extra").optMap().opt("ratio").isDouble());
+        assertTrue(map.containsKey("icons"));
+        assertFalse(map.containsKey("missing"));
+        assertNull(map.get("missing"));
+
+        int entries = 0;
+        for (Map.Entry<String, JsonValue> entry : map) {
+            assertEquals(original.optMap().get(entry.getKey()), entry.getValue());
+            entries++;
+        }
+        assertEquals(5, entries);
+
+        assertEquals(original, JsonValue.parseString(compacted.toString()));
+    }
+
+    /**
+     * Test identical small subtrees and keys are shared between compacted values.
+     */
+    @Test
+    public void testCompactSharesSubtrees() throws JsonException {
+        JsonMap first = JsonCompactor.compact(JsonValue.parseString(String.format(MESSAGE, "one"))).optMap();
+        JsonMap second = JsonCompactor.compact(JsonValue.parseString(String.format(MESSAGE, "two"))).optMap();
+
+        assertSame(first.get("extra"), second.get("extra"));
+        assertSame(first.get("icons"), second.get("icons"));
+        assertSame(first.keySet().iterator().next(), second.keySet().iterator().next());
+        assertFalse(first.equals(second));
+    }
+
+    /**
+     * Test plain values and large or nested subtrees are not pooled.
+     */
+    @Test
+    public void testCompactDoesNotPoolLargeSubtrees() throws JsonException {
+        JsonMap first = JsonCompactor.compact(JsonValue.parseString(String.format(MESSAGE, "one"))).optMap();
+        JsonMap second = JsonCompactor.compact(JsonValue.parseString(String.format(MESSAGE, "one"))).optMap();
+
+        assertEquals(first, second);
+        assertNotSame(first, second);
+        assertNotSame(first.get("title"), second.get("title"));
+
+        JsonList large = JsonValue.parseString("[1, 2, 3, 4, 5, 6, 7, 8, 9]").optList();
+        assertNotSame(JsonCompactor.compact(large.toJsonValue()), JsonCompactor.compact(large.toJsonValue()));
+    }
+
+    /**
+     * Test pooled subtrees with equal numbers of different types are not merged.
+     */
+    @Test
+    public void testCompactKeepsNestedNumberTypes() throws JsonException {
+        JsonValue integer = JsonCompactor.compact(JsonValue.parseString("{\"value\": 1}"));
+        JsonValue decimal = JsonCompactor.compact(JsonValue.parseString("{\"value\": 1.0}"));
+
+        assertTrue(integer.optMap().opt("value").isInteger());
+        assertTrue(decimal.optMap().opt("value").isDouble());
+    }
+
+    /**
+     * Test numbers that are equal but of different types are not merged.
+     */
+    @Test
+    public void testCompactKeepsNumberTypes() {
+        JsonValue integer = JsonCompactor.compact(JsonValue.wrap(1));
+        JsonValue decimal = JsonCompactor.compact(JsonValue.wrap(1.0));
+
+        assertTrue(integer.isInteger());
+        assertTrue(decimal.isDouble());
+    }
+}
@@ -14,6 +14,7 @@ import java.util.List;
 import java.util.Map;
 
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
 import static junit.framework.Assert.assertNotNull;
 import static junit.framework.Assert.assertNull;
 import static junit.framework.Assert.assertTrue;
@@ -101,4 +102,49 @@ public class JsonMapTest extends BaseTestCase {
         assertEquals(1, jsonMap.get("list").getList().getList().get(3).getInt(2));
         assertEquals("c", jsonMap.get("list").getList().getList().get(4).getString());
     }
+
+    /**
+     * Test builders never modify maps they share with built or copied JsonMaps.
+     */
+    @Test
+    public void testBuilderCopyOnWrite() {
+        JsonMap.Builder builder = JsonMap.newBuilder().putAll(jsonMap);
+        JsonMap copy = builder.build();
+        assertEquals(jsonMap, copy);
+
+        builder.put("new-key", "new-value")
+               .put("some-key", (String) null);
+        JsonMap modified = builder.build();
+
+        assertEquals(2, jsonMap.size());
+        assertEquals(2, copy.size());
+        assertEquals("some-value", copy.opt("some-key").getString());
+
+        assertEquals(2, modified.size());
+        assertNull(modified.get("some-key"));
+        assertEquals("new-value", modified.opt("new-key").getString());
+
+        builder.put("another-key", 1);
+        assertEquals("another-value", modified.opt("another-key").getString());
+        assertEquals(1, builder.build().opt("another-key").getInt(0));
+    }
+
+    /**
+     * Test putAll drops null values whether or not the builder is empty.
+     */
+    @Test
+    public void testPutAllDropsNullValues() {
+        Map<String, JsonValue> map = new HashMap<>();
+        map.put("null-key", JsonValue.NULL);
+        map.put("some-key", JsonValue.wrap("some-value"));
+        JsonMap withNull = new JsonMap(map);
+
+        JsonMap fromEmpty = JsonMap.newBuilder().putAll(withNull).build();
+        assertEquals(1, fromEmpty.size());
+        assertFalse(fromEmpty.containsKey("null-key"));
+
+        JsonMap fromNonEmpty = JsonMap.newBuilder().put("other-key", "other-value").putAll(withNull).build();
+        assertEquals(2, fromNonEmpty.size());
+        assertFalse(fromNonEmpty.containsKey("null-key"));
+    }
 }
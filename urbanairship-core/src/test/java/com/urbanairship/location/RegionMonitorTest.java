@@ -0,0 +1,115 @@
+/* Copyright 2018 Urban Airship and Contributors */
+
+package com.urbanairship.location;
+
+import android.location.Location;
+
+import com.urbanairship.BaseTestCase;
+import com.urbanairship.TestApplication;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RegionMonitorTest extends BaseTestCase {
+
+    // Roughly 111 meters per 0.001 degrees of latitude
+    private static final double LATITUDE = 45.52;
+    private static final double LONGITUDE = -122.68;
+
+    private RegionMonitor monitor;
+
+    @Before
+    public void setup() {
+        monitor = new RegionMonitor(TestApplication.getApplication().preferenceDataStore, 50);
+        monitor.addRegion("office", new CircularRegion(200, LATITUDE, LONGITUDE));
+    }
+
+    /**
+     * Test enter and exit events with hysteresis.
+     */
+    @Test
+    public void testEnterExit() {
+        // Outside
+        assertTrue(monitor.onLocationChanged(location(LATITUDE + 0.003, LONGITUDE)).isEmpty());
+
+        // Inside
+        List<RegionEvent> events = monitor.onLocationChanged(location(LATITUDE + 0.001, LONGITUDE));
+        assertEquals(1, events.size());
+        assertEquals(RegionEvent.BOUNDARY_EVENT_ENTER, events.get(0).getBoundaryEvent());
+        assertEquals("office", events.get(0).toJsonValue().optMap().opt(RegionEvent.REGION_ID).getString());
+
+        // Still inside
+        assertTrue(monitor.onLocationChanged(location(LATITUDE, LONGITUDE)).isEmpty());
+
+        // Just past the radius, within the hysteresis margin
+        assertTrue(monitor.onLocationChanged(location(LATITUDE + 0.0021, LONGITUDE)).isEmpty());
+
+        // Past the margin
+        events = monitor.onLocationChanged(location(LATITUDE + 0.003, LONGITUDE));
+        assertEquals(1, events.size());
+        assertEquals(RegionEvent.BOUNDARY_EVENT_EXIT, events.get(0).getBoundaryEvent());
+    }
+
+    /**
+     * Test the entered regions are restored.
+     */
+    @Test
+    public void testRestoreState() {
+        assertEquals(1, monitor.onLocationChanged(location(LATITUDE, LONGITUDE)).size());
+
+        RegionMonitor restored = new RegionMonitor(TestApplication.getApplication().preferenceDataStore, 50);
+        restored.addRegion("office", new CircularRegion(200, LATITUDE, LONGITUDE));
+
+        assertTrue(restored.onLocationChanged(location(LATITUDE, LONGITUDE)).isEmpty());
+        assertEquals(1, restored.onLocationChanged(location(LATITUDE + 0.01, LONGITUDE)).size());
+    }
+
+    /**
+     * Test removed regions do not generate events.
+     */
+    @Test
+    public void testRemoveRegion() {
+        monitor.removeRegion("office");
+        assertTrue(monitor.isEmpty());
+        assertTrue(monitor.onLocationChanged(location(LATITUDE, LONGITUDE)).isEmpty());
+    }
+
+    /**
+     * Test index lookups across grid levels and the antimeridian.
+     */
+    @Test
+    public void testIndexQuery() {
+        RegionIndex index = new RegionIndex();
+        index.put("small", new CircularRegion(100, LATITUDE, LONGITUDE));
+        index.put("large", new CircularRegion(100000, LATITUDE, LONGITUDE));
+        index.put("dateline", new CircularRegion(5000, 0, 179.99));
+
+        Set<String> result = index.query(LATITUDE, LONGITUDE);
+        assertTrue(result.contains("small"));
+        assertTrue(result.contains("large"));
+        assertFalse(result.contains("dateline"));
+
+        result = index.query(LATITUDE + 0.5, LONGITUDE);
+        assertFalse(result.contains("small"));
+        assertTrue(result.contains("large"));
+
+        assertTrue(index.query(0, -179.99).contains("dateline"));
+
+        index.remove("large");
+        assertFalse(index.query(LATITUDE + 0.5, LONGITUDE).contains("large"));
+    }
+
+    private static Location location(double latitude, double longitude) {
+        Location location = new Location("test");
+        location.setLatitude(latitude);
+        location.setLongitude(longitude);
+        return location;
+    }
+}
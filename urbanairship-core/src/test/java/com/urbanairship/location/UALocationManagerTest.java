@@ -8,10 +8,13 @@ import com.urbanairship.BaseTestCase;
 import com.urbanairship.TestActivityMonitor;
 import com.urbanairship.TestApplication;
 import com.urbanairship.analytics.Analytics;
+import com.urbanairship.analytics.Event;
 import com.urbanairship.analytics.LocationEvent;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentMatcher;
+import org.mockito.Mockito;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -83,4 +86,26 @@ public class UALocationManagerTest extends BaseTestCase {
 
         verify(analytics).recordLocation(location, options, LocationEvent.UPDATE_TYPE_CONTINUOUS);
     }
+
+    /**
+     * Test location updates generate region events for monitored regions.
+     */
+    @Test
+    public void testMonitoredRegion() {
+        locationManager.setLocationUpdatesEnabled(true);
+        locationManager.setBackgroundLocationAllowed(true);
+        locationManager.addMonitoredRegion("office", new CircularRegion(100, 45.52, -122.68));
+
+        Location location = new Location("provider");
+        location.setLatitude(45.52);
+        location.setLongitude(-122.68);
+        locationManager.onLocationUpdate(location);
+
+        verify(analytics).addEvent(Mockito.argThat(new ArgumentMatcher<Event>() {
+            @Override
+            public boolean matches(Event event) {
+                return event instanceof RegionEvent && ((RegionEvent) event).getBoundaryEvent() == RegionEvent.BOUNDARY_EVENT_ENTER;
+            }
+        }));
+    }
 }
@@ -0,0 +1,124 @@
+/* Copyright 2018 Urban Airship and Contributors */
+
+package com.urbanairship.push;
+
+import com.urbanairship.BaseTestCase;
+import com.urbanairship.TestApplication;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+public class CanonicalIdHistoryTest extends BaseTestCase {
+
+    private File file;
+
+    @Before
+    public void setup() {
+        file = new File(TestApplication.getApplication().getFilesDir(), "canonical_ids_test");
+        file.delete();
+    }
+
+    /**
+     * Test duplicate IDs are rejected until they fall out of the window.
+     */
+    @Test
+    public void testAdd() {
+        CanonicalIdHistory history = new CanonicalIdHistory(file, 3);
+
+        assertTrue(history.add("a"));
+        assertFalse(history.add("a"));
+        assertTrue(history.add("b"));
+        assertTrue(history.add("c"));
+        assertTrue(history.add("d"));
+
+        // "a" was evicted
+        assertTrue(history.add("a"));
+        assertFalse(history.add("d"));
+    }
+
+    /**
+     * Test IDs too long for the log are not tracked and do not break compaction.
+     */
+    @Test
+    public void testAddTooLong() {
+        CanonicalIdHistory history = new CanonicalIdHistory(file, 3);
+
+        char[] chars = new char[0x10000];
+        Arrays.fill(chars, 'a');
+        String longId = new String(chars);
+
+        assertTrue(history.add(longId));
+        assertTrue(history.add(longId));
+
+        // Enough IDs to compact a few times
+        for (int i = 0; i < 20; i++) {
+            assertTrue(history.add("id-" + i));
+        }
+
+        CanonicalIdHistory restored = new CanonicalIdHistory(file, 3);
+        assertFalse(restored.add("id-19"));
+        assertFalse(restored.add("id-18"));
+        assertFalse(restored.add("id-17"));
+        assertTrue(restored.add("id-16"));
+    }
+
+    /**
+     * Test the history is restored from the log, including after compaction.
+     */
+    @Test
+    public void testRestore() {
+        CanonicalIdHistory history = new CanonicalIdHistory(file, 3);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(history.add("id-" + i));
+        }
+
+        CanonicalIdHistory restored = new CanonicalIdHistory(file, 3);
+        assertFalse(restored.add("id-9"));
+        assertFalse(restored.add("id-8"));
+        assertFalse(restored.add("id-7"));
+        assertTrue(restored.add("id-6"));
+    }
+
+    /**
+     * Test a partially written entry is dropped.
+     */
+    @Test
+    public void testTruncatedLog() throws IOException {
+        CanonicalIdHistory history = new CanonicalIdHistory(file, 3);
+        assertTrue(history.add("a"));
+
+        FileOutputStream outputStream = new FileOutputStream(file, true);
+        outputStream.write(new byte[] { 0, 10, 'b' });
+        outputStream.close();
+
+        CanonicalIdHistory restored = new CanonicalIdHistory(file, 3);
+        assertFalse(restored.add("a"));
+        assertTrue(restored.add("b"));
+
+        restored = new CanonicalIdHistory(file, 3);
+        assertFalse(restored.add("b"));
+    }
+
+    /**
+     * Test legacy IDs are merged in on load.
+     */
+    @Test
+    public void testLegacyIds() {
+        CanonicalIdHistory history = new CanonicalIdHistory(file, 3);
+        history.load(Arrays.asList("a", "b"));
+
+        assertFalse(history.add("a"));
+        assertFalse(history.add("b"));
+
+        CanonicalIdHistory restored = new CanonicalIdHistory(file, 3);
+        assertFalse(restored.add("a"));
+    }
+}
@@ -20,9 +20,12 @@ import com.urbanairship.iam.LegacyInAppMessageManager;
 import com.urbanairship.job.JobDispatcher;
 import com.urbanairship.job.JobInfo;
 import com.urbanairship.push.notifications.NotificationFactory;
+import com.urbanairship.remotedata.RemoteData;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentMatcher;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
@@ -151,6 +154,9 @@ public class IncomingPushRunnableTest extends BaseTestCase {
         verify(notificationManager).notify("testNotificationTag", TEST_NOTIFICATION_ID, notification);
         verify(analytics).addEvent(any(PushArrivedEvent.class));
 
+        // Nothing to defer without a remote data refresh
+        verifyZeroInteractions(jobDispatcher);
+
         ShadowPendingIntent shadowPendingIntent = Shadows.shadowOf(notification.contentIntent);
         assertTrue("The pending intent is broadcast intent.", shadowPendingIntent.isBroadcastIntent());
 
@@ -252,7 +258,12 @@ public class IncomingPushRunnableTest extends BaseTestCase {
         pushRunnable.run();
 
         verify(notificationManager, Mockito.never()).notify(Mockito.anyString(), Mockito.anyInt(), any(Notification.class));
-        verify(jobDispatcher, Mockito.never()).dispatch(any(JobInfo.class));
+        verify(jobDispatcher, Mockito.never()).dispatch(Mockito.argThat(new ArgumentMatcher<JobInfo>() {
+            @Override
+            public boolean matches(JobInfo jobInfo) {
+                return jobInfo.getAction().equals(PushManagerJobHandler.ACTION_DISPLAY_NOTIFICATION);
+            }
+        }));
     }
 
     @Test
@@ -280,7 +291,12 @@ public class IncomingPushRunnableTest extends BaseTestCase {
         pushRunnable.run();
 
         verify(notificationManager).notify(Mockito.anyString(), Mockito.eq(notificationId), Mockito.eq(notification));
-        verify(jobDispatcher, Mockito.never()).dispatch(any(JobInfo.class));
+        verify(jobDispatcher, Mockito.never()).dispatch(Mockito.argThat(new ArgumentMatcher<JobInfo>() {
+            @Override
+            public boolean matches(JobInfo jobInfo) {
+                return jobInfo.getAction().equals(PushManagerJobHandler.ACTION_DISPLAY_NOTIFICATION);
+            }
+        }));
     }
 
     /**
@@ -503,6 +519,64 @@ public class IncomingPushRunnableTest extends BaseTestCase {
         verify(legacyInAppMessageManager).onPushReceived(push);
     }
 
+    /**
+     * Test the push is fully recorded before the notification is posted, so the notification
+     * can not be opened before the push arrived event and the last received metadata exist.
+     */
+    @Test
+    public void testPushRecordedBeforeNotificationPosted() {
+        when(pushManager.isComponentEnabled()).thenReturn(true);
+        when(pushManager.isPushEnabled()).thenReturn(true);
+        when(pushManager.isOptIn()).thenReturn(true);
+        when(pushManager.isUniqueCanonicalId("testPushID")).thenReturn(true);
+
+        pushBundle.putString(PushMessage.EXTRA_METADATA, "metadata");
+        pushRunnable = new IncomingPushRunnable.Builder(TestApplication.getApplication())
+                .setProviderClass(testPushProvider.getClass().toString())
+                .setMessage(new PushMessage(pushBundle))
+                .setNotificationManager(notificationManager)
+                .setLongRunning(true)
+                .setJobDispatcher(jobDispatcher)
+                .build();
+
+        pushRunnable.run();
+
+        InOrder inOrder = Mockito.inOrder(legacyInAppMessageManager, analytics, pushManager, notificationManager);
+        inOrder.verify(legacyInAppMessageManager).onPushReceived(any(PushMessage.class));
+        inOrder.verify(analytics).addEvent(any(PushArrivedEvent.class));
+        inOrder.verify(pushManager).setLastReceivedMetadata("metadata");
+        inOrder.verify(notificationManager).notify("testNotificationTag", TEST_NOTIFICATION_ID, notification);
+    }
+
+    /**
+     * Test remote data pushes refresh remote data.
+     */
+    @Test
+    public void testRemoteDataRefresh() {
+        when(pushManager.isComponentEnabled()).thenReturn(true);
+        when(pushManager.isPushEnabled()).thenReturn(true);
+        when(pushManager.isOptIn()).thenReturn(true);
+        when(pushManager.isUniqueCanonicalId("testPushID")).thenReturn(true);
+
+        RemoteData remoteData = mock(RemoteData.class);
+        TestApplication.getApplication().setRemoteData(remoteData);
+
+        pushBundle.putString("com.urbanairship.remote-data.update", "true");
+        pushRunnable = new IncomingPushRunnable.Builder(TestApplication.getApplication())
+                .setProviderClass(testPushProvider.getClass().toString())
+                .setMessage(new PushMessage(pushBundle))
+                .setNotificationManager(notificationManager)
+                .setLongRunning(true)
+                .setJobDispatcher(jobDispatcher)
+                .build();
+
+        pushRunnable.run();
+
+        verify(analytics).addEvent(any(PushArrivedEvent.class));
+        verify(remoteData).refresh();
+        verifyZeroInteractions(jobDispatcher);
+    }
+
     /**
      * Test the notification defaults in quiet time.
      */
@@ -3,13 +3,17 @@
 package com.urbanairship.push;
 
 import com.urbanairship.BaseTestCase;
+import com.urbanairship.PreferenceDataStore;
 import com.urbanairship.TestApplication;
+import com.urbanairship.json.JsonValue;
 
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -22,10 +26,18 @@ import static junit.framework.Assert.assertTrue;
 public class PendingTagGroupMutationStoreTest extends BaseTestCase {
 
     PendingTagGroupMutationStore store;
+    TagGroupMutationDataManager dataManager;
 
     @Before
     public void setup() {
-        store = new PendingTagGroupMutationStore(TestApplication.getApplication().preferenceDataStore, "test");
+        dataManager = new TagGroupMutationDataManager(TestApplication.getApplication(), "appKey", "test");
+        store = new PendingTagGroupMutationStore(dataManager, TestApplication.getApplication().preferenceDataStore, "test");
+    }
+
+    @After
+    public void teardown() {
+        store.clear();
+        dataManager.close();
     }
 
     @Test
@@ -91,6 +103,41 @@ public class PendingTagGroupMutationStoreTest extends BaseTestCase {
         assertEquals(collapseMutations.get(0), store.peek());
     }
 
+    @Test
+    public void testCollapseKeepsMutationsAddedLater() {
+        store.add(Arrays.asList(TagGroupsMutation.newAddTagsMutation("group-one", createTagSet("cool")),
+                TagGroupsMutation.newRemoveTagsMutation("group-one", createTagSet("cool"))));
+        store.collapseMutations();
+
+        TagGroupsMutation setMutation = TagGroupsMutation.newSetTagsMutation("group-two", createTagSet("whatever"));
+        store.add(Collections.singletonList(setMutation));
+
+        List<TagGroupsMutation> expected = TagGroupsMutation.collapseMutations(Arrays.asList(
+                TagGroupsMutation.newAddTagsMutation("group-one", createTagSet("cool")),
+                TagGroupsMutation.newRemoveTagsMutation("group-one", createTagSet("cool"))));
+        expected = new ArrayList<>(expected);
+        expected.add(setMutation);
+        assertEquals(JsonValue.wrapOpt(expected), JsonValue.wrapOpt(store.getMutations()));
+
+        store.collapseMutations();
+        assertEquals(JsonValue.wrapOpt(TagGroupsMutation.collapseMutations(expected)), JsonValue.wrapOpt(store.getMutations()));
+    }
+
+    @Test
+    public void testMigrateStoredMutations() {
+        List<TagGroupsMutation> mutations = new ArrayList<>();
+        mutations.add(TagGroupsMutation.newAddTagsMutation("group-one", createTagSet("cool")));
+        mutations.add(TagGroupsMutation.newSetTagsMutation("group-two", createTagSet("whatever")));
+
+        PreferenceDataStore preferenceDataStore = TestApplication.getApplication().preferenceDataStore;
+        preferenceDataStore.put("test", JsonValue.wrapOpt(mutations));
+
+        store.migrateTagGroups("add-key", "remove-key", "test");
+
+        assertEquals(JsonValue.wrapOpt(mutations), JsonValue.wrapOpt(store.getMutations()));
+        assertTrue(preferenceDataStore.getJsonValue("test").isNull());
+    }
+
     private Set<String> createTagSet(String... tags) {
         return new HashSet<>(Arrays.asList(tags));
     }
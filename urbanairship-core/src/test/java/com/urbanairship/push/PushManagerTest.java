@@ -5,6 +5,7 @@ package com.urbanairship.push;
 import android.graphics.Color;
 
 import com.urbanairship.AirshipConfigOptions;
+import com.urbanairship.AirshipExecutors;
 import com.urbanairship.BaseTestCase;
 import com.urbanairship.PreferenceDataStore;
 import com.urbanairship.R;
@@ -14,6 +15,7 @@ import com.urbanairship.job.JobDispatcher;
 import com.urbanairship.job.JobInfo;
 import com.urbanairship.push.notifications.DefaultNotificationFactory;
 import com.urbanairship.push.notifications.NotificationActionButtonGroup;
+import com.urbanairship.push.notifications.NotificationFactory;
 
 import org.json.JSONException;
 import org.junit.Before;
@@ -24,11 +26,17 @@ import org.mockito.ArgumentMatcher;
 import org.mockito.Mockito;
 import org.robolectric.RuntimeEnvironment;
 
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static junit.framework.Assert.assertEquals;
 import static junit.framework.Assert.assertFalse;
@@ -1042,4 +1050,60 @@ public class PushManagerTest extends BaseTestCase {
             }
         }));
     }
+
+    /**
+     * Test canonical IDs are de-duplicated and the IDs stored in preferences are migrated.
+     */
+    @Test
+    public void testIsUniqueCanonicalId() {
+        preferenceDataStore.put("com.urbanairship.push.LAST_CANONICAL_IDS", "[\"legacy\"]");
+
+        assertFalse(pushManager.isUniqueCanonicalId("legacy"));
+        assertNull(preferenceDataStore.getString("com.urbanairship.push.LAST_CANONICAL_IDS", null));
+
+        assertTrue(pushManager.isUniqueCanonicalId("new"));
+        assertFalse(pushManager.isUniqueCanonicalId("new"));
+        assertTrue(pushManager.isUniqueCanonicalId(null));
+        assertTrue(pushManager.isUniqueCanonicalId(null));
+    }
+
+    /**
+     * Test a burst of pushes waiting on notification images can not starve the image downloads,
+     * even when the shared pool only has a single thread.
+     */
+    @Test
+    public void testPushExecutorDoesNotStarveNotificationFactory() throws Exception {
+        int originalMaxThreads = AirshipExecutors.getMaxThreadCount();
+        AirshipExecutors.setMaxThreadCount(1);
+
+        try {
+            final AtomicInteger fetched = new AtomicInteger();
+            List<Future<?>> pushes = new ArrayList<>();
+
+            for (int i = 0; i < 8; i++) {
+                pushes.add(PushManager.PUSH_EXECUTOR.submit(new Callable<Object>() {
+                    @Override
+                    public Object call() throws Exception {
+                        // Same wait as the big picture style
+                        Future<Integer> image = NotificationFactory.EXECUTOR.submit(new Callable<Integer>() {
+                            @Override
+                            public Integer call() {
+                                return fetched.incrementAndGet();
+                            }
+                        });
+
+                        return image.get(5, TimeUnit.SECONDS);
+                    }
+                }));
+            }
+
+            for (Future<?> push : pushes) {
+                push.get(10, TimeUnit.SECONDS);
+            }
+
+            assertEquals(8, fetched.get());
+        } finally {
+            AirshipExecutors.setMaxThreadCount(originalMaxThreads);
+        }
+    }
 }
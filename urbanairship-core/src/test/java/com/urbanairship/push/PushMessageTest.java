@@ -609,5 +609,54 @@ public class PushMessageTest extends BaseTestCase {
         message = new PushMessage(bundle);
         assertTrue(message.containsAirshipKeys());
     }
+
+    /**
+     * Test getJsonExtra parses the extra once and returns the cached value.
+     */
+    @Test
+    public void testGetJsonExtra() throws JsonException {
+        Bundle extras = new Bundle();
+        extras.putString(PushMessage.EXTRA_STYLE, "{\"type\":\"big_text\"}");
+        PushMessage pushMessage = new PushMessage(extras);
+
+        JsonValue style = pushMessage.getJsonExtra(PushMessage.EXTRA_STYLE);
+        assertEquals("big_text", style.optMap().opt("type").getString());
+        Assert.assertSame(style, pushMessage.getJsonExtra(PushMessage.EXTRA_STYLE));
+
+        assertEquals(JsonValue.NULL, pushMessage.getJsonExtra(PushMessage.EXTRA_WEARABLE));
+    }
+
+    /**
+     * Test getJsonExtra throws on every call for invalid JSON.
+     */
+    @Test
+    public void testGetJsonExtraInvalid() {
+        Bundle extras = new Bundle();
+        extras.putString(PushMessage.EXTRA_STYLE, "}{ not json");
+        PushMessage pushMessage = new PushMessage(extras);
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                pushMessage.getJsonExtra(PushMessage.EXTRA_STYLE);
+                Assert.fail("Expected JsonException");
+            } catch (JsonException ignored) {
+            }
+        }
+    }
+
+    /**
+     * Test modifying the returned actions does not affect the cached actions.
+     */
+    @Test
+    public void testGetActionsReturnsCopy() {
+        Bundle extras = new Bundle();
+        extras.putString(PushMessage.EXTRA_ACTIONS, "{ \"action_name\": \"action_value\" }");
+        PushMessage pushMessage = new PushMessage(extras);
+
+        Map<String, ActionValue> actions = pushMessage.getActions();
+        actions.clear();
+
+        assertEquals(ActionValue.wrap("action_value"), pushMessage.getActions().get("action_name"));
+    }
 }
 
@@ -6,8 +6,11 @@ import android.support.annotation.NonNull;
 
 import com.google.common.collect.Lists;
 import com.urbanairship.BaseTestCase;
+import com.urbanairship.PreferenceDataStore;
 import com.urbanairship.TestApplication;
+import com.urbanairship.UAirship;
 import com.urbanairship.http.Response;
+import com.urbanairship.json.JsonValue;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -41,8 +44,9 @@ public class TagGroupRegistrarTests extends BaseTestCase {
     @Before
     public void setup() {
         mockClient = mock(TagGroupApiClient.class);
-        namedUserStore = new PendingTagGroupMutationStore(TestApplication.getApplication().preferenceDataStore, "TagGroupRegistrarTests.named-user");
-        channelStore = new PendingTagGroupMutationStore(TestApplication.getApplication().preferenceDataStore, "TagGroupRegistrarTests.channel");
+        TagGroupMutationDataManager dataManager = new TagGroupMutationDataManager(TestApplication.getApplication(), "appKey", "TagGroupRegistrarTests");
+        namedUserStore = new PendingTagGroupMutationStore(dataManager, TestApplication.getApplication().preferenceDataStore, "TagGroupRegistrarTests.named-user");
+        channelStore = new PendingTagGroupMutationStore(dataManager, TestApplication.getApplication().preferenceDataStore, "TagGroupRegistrarTests.channel");
 
         namedUserStore.clear();
         channelStore.clear();
@@ -175,6 +179,32 @@ public class TagGroupRegistrarTests extends BaseTestCase {
         registrar.removeListener(listener);
     }
 
+    /**
+     * Test migrating the old data store lists, which were saved with the channel and named user
+     * keys swapped.
+     */
+    @Test
+    public void testMigrateKeys() {
+        PreferenceDataStore dataStore = TestApplication.getApplication().preferenceDataStore;
+        TagGroupsMutation channelMutation = TagGroupsMutation.newAddTagsMutation("channel", new HashSet<>(Lists.newArrayList("tag1")));
+        TagGroupsMutation namedUserMutation = TagGroupsMutation.newAddTagsMutation("named-user", new HashSet<>(Lists.newArrayList("tag2")));
+
+        dataStore.put("com.urbanairship.nameduser.PENDING_TAG_GROUP_MUTATIONS_KEY", JsonValue.wrapOpt(Collections.singletonList(channelMutation)));
+        dataStore.put("com.urbanairship.push.PENDING_TAG_GROUP_MUTATIONS", JsonValue.wrapOpt(Collections.singletonList(namedUserMutation)));
+
+        TagGroupRegistrar registrar = new TagGroupRegistrar(TestApplication.getApplication(), UAirship.ANDROID_PLATFORM,
+                UAirship.shared().getAirshipConfigOptions(), dataStore);
+        registrar.clearMutations(TagGroupRegistrar.CHANNEL);
+        registrar.clearMutations(TagGroupRegistrar.NAMED_USER);
+
+        registrar.migrateKeys();
+
+        assertEquals(Collections.singletonList(channelMutation), registrar.getPendingMutations(TagGroupRegistrar.CHANNEL));
+        assertEquals(Collections.singletonList(namedUserMutation), registrar.getPendingMutations(TagGroupRegistrar.NAMED_USER));
+        assertTrue(dataStore.getJsonValue("com.urbanairship.nameduser.PENDING_TAG_GROUP_MUTATIONS_KEY").isNull());
+        assertTrue(dataStore.getJsonValue("com.urbanairship.push.PENDING_TAG_GROUP_MUTATIONS").isNull());
+    }
+
     private void verifyRequest(Response response, @TagGroupRegistrar.TagGroupType int type, PendingTagGroupMutationStore store, boolean expectedResult) {
 
         TestListener listener = new TestListener();
@@ -13,6 +13,7 @@ import junit.framework.Assert;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.After;
 import org.junit.Before;
@@ -182,6 +183,130 @@ public class ObservableTest extends BaseTestCase {
         validateObservable(filtered, expectedInts, 3, 1, 0);
     }
 
+    @Test
+    public void testDistinctUntilChanged() throws Exception {
+        List<Integer> ints = Arrays.asList(1, 1, 2, 2, 2, 3, 1);
+        Observable<Integer> distinct = Observable.from(ints).distinctUntilChanged();
+
+        validateObservable(distinct, Arrays.asList(1, 2, 3, 1), 4, 1, 0);
+    }
+
+    @Test
+    public void testDistinctUntilChangedPerSubscription() throws Exception {
+        Observable<Integer> distinct = Observable.just(1).distinctUntilChanged();
+
+        subscribeObservable(distinct);
+        subscribeObservable(distinct);
+
+        performAsserts(null, null, Arrays.asList(1, 1), 2, 2, 0);
+    }
+
+    @Test
+    public void testMapFilterError() throws Exception {
+        Exception exception = new Exception("Oh no");
+        Observable<String> mapped = Observable.<Integer>error(exception)
+                .filter(new Predicate<Integer>() {
+                    @Override
+                    public boolean apply(Integer value) {
+                        return true;
+                    }
+                })
+                .map(new Function<Integer, String>() {
+                    @Override
+                    public String apply(Integer value) {
+                        return value.toString();
+                    }
+                });
+
+        validateObservable(mapped, exception, new ArrayList<String>(), 0, 0, 1);
+    }
+
+    @Test
+    public void testBufferCount() throws Exception {
+        Observable<List<Integer>> buffered = Observable.from(Arrays.asList(1, 2, 3, 4, 5)).buffer(2);
+
+        List<List<Integer>> expected = Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3, 4), Arrays.asList(5));
+        validateObservable(buffered, expected, 3, 1, 0);
+    }
+
+    @Test
+    public void testBufferTime() throws Exception {
+        Subject<Integer> subject = Subject.create();
+        ShadowLooper shadowLooper = Shadows.shadowOf(backgroundThread.getLooper());
+        shadowLooper.pause();
+
+        subscribeObservable(subject.buffer(100, Schedulers.looper(backgroundThread.getLooper())));
+
+        subject.onNext(1);
+        subject.onNext(2);
+        shadowLooper.getScheduler().advanceBy(99, TimeUnit.MILLISECONDS);
+        Assert.assertEquals(0, nexts.intValue());
+
+        subject.onNext(3);
+        shadowLooper.getScheduler().advanceBy(1, TimeUnit.MILLISECONDS);
+        Assert.assertEquals(Arrays.<Object>asList(Arrays.asList(1, 2, 3)), values);
+
+        subject.onNext(4);
+        subject.onCompleted();
+
+        List<List<Integer>> expected = Arrays.asList(Arrays.asList(1, 2, 3), Arrays.asList(4));
+        performAsserts(backgroundThread.getLooper(), null, expected, 2, 1, 0);
+    }
+
+    @Test
+    public void testDebounce() throws Exception {
+        Subject<Integer> subject = Subject.create();
+        ShadowLooper shadowLooper = Shadows.shadowOf(backgroundThread.getLooper());
+        shadowLooper.pause();
+
+        subscribeObservable(subject.debounce(100, Schedulers.looper(backgroundThread.getLooper())));
+
+        subject.onNext(1);
+        shadowLooper.getScheduler().advanceBy(50, TimeUnit.MILLISECONDS);
+        subject.onNext(2);
+        shadowLooper.getScheduler().advanceBy(50, TimeUnit.MILLISECONDS);
+        subject.onNext(3);
+        shadowLooper.getScheduler().advanceBy(99, TimeUnit.MILLISECONDS);
+        Assert.assertEquals(0, nexts.intValue());
+
+        shadowLooper.getScheduler().advanceBy(1, TimeUnit.MILLISECONDS);
+        Assert.assertEquals(Arrays.<Object>asList(3), values);
+
+        subject.onNext(4);
+        subject.onCompleted();
+
+        performAsserts(backgroundThread.getLooper(), null, Arrays.asList(3, 4), 2, 1, 0);
+    }
+
+    @Test
+    public void testThrottleLatest() throws Exception {
+        Subject<Integer> subject = Subject.create();
+        ShadowLooper shadowLooper = Shadows.shadowOf(backgroundThread.getLooper());
+        shadowLooper.pause();
+
+        subscribeObservable(subject.throttleLatest(100, Schedulers.looper(backgroundThread.getLooper())));
+
+        subject.onNext(1);
+        shadowLooper.getScheduler().advanceBy(0, TimeUnit.MILLISECONDS);
+        Assert.assertEquals(Arrays.<Object>asList(1), values);
+
+        subject.onNext(2);
+        subject.onNext(3);
+        shadowLooper.getScheduler().advanceBy(99, TimeUnit.MILLISECONDS);
+        Assert.assertEquals(Arrays.<Object>asList(1), values);
+
+        shadowLooper.getScheduler().advanceBy(1, TimeUnit.MILLISECONDS);
+        Assert.assertEquals(Arrays.<Object>asList(1, 3), values);
+
+        // Window closes without any new values
+        shadowLooper.getScheduler().advanceBy(100, TimeUnit.MILLISECONDS);
+
+        subject.onNext(4);
+        subject.onCompleted();
+
+        performAsserts(backgroundThread.getLooper(), null, Arrays.asList(1, 3, 4), 3, 1, 0);
+    }
+
     @Test
     public void testObserveOnMyLooper() throws Exception {
         Observable<Integer> three = Observable.just(3);
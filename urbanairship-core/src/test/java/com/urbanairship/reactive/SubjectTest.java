@@ -81,4 +81,42 @@ public class SubjectTest extends BaseTestCase {
         Assert.assertTrue(resultMap.get("error"));
     }
 
+    @Test
+    public void testUnsubscribeDuringEmission() throws Exception {
+        final Subject<Integer> subject = Subject.create();
+        final Subscription[] subscription = new Subscription[1];
+        final int[] count = new int[2];
+
+        subscription[0] = subject.subscribe(new Subscriber<Integer>() {
+            @Override
+            public void onNext(Integer value) {
+                count[0]++;
+                subscription[0].cancel();
+            }
+        });
+
+        subject.subscribe(new Subscriber<Integer>() {
+            @Override
+            public void onNext(Integer value) {
+                count[1]++;
+            }
+        });
+
+        subject.onNext(1);
+        subject.onNext(2);
+
+        Assert.assertEquals(1, count[0]);
+        Assert.assertEquals(2, count[1]);
+        Assert.assertTrue(subject.hasObservers());
+    }
+
+    @Test
+    public void testSubscribeAfterCompleted() throws Exception {
+        Subject<Integer> subject = Subject.create();
+        subject.onCompleted();
+
+        subject.subscribe(new Subscriber<Integer>());
+
+        Assert.assertFalse(subject.hasObservers());
+    }
 }
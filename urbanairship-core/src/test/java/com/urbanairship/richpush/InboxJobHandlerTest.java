@@ -20,10 +20,12 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -574,6 +576,65 @@ public class InboxJobHandlerTest extends BaseTestCase {
         assertFalse(userListener.lastUpdateUserResult);
     }
 
+    /**
+     * Test updating messages dispatches the prefetch job when enabled.
+     */
+    @Test
+    public void testUpdateMessagesDispatchesPrefetch() {
+        user.setUser("fakeUserId", "password");
+        when(inbox.isMessageBodyPrefetchEnabled()).thenReturn(true);
+
+        responses.put("https://device-api.urbanairship.com/api/user/fakeUserId/messages/",
+                new Response.Builder(HttpURLConnection.HTTP_NOT_MODIFIED).create());
+
+        JobInfo jobInfo = JobInfo.newBuilder()
+                                 .setAction(InboxJobHandler.ACTION_RICH_PUSH_MESSAGES_UPDATE)
+                                 .build();
+
+        assertEquals(JobInfo.JOB_FINISHED, jobHandler.performJob(jobInfo));
+        verify(inbox).dispatchMessageBodyPrefetch();
+
+        // Only the message list request, the bodies are fetched by the prefetch job
+        assertEquals(1, requests.size());
+    }
+
+    /**
+     * Test unread message bodies are prefetched by the prefetch job.
+     */
+    @Test
+    public void testPrefetchMessageBodies() {
+        user.setUser("fakeUserId", "password");
+
+        RichPushMessage message = RichPushTestUtils.createMessage("message-id", null, false);
+        MessageBodyCache cache = new MessageBodyCache(new File(TestApplication.getApplication().getCacheDir(), "bodies"), 1024);
+
+        when(inbox.isMessageBodyPrefetchEnabled()).thenReturn(true);
+        when(inbox.getMessageBodyCache()).thenReturn(cache);
+        when(inbox.getUnreadMessages()).thenReturn(Collections.singletonList(message));
+        when(inbox.getMessageIds()).thenReturn(Collections.singleton("message-id"));
+
+        responses.put(message.getMessageBodyUrl(),
+                new Response.Builder(HttpURLConnection.HTTP_OK).setResponseBody("<html><body>Hello</body></html>").create());
+
+        JobInfo jobInfo = JobInfo.newBuilder()
+                                 .setAction(InboxJobHandler.ACTION_PREFETCH_MESSAGE_BODIES)
+                                 .build();
+
+        assertEquals(JobInfo.JOB_FINISHED, jobHandler.performJob(jobInfo));
+
+        // Verify the body request
+        TestRequest bodyRequest = requests.get(0);
+        assertEquals("GET", bodyRequest.getRequestMethod());
+        assertEquals(message.getMessageBodyUrl(), bodyRequest.getURL().toString());
+
+        assertTrue(cache.contains(message.getMessageBodyUrl()));
+
+        // Already cached, should not be fetched again
+        requests.clear();
+        assertEquals(JobInfo.JOB_FINISHED, jobHandler.performJob(jobInfo));
+        assertEquals(0, requests.size());
+    }
+
     /**
      * Listener that captures the last update user result
      */
@@ -0,0 +1,192 @@
+/* Copyright 2018 Urban Airship and Contributors */
+
+package com.urbanairship.richpush;
+
+import android.webkit.WebResourceResponse;
+
+import com.urbanairship.BaseTestCase;
+import com.urbanairship.TestApplication;
+import com.urbanairship.util.FileUtils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNotNull;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertTrue;
+
+public class MessageBodyCacheTest extends BaseTestCase {
+
+    private File directory;
+    private MessageBodyCache cache;
+
+    @Before
+    public void setup() {
+        directory = new File(TestApplication.getApplication().getCacheDir(), "message_body_cache_test");
+        cache = new MessageBodyCache(directory, 10);
+    }
+
+    @After
+    public void cleanup() {
+        FileUtils.deleteRecursively(directory);
+    }
+
+    /**
+     * Test cached responses and the hit ratio metrics.
+     */
+    @Test
+    public void testGet() throws IOException {
+        cache.put("https://example.com/body", "text/html", "UTF-8", "message", createFile("body"));
+
+        WebResourceResponse response = cache.get("https://example.com/body", true);
+        assertNotNull(response);
+        assertEquals("text/html", response.getMimeType());
+        assertEquals("UTF-8", response.getEncoding());
+
+        assertNull(cache.get("https://example.com/missing", true));
+        assertNull(cache.get("https://example.com/other", false));
+
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.5f, cache.getHitRatio());
+        assertEquals(4, cache.getBytesSaved());
+    }
+
+    /**
+     * Test identical content is only stored once.
+     */
+    @Test
+    public void testContentAddressed() throws IOException {
+        cache.put("https://example.com/one", "image/png", null, "message", createFile("same"));
+        cache.put("https://example.com/two", "image/png", null, "message", createFile("same"));
+
+        assertTrue(cache.contains("https://example.com/one"));
+        assertTrue(cache.contains("https://example.com/two"));
+
+        // Shared content is only counted once
+        assertEquals(4, cache.getSizeBytes());
+
+        // The index and a single content file
+        assertEquals(2, directory.listFiles().length);
+
+        // Removing one URL keeps the shared file
+        cache.remove("https://example.com/one");
+        assertEquals(4, cache.getSizeBytes());
+        assertNotNull(cache.get("https://example.com/two", true));
+
+        cache.remove("https://example.com/two");
+        assertEquals(0, cache.getSizeBytes());
+        assertEquals(1, directory.listFiles().length);
+    }
+
+    /**
+     * Test shared content does not count towards the max size more than once.
+     */
+    @Test
+    public void testTrimSharedContent() throws IOException {
+        cache.put("https://example.com/one", "image/png", null, "message", createFile("same"));
+        cache.put("https://example.com/two", "image/png", null, "message", createFile("same"));
+        cache.put("https://example.com/three", "image/png", null, "message", createFile("same"));
+        cache.put("https://example.com/four", "text/html", "UTF-8", "message", createFile("4444"));
+
+        assertTrue(cache.contains("https://example.com/one"));
+        assertTrue(cache.contains("https://example.com/two"));
+        assertTrue(cache.contains("https://example.com/three"));
+        assertTrue(cache.contains("https://example.com/four"));
+        assertEquals(8, cache.getSizeBytes());
+
+        // Shared content is counted once after a reload
+        MessageBodyCache reloaded = new MessageBodyCache(directory, 10);
+        assertEquals(8, reloaded.getSizeBytes());
+    }
+
+    /**
+     * Test the least recently used URLs are evicted when the cache is full.
+     */
+    @Test
+    public void testTrim() throws IOException {
+        cache.put("https://example.com/one", "text/html", "UTF-8", "message", createFile("1111"));
+        cache.put("https://example.com/two", "text/html", "UTF-8", "message", createFile("2222"));
+
+        // Use one so two is the least recently used
+        assertNotNull(cache.get("https://example.com/one", true));
+
+        cache.put("https://example.com/three", "text/html", "UTF-8", "message", createFile("3333"));
+
+        assertTrue(cache.contains("https://example.com/one"));
+        assertFalse(cache.contains("https://example.com/two"));
+        assertTrue(cache.contains("https://example.com/three"));
+        assertEquals(8, cache.getSizeBytes());
+    }
+
+    /**
+     * Test retain drops URLs of messages that are no longer in the inbox.
+     */
+    @Test
+    public void testRetain() throws IOException {
+        cache.put("https://example.com/one", "text/html", "UTF-8", "one", createFile("1111"));
+        cache.put("https://example.com/two", "text/html", "UTF-8", "two", createFile("2222"));
+
+        cache.retain(Collections.singleton("two"));
+
+        assertFalse(cache.contains("https://example.com/one"));
+        assertTrue(cache.contains("https://example.com/two"));
+    }
+
+    /**
+     * Test a URL shared by several messages is kept until none of them are left.
+     */
+    @Test
+    public void testRetainSharedUrl() throws IOException {
+        cache.put("https://example.com/style.css", "text/css", null, "one", createFile("css"));
+        assertTrue(cache.addMessageId("https://example.com/style.css", "two"));
+        assertFalse(cache.addMessageId("https://example.com/missing.css", "two"));
+
+        cache.retain(Collections.singleton("two"));
+        assertTrue(cache.contains("https://example.com/style.css"));
+
+        // Message IDs are restored from disk
+        MessageBodyCache reloaded = new MessageBodyCache(directory, 10);
+        reloaded.retain(Collections.singleton("two"));
+        assertTrue(reloaded.contains("https://example.com/style.css"));
+
+        reloaded.retain(Collections.<String>emptySet());
+        assertFalse(reloaded.contains("https://example.com/style.css"));
+        assertEquals(0, reloaded.getSizeBytes());
+    }
+
+    /**
+     * Test the index is restored from disk.
+     */
+    @Test
+    public void testReload() throws IOException {
+        cache.put("https://example.com/body", "text/html", "UTF-8", "message", createFile("body"));
+
+        MessageBodyCache reloaded = new MessageBodyCache(directory, 10);
+        assertTrue(reloaded.contains("https://example.com/body"));
+        assertEquals(4, reloaded.getSizeBytes());
+
+        reloaded.clear();
+        assertFalse(reloaded.contains("https://example.com/body"));
+        assertFalse(directory.exists());
+    }
+
+    private File createFile(String content) throws IOException {
+        File file = cache.createTempFile();
+        FileOutputStream outputStream = new FileOutputStream(file);
+        try {
+            outputStream.write(content.getBytes("UTF-8"));
+        } finally {
+            outputStream.close();
+        }
+        return file;
+    }
+}
@@ -151,6 +151,28 @@ public class RichPushResolverTest extends BaseTestCase {
         assertEquals(7, resolver.getMessages().size());
     }
 
+    /**
+     * Test deleting more messages than fit in a single SQL statement.
+     */
+    @Test
+    public void testDeleteMessagesOverArgLimit() {
+        Set<String> keys = createKeysOverArgLimit();
+
+        assertEquals(10, resolver.deleteMessages(keys));
+        assertEquals(0, resolver.getMessages().size());
+    }
+
+    /**
+     * Test updating more messages than fit in a single SQL statement.
+     */
+    @Test
+    public void testMarkMessagesReadOverArgLimit() {
+        Set<String> keys = createKeysOverArgLimit();
+
+        assertEquals(10, resolver.markMessagesRead(keys));
+        assertEquals(10, resolver.getReadUpdatedMessageIds().size());
+    }
+
     /**
      * Test getting the messages IDs that have been marked for deletion.
      */
@@ -186,4 +208,12 @@ public class RichPushResolverTest extends BaseTestCase {
         assertEquals(10, resolver.getMessages().size());
     }
 
+    private static Set<String> createKeysOverArgLimit() {
+        Set<String> keys = new HashSet<>();
+        for (int i = 0; i < 2500; i++) {
+            keys.add(String.valueOf(i + 1) + "_message_id");
+        }
+        return keys;
+    }
+
 }
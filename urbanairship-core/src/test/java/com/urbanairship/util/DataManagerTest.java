@@ -0,0 +1,136 @@
+/* Copyright 2018 Urban Airship and Contributors */
+
+package com.urbanairship.util;
+
+import android.content.ContentValues;
+import android.database.sqlite.SQLiteDatabase;
+import android.support.annotation.NonNull;
+
+import com.urbanairship.BaseTestCase;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.robolectric.RuntimeEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertTrue;
+
+public class DataManagerTest extends BaseTestCase {
+
+    private TestDataManager dataManager;
+
+    @Before
+    public void setup() {
+        dataManager = new TestDataManager();
+    }
+
+    @After
+    public void teardown() {
+        dataManager.delete("items", null, null);
+        dataManager.close();
+    }
+
+    /**
+     * Test deleteIn splits the values into chunks under the SQL argument limit.
+     */
+    @Test
+    public void testDeleteIn() {
+        List<String> values = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            String value = String.valueOf(i);
+            dataManager.insertItem(value);
+            if (i % 2 == 0) {
+                values.add(value);
+            }
+        }
+        values.add("missing");
+
+        assertEquals(1250, dataManager.deleteIn("items", "value", values));
+        assertEquals(1250, dataManager.count());
+    }
+
+    /**
+     * Test bulk insert returns the inserted values.
+     */
+    @Test
+    public void testBulkInsert() {
+        ContentValues[] values = new ContentValues[3];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = new ContentValues();
+            values[i].put("value", "value " + i);
+        }
+
+        assertEquals(3, dataManager.bulkInsert("items", values).size());
+        assertEquals(3, dataManager.count());
+    }
+
+    /**
+     * Test a failed transaction is rolled back.
+     */
+    @Test
+    public void testRunInTransactionRollback() {
+        boolean success = dataManager.runInTransaction("test", new DataManager.TransactionOperation() {
+            @Override
+            public boolean perform(@NonNull SQLiteDatabase db) {
+                dataManager.insertItem("one");
+                return false;
+            }
+        });
+
+        assertFalse(success);
+        assertEquals(0, dataManager.count());
+
+        success = dataManager.runInTransaction("test", new DataManager.TransactionOperation() {
+            @Override
+            public boolean perform(@NonNull SQLiteDatabase db) {
+                dataManager.insertItem("one");
+                return true;
+            }
+        });
+
+        assertTrue(success);
+        assertEquals(1, dataManager.count());
+    }
+
+    /**
+     * Test operations are timed.
+     */
+    @Test
+    public void testQueryTimings() {
+        dataManager.insertItem("one");
+        dataManager.count();
+        dataManager.count();
+
+        DataManager.QueryTiming timing = dataManager.getQueryTimings().get(TestDataManager.COUNT_QUERY);
+        assertEquals(2, timing.getCount());
+        assertTrue(dataManager.getQueryTimings().containsKey(TestDataManager.INSERT_STATEMENT));
+    }
+
+    private static class TestDataManager extends DataManager {
+
+        static final String INSERT_STATEMENT = "INSERT INTO items (value) VALUES (?)";
+        static final String COUNT_QUERY = "SELECT COUNT(*) FROM items";
+
+        TestDataManager() {
+            super(RuntimeEnvironment.application, "appKey", "data_manager_test", 1);
+        }
+
+        @Override
+        protected void onCreate(@NonNull SQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS items (id INTEGER PRIMARY KEY AUTOINCREMENT, value TEXT);");
+        }
+
+        long insertItem(String value) {
+            return executeInsert(INSERT_STATEMENT, value);
+        }
+
+        long count() {
+            return queryForLong(COUNT_QUERY, -1);
+        }
+    }
+}
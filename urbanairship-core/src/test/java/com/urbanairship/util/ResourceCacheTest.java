@@ -0,0 +1,67 @@
+/* Copyright 2018 Urban Airship and Contributors */
+
+package com.urbanairship.util;
+
+import android.content.Context;
+import android.content.res.Resources;
+
+import com.urbanairship.BaseTestCase;
+import com.urbanairship.R;
+import com.urbanairship.TestApplication;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static junit.framework.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ResourceCacheTest extends BaseTestCase {
+
+    @After
+    public void tearDown() {
+        ResourceCache.clear();
+    }
+
+    /**
+     * Test identifiers are looked up once, including misses.
+     */
+    @Test
+    public void testGetIdentifier() {
+        Context context = mock(Context.class);
+        Resources resources = spy(TestApplication.getApplication().getResources());
+        when(context.getResources()).thenReturn(resources);
+        when(context.getPackageName()).thenReturn(TestApplication.getApplication().getPackageName());
+
+        assertEquals(R.drawable.ua_ic_close, ResourceCache.getIdentifier(context, "ua_ic_close", "drawable"));
+        assertEquals(R.drawable.ua_ic_close, ResourceCache.getIdentifier(context, "ua_ic_close", "drawable"));
+        assertEquals(0, ResourceCache.getIdentifier(context, "does_not_exist", "raw"));
+        assertEquals(0, ResourceCache.getIdentifier(context, "does_not_exist", "raw"));
+
+        verify(resources, times(1)).getIdentifier("ua_ic_close", "drawable", context.getPackageName());
+        verify(resources, times(1)).getIdentifier("does_not_exist", "raw", context.getPackageName());
+    }
+
+    /**
+     * Test identifier lookups are bounded so payload supplied names do not accumulate.
+     */
+    @Test
+    public void testGetIdentifierEvicts() {
+        Context context = mock(Context.class);
+        Resources resources = spy(TestApplication.getApplication().getResources());
+        when(context.getResources()).thenReturn(resources);
+        when(context.getPackageName()).thenReturn(TestApplication.getApplication().getPackageName());
+
+        ResourceCache.getIdentifier(context, "ua_ic_close", "drawable");
+        for (int i = 0; i < 100; i++) {
+            ResourceCache.getIdentifier(context, "sound_" + i, "raw");
+        }
+
+        // Evicted, looked up again
+        assertEquals(R.drawable.ua_ic_close, ResourceCache.getIdentifier(context, "ua_ic_close", "drawable"));
+        verify(resources, times(2)).getIdentifier("ua_ic_close", "drawable", context.getPackageName());
+    }
+}
@@ -286,6 +286,34 @@ public class UAWebViewClientTest extends BaseTestCase {
         }
     }
 
+    /**
+     * Test onPageFinished injects the js bridge right away once the native bridge is loaded.
+     */
+    @Test
+    @SuppressLint("NewApi")
+    public void testOnPageFinishedNativeBridgeLoaded() {
+        UAWebViewClient.loadNativeBridge(TestApplication.getApplication());
+
+        client.onPageStarted(webView, webViewUrl, null);
+        client.onPageFinished(webView, webViewUrl);
+
+        if (Build.VERSION.SDK_INT <= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+            verify(webView).loadUrl(Mockito.argThat(new ArgumentMatcher<String>() {
+                @Override
+                public boolean matches(String argument) {
+                    return argument.startsWith("javascript:var _UAirship = {};");
+                }
+            }));
+        } else {
+            verify(webView).evaluateJavascript(Mockito.argThat(new ArgumentMatcher<String>() {
+                @Override
+                public boolean matches(String argument) {
+                    return argument.startsWith("var _UAirship = {};") && argument.contains("_UAirship.getChannelId = function(){return ");
+                }
+            }), eq((ValueCallback<String>) null));
+        }
+    }
+
     /**
      * Test the js interface is not injected if the url is not white listed.
      */
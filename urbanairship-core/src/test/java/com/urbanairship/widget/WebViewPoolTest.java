@@ -0,0 +1,130 @@
+/* Copyright 2018 Urban Airship and Contributors */
+
+package com.urbanairship.widget;
+
+import android.app.Activity;
+import android.content.MutableContextWrapper;
+import android.view.ViewGroup;
+import android.view.ViewStub;
+import android.widget.FrameLayout;
+
+import com.urbanairship.BaseTestCase;
+import com.urbanairship.R;
+import com.urbanairship.TestApplication;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.robolectric.Robolectric;
+
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertFalse;
+import static junit.framework.Assert.assertNull;
+import static junit.framework.Assert.assertSame;
+import static junit.framework.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+public class WebViewPoolTest extends BaseTestCase {
+
+    private WebViewPool pool;
+    private Activity activity;
+
+    @Before
+    public void setup() {
+        pool = new WebViewPool(1);
+        activity = Robolectric.setupActivity(Activity.class);
+    }
+
+    /**
+     * Test acquiring a pooled web view switches its context to the activity.
+     */
+    @Test
+    public void testAcquire() {
+        assertNull(pool.acquire(activity));
+
+        pool.fill();
+        assertEquals(1, pool.size());
+
+        UAWebView webView = pool.acquire(activity);
+        assertSame(activity, ((MutableContextWrapper) webView.getContext()).getBaseContext());
+        assertEquals(0, pool.size());
+    }
+
+    /**
+     * Test releasing a web view resets it and returns it to the pool.
+     */
+    @Test
+    public void testRelease() {
+        pool.fill();
+        UAWebView webView = pool.acquire(activity);
+
+        FrameLayout parent = new FrameLayout(activity);
+        parent.addView(webView);
+        webView.setWebViewClient(new UAWebViewClient());
+        webView.loadUrl("https://example.com");
+
+        pool.release(webView);
+
+        assertEquals(0, parent.getChildCount());
+        assertNull(webView.getWebViewClientCompat());
+        assertEquals("about:blank", shadowOf(webView).getLastLoadedUrl());
+        assertSame(TestApplication.getApplication(), ((MutableContextWrapper) webView.getContext()).getBaseContext());
+
+        assertEquals(1, pool.size());
+        assertSame(webView, pool.acquire(activity));
+    }
+
+    /**
+     * Test web views that were not created by the pool or do not fit are destroyed.
+     */
+    @Test
+    public void testReleaseDestroys() {
+        UAWebView notPooled = new UAWebView(activity);
+        pool.release(notPooled);
+        assertTrue(shadowOf(notPooled).wasDestroyCalled());
+        assertEquals(0, pool.size());
+
+        pool.fill();
+        UAWebView first = pool.acquire(activity);
+        pool.fill();
+
+        pool.release(first);
+        assertTrue(shadowOf(first).wasDestroyCalled());
+        assertEquals(1, pool.size());
+    }
+
+    /**
+     * Test inflating a stub only inflates its layout when the pool is empty.
+     */
+    @Test
+    public void testInflate() {
+        // Empty pool
+        ViewStub stub = createStub();
+        UAWebView inflated = pool.inflate(stub, R.style.UrbanAirship_InAppHtml_WebView);
+        assertFalse(inflated.getContext() instanceof MutableContextWrapper);
+        assertEquals(100, inflated.getId());
+
+        pool.fill();
+        stub = createStub();
+        ViewGroup parent = (ViewGroup) stub.getParent();
+        ViewGroup.LayoutParams layoutParams = stub.getLayoutParams();
+
+        UAWebView pooled = pool.inflate(stub, R.style.UrbanAirship_InAppHtml_WebView);
+
+        assertSame(pooled, parent.getChildAt(0));
+        assertEquals(100, pooled.getId());
+        assertSame(layoutParams, pooled.getLayoutParams());
+        assertEquals(2, parent.getChildCount());
+        assertNull(stub.getParent());
+        assertSame(activity, ((MutableContextWrapper) pooled.getContext()).getBaseContext());
+        assertEquals(0, pool.size());
+    }
+
+    private ViewStub createStub() {
+        FrameLayout parent = new FrameLayout(activity);
+        ViewStub stub = new ViewStub(activity, R.layout.ua_iam_html_web_view);
+        stub.setInflatedId(100);
+        parent.addView(stub, new FrameLayout.LayoutParams(10, 10));
+        parent.addView(new FrameLayout(activity));
+        return stub;
+    }
+}